@@ -0,0 +1,70 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.entity.AnimationSystem;
+import com.mygdx.game.entity.EntityStore;
+import com.mygdx.game.entity.SpriteIds;
+
+/**
+ * Measures picking the frames of many walking entities in one step: the animation system's single
+ * loop over the entity arrays, against one {@code Animation} object and time per entity.
+ */
+@State(Scope.Thread)
+public class AnimationBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int entities;
+
+    private EntityStore store;
+    private AnimationSystem animations;
+    private Animation<TextureRegion>[] perEntity;
+    private float[] perEntityTime;
+    private TextureRegion[] perEntityFrame;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        RandomXS128 random = new RandomXS128(42);
+        store = new EntityStore(entities);
+        animations = new AnimationSystem();
+        // Regions without a texture: frame selection never touches the texture.
+        TextureRegion[][] walkFrames = new TextureRegion[2][SpriteIds.WALK_FRAMES];
+        for (TextureRegion[] row : walkFrames) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new TextureRegion();
+            }
+        }
+        perEntity = (Animation<TextureRegion>[]) new Animation<?>[entities];
+        perEntityTime = new float[entities];
+        perEntityFrame = new TextureRegion[entities];
+        for (int i = 0; i < entities; i++) {
+            int direction = random.nextBoolean() ? AnimationSystem.LEFT : AnimationSystem.RIGHT;
+            int entity = store.add(random.nextFloat() * 1280f, 30, 150, 150, 128, 128, SpriteIds.NPC, true);
+            store.setAnimation(entity, AnimationSystem.WALK, direction);
+            perEntity[i] = new Animation<>(AnimationSystem.WALK_FRAME_DURATION, walkFrames[direction]);
+            perEntity[i].setPlayMode(Animation.PlayMode.LOOP);
+        }
+    }
+
+    @Benchmark
+    public EntityStore animationSystem() {
+        animations.update(store, BenchmarkWorlds.DELTA);
+        return store;
+    }
+
+    @Benchmark
+    public TextureRegion[] perEntityAnimations() {
+        for (int i = 0; i < perEntity.length; i++) {
+            perEntityTime[i] += BenchmarkWorlds.DELTA;
+            perEntityFrame[i] = perEntity[i].getKeyFrame(perEntityTime[i]);
+        }
+        return perEntityFrame;
+    }
+}
@@ -0,0 +1,52 @@
+package com.mygdx.game.benchmarks;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+import com.mygdx.game.dialogue.DialogueCompiler;
+import com.mygdx.game.dialogue.DialogueScript;
+import com.mygdx.game.world.GameWorld;
+import com.mygdx.game.world.WorldInput;
+
+/** Builds the game objects the benchmarks run against, set up the way the game sets them up. */
+final class BenchmarkWorlds {
+    static final float DELTA = 1f / 60f;
+    private static final float SCREEN_WIDTH = 1280f;
+    private static final float SCREEN_HEIGHT = 720f;
+    // The game's conversation, compiled in memory so the benchmarks do not depend on the working directory.
+    private static final String SCRIPT = "== greeting\n"
+        + "NPC: Hello, do you know how to make dialogues with LIBGDX?\n"
+        + "Character: Oh yeah, now I know all about that!\n";
+
+    static {
+        // The camera's frustum update goes through native matrix code.
+        GdxNativesLoader.load();
+    }
+
+    private BenchmarkWorlds() {
+    }
+
+    static OrthographicCamera newCamera() {
+        OrthographicCamera camera = new OrthographicCamera(SCREEN_WIDTH, SCREEN_HEIGHT);
+        camera.setToOrtho(false, SCREEN_WIDTH, SCREEN_HEIGHT);
+        camera.update();
+        return camera;
+    }
+
+    static DialogueScript newScript() {
+        return new DialogueScript(ByteBuffer.wrap(DialogueCompiler.compile(SCRIPT, "benchmark.dialogue")));
+    }
+
+    /**
+     * @return a world whose intro cutscene has finished, leaving the character next to the NPC
+     */
+    static GameWorld newWorldAfterCutscene() {
+        GameWorld world = new GameWorld(newCamera(), newScript());
+        while (!world.isCutsceneFinished()) {
+            world.update(DELTA, WorldInput.NONE);
+        }
+        return world;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.character.CharacterAnimation;
+import com.mygdx.game.entity.AnimationSystem;
+import com.mygdx.game.entity.SpriteIds;
+
+/**
+ * Measures picking the player character's frame, which is looked up in the animation system's
+ * frame tables.
+ */
+@State(Scope.Thread)
+public class CharacterAnimationBenchmark {
+    private CharacterAnimation animation;
+    private float stateTime;
+
+    @Setup
+    public void setUp() {
+        // Regions without a texture: frame selection never touches the texture.
+        TextureRegion[] sprites = new TextureRegion[SpriteIds.COUNT];
+        for (int i = 0; i < sprites.length; i++) {
+            sprites[i] = new TextureRegion();
+        }
+        animation = new CharacterAnimation(sprites, new AnimationSystem());
+    }
+
+    @Benchmark
+    public TextureRegion walking() {
+        stateTime += BenchmarkWorlds.DELTA;
+        return animation.getFrame(true, stateTime % 2f < 1f, stateTime);
+    }
+
+    @Benchmark
+    public TextureRegion idle() {
+        stateTime += BenchmarkWorlds.DELTA;
+        return animation.getFrame(false, stateTime % 2f < 1f, stateTime);
+    }
+}
@@ -0,0 +1,43 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.math.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.world.GameWorld;
+
+/**
+ * Measures the collider checks that gate the dialogue: the raw {@code Rectangle.overlaps} between
+ * the character and the NPC, the search for an NPC in reach, and the {@code canStartDialogue}
+ * check built on it.
+ */
+@State(Scope.Thread)
+public class ColliderBenchmark {
+    private GameWorld world;
+    private Rectangle characterCollider;
+    private Rectangle npcCollider;
+
+    @Setup
+    public void setUp() {
+        world = BenchmarkWorlds.newWorldAfterCutscene();
+        characterCollider = world.getCharacterCollider();
+        npcCollider = world.getNpcs().getCollider(world.findNpcInReach(), new Rectangle());
+    }
+
+    @Benchmark
+    public boolean overlaps() {
+        return npcCollider.overlaps(characterCollider);
+    }
+
+    @Benchmark
+    public int findNpcInReach() {
+        return world.findNpcInReach();
+    }
+
+    @Benchmark
+    public boolean canStartDialogue() {
+        return world.canStartDialogue();
+    }
+}
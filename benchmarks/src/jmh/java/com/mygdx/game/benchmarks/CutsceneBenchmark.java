@@ -0,0 +1,62 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.cutscene.Cutscene;
+
+/**
+ * Measures {@link Cutscene#update(float)}: a whole playthrough from the zoom in to the end of the
+ * zoom out, and the per-frame cost once the cutscene has finished. Also measures jumping to
+ * scattered times with {@link Cutscene#seek(float)}.
+ */
+@State(Scope.Thread)
+public class CutsceneBenchmark {
+    private Cutscene finishedCutscene;
+    private Cutscene scrubbedCutscene;
+    private float seekTime;
+
+    @Setup
+    public void setUp() {
+        finishedCutscene = newCutscene();
+        while (!finishedCutscene.isFinished()) {
+            finishedCutscene.update(BenchmarkWorlds.DELTA);
+        }
+        scrubbedCutscene = newCutscene();
+    }
+
+    @Benchmark
+    public int playThrough() {
+        Cutscene cutscene = newCutscene();
+        int frames = 0;
+        while (!cutscene.isFinished()) {
+            cutscene.update(BenchmarkWorlds.DELTA);
+            frames++;
+        }
+        return frames;
+    }
+
+    @Benchmark
+    public boolean updateFinished() {
+        finishedCutscene.update(BenchmarkWorlds.DELTA);
+        return finishedCutscene.isFinished();
+    }
+
+    @Benchmark
+    public boolean seek() {
+        // Step by a fraction of the duration that never lines up with a key.
+        seekTime = (seekTime + 0.37f * scrubbedCutscene.getDuration()) % scrubbedCutscene.getDuration();
+        scrubbedCutscene.seek(seekTime);
+        return scrubbedCutscene.isMoving();
+    }
+
+    private static Cutscene newCutscene() {
+        OrthographicCamera camera = BenchmarkWorlds.newCamera();
+        return new Cutscene(new Vector2(300, 64), new Rectangle(600, 30, 128, 128), camera);
+    }
+}
@@ -0,0 +1,54 @@
+package com.mygdx.game.benchmarks;
+
+import java.nio.ByteBuffer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.dialogue.DialogueCompiler;
+import com.mygdx.game.dialogue.DialogueLine;
+import com.mygdx.game.dialogue.DialogueScript;
+
+/**
+ * Measures opening a compiled dialogue script and decoding one of its lines, for scripts of
+ * different lengths. Opening should not grow with the number of lines.
+ */
+@State(Scope.Thread)
+public class DialogueScriptBenchmark {
+    private static final int LINES_PER_SECTION = 10;
+
+    @Param({"100", "20000"})
+    public int lineCount;
+
+    private byte[] compiled;
+    private DialogueScript script;
+    private int line;
+
+    @Setup
+    public void setUp() {
+        StringBuilder source = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            if (i % LINES_PER_SECTION == 0) {
+                source.append("== section").append(i / LINES_PER_SECTION).append('\n');
+            }
+            source.append(i % 2 == 0 ? "NPC" : "Character").append(": Line number ").append(i)
+                .append(" of a long script, with enough words to wrap in the dialogue box.\n");
+        }
+        compiled = DialogueCompiler.compile(source.toString(), "benchmark.dialogue");
+        script = new DialogueScript(ByteBuffer.wrap(compiled));
+    }
+
+    @Benchmark
+    public DialogueScript open() {
+        return new DialogueScript(ByteBuffer.wrap(compiled));
+    }
+
+    @Benchmark
+    public DialogueLine decodeLine() {
+        line = (line + 7919) % lineCount;
+        return script.getLine(line);
+    }
+}
@@ -0,0 +1,36 @@
+package com.mygdx.game.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.dialogue.DialogueLine;
+import com.mygdx.game.dialogue.DialogueTypewriter;
+
+/**
+ * Measures one frame of typewriter advancement in the dialogue box. The line restarts once it
+ * is fully typed, so every operation advances a line that is still typing.
+ */
+@State(Scope.Thread)
+public class DialogueTypewriterBenchmark {
+    private DialogueLine line;
+    private DialogueTypewriter typewriter;
+
+    @Setup
+    public void setUp() {
+        line = new DialogueLine(0, "NPC", "Hello, do you know how to make dialogues with LIBGDX? "
+            + "This line is long enough to keep the typewriter busy for a few hundred frames.");
+        typewriter = new DialogueTypewriter();
+        typewriter.startTyping(line);
+    }
+
+    @Benchmark
+    public int advance() {
+        if (!typewriter.isTyping()) {
+            typewriter.startTyping(line);
+        }
+        typewriter.update(BenchmarkWorlds.DELTA);
+        return typewriter.getVisibleCharCount();
+    }
+}
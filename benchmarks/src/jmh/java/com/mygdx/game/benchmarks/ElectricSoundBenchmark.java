@@ -0,0 +1,76 @@
+package com.mygdx.game.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.game.audio.SpatialSoundMixer;
+import com.mygdx.game.world.GameWorld;
+
+/**
+ * Measures one frame of the electric sound: finding the lightning in hearing distance of the
+ * character and mixing it. The hazards are scattered around the character and the character
+ * walks back and forth, so voices keep moving between emitters. The sound backend does nothing;
+ * {@link #mix} returns the mixer's running count of backend calls.
+ */
+@State(Scope.Thread)
+public class ElectricSoundBenchmark {
+    private static final int VOICES = 4;
+
+    @Param({"1", "100", "1000"})
+    public int hazardCount;
+
+    private GameWorld world;
+    private SpatialSoundMixer mixer;
+    private final IntArray hazards = new IntArray();
+    private final FloatArray distances = new FloatArray();
+    private float walked;
+
+    @Setup
+    public void setUp() {
+        world = BenchmarkWorlds.newWorldAfterCutscene();
+        RandomXS128 random = new RandomXS128(42);
+        for (int i = 1; i < hazardCount; i++) {
+            world.addHazard(random.nextFloat() * 1280f, 70);
+        }
+        mixer = new SpatialSoundMixer(new SilentSound(), VOICES, 50f, GameWorld.HEARING_DISTANCE, 0.7f);
+    }
+
+    @Benchmark
+    public long mix() {
+        walked = (walked + 2f) % 800f;
+        world.getCharacterPosition().x = 200f + Math.abs(walked - 400f);
+        world.findAudibleHazards(hazards, distances);
+        mixer.update(hazards, distances);
+        return mixer.getBackendCalls();
+    }
+
+    /** A sound that does nothing but hand out voice ids, so only the mixer's own cost is measured. */
+    private static final class SilentSound implements Sound {
+        private long nextId;
+
+        @Override public long play() { return nextId++; }
+        @Override public long play(float volume) { return nextId++; }
+        @Override public long play(float volume, float pitch, float pan) { return nextId++; }
+        @Override public long loop() { return nextId++; }
+        @Override public long loop(float volume) { return nextId++; }
+        @Override public long loop(float volume, float pitch, float pan) { return nextId++; }
+        @Override public void stop() { }
+        @Override public void pause() { }
+        @Override public void resume() { }
+        @Override public void dispose() { }
+        @Override public void stop(long soundId) { }
+        @Override public void pause(long soundId) { }
+        @Override public void resume(long soundId) { }
+        @Override public void setLooping(long soundId, boolean looping) { }
+        @Override public void setPitch(long soundId, float pitch) { }
+        @Override public void setVolume(long soundId, float volume) { }
+        @Override public void setPan(long soundId, float pan, float volume) { }
+    }
+}
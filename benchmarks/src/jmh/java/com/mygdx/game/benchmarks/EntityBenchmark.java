@@ -0,0 +1,50 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.world.GameWorld;
+import com.mygdx.game.world.WorldInput;
+
+/**
+ * Measures the entity systems as the number of NPCs and hazards in the world grows: one whole
+ * world update, which runs the hazard system, and the search for an NPC in reach.
+ */
+@State(Scope.Thread)
+public class EntityBenchmark {
+    private static final float WORLD_WIDTH = 1280f;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int entities;
+
+    private GameWorld world;
+
+    @Setup
+    public void setUp() {
+        world = BenchmarkWorlds.newWorldAfterCutscene();
+        RandomXS128 random = new RandomXS128(42);
+        for (int i = 0; i < entities; i++) {
+            float x = random.nextFloat() * WORLD_WIDTH;
+            if (i % 2 == 0) {
+                world.addNpc(x, 30);
+            } else {
+                world.addHazard(x, 70);
+            }
+        }
+    }
+
+    @Benchmark
+    public float worldUpdate() {
+        world.update(BenchmarkWorlds.DELTA, WorldInput.NONE);
+        return world.getStateTime();
+    }
+
+    @Benchmark
+    public int findNpcInReach() {
+        return world.findNpcInReach();
+    }
+}
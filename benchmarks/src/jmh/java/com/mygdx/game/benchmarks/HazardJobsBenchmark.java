@@ -0,0 +1,58 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.mygdx.game.jobs.JobSystem;
+import com.mygdx.game.world.GameWorld;
+import com.mygdx.game.world.WorldInput;
+
+/**
+ * Measures how the world update scales with the threads of its job system when the world is
+ * packed with hazards. One thread is the serial broad-phase update the game uses without a job
+ * system; more threads update the hazards in parallel batches. Compare runs on machines with at
+ * least as many cores as threads.
+ */
+@State(Scope.Thread)
+public class HazardJobsBenchmark {
+    private static final float WORLD_WIDTH = 1280f;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"10000", "100000"})
+    public int hazards;
+
+    @Param({"true", "false"})
+    public boolean deterministicMerge;
+
+    private JobSystem jobs;
+    private GameWorld world;
+
+    @Setup
+    public void setUp() {
+        jobs = new JobSystem(threads, deterministicMerge);
+        world = BenchmarkWorlds.newWorldAfterCutscene();
+        world.setJobSystem(jobs);
+        RandomXS128 random = new RandomXS128(42);
+        for (int i = 0; i < hazards; i++) {
+            world.addHazard(random.nextFloat() * WORLD_WIDTH, 70);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        jobs.dispose();
+    }
+
+    @Benchmark
+    public float worldUpdate() {
+        world.update(BenchmarkWorlds.DELTA, WorldInput.NONE);
+        return world.getStateTime();
+    }
+}
@@ -0,0 +1,41 @@
+package com.mygdx.game.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.effects.Effects;
+import com.mygdx.game.effects.ParticleSystem;
+
+/**
+ * Measures one frame of the particle system at a steady number of live particles: ageing and
+ * moving them all, then bursting new ones in to replace the ones that died.
+ */
+@State(Scope.Thread)
+public class ParticleBenchmark {
+    @Param({"1000", "10000", "50000"})
+    public int particles;
+
+    private ParticleSystem system;
+
+    @Setup
+    public void setUp() {
+        system = new ParticleSystem(particles + Effects.SPARKS.getCount(), 42);
+        refill();
+    }
+
+    @Benchmark
+    public int updateAndRefill() {
+        system.update(BenchmarkWorlds.DELTA);
+        refill();
+        return system.size();
+    }
+
+    private void refill() {
+        while (system.size() < particles) {
+            system.emit(Effects.SPARKS, 640, 360);
+        }
+    }
+}
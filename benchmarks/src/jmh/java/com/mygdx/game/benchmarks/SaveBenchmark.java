@@ -0,0 +1,51 @@
+package com.mygdx.game.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.gamestate.GameState;
+import com.mygdx.game.save.SaveSnapshot;
+import com.mygdx.game.world.GameWorld;
+import com.mygdx.game.world.WorldInput;
+
+/**
+ * Measures {@link SaveSnapshot#capture}, the part of an autosave that runs on the render thread,
+ * and reading and restoring a saved game, with a hazard flashing so its state is saved too.
+ */
+@State(Scope.Thread)
+public class SaveBenchmark {
+    private GameWorld world;
+    private GameWorld restoredWorld;
+    private ByteBuffer file;
+
+    @Setup
+    public void setUp() throws IOException {
+        world = BenchmarkWorlds.newWorldAfterCutscene();
+        world.addHazard(world.getCharacterPosition().x, world.getCharacterPosition().y);
+        world.update(BenchmarkWorlds.DELTA, WorldInput.NONE);
+        SaveSnapshot snapshot = SaveSnapshot.capture(world, GameState.GAME);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        snapshot.write(Channels.newChannel(bytes));
+        file = ByteBuffer.wrap(bytes.toByteArray());
+        restoredWorld = BenchmarkWorlds.newWorldAfterCutscene();
+        restoredWorld.addHazard(world.getCharacterPosition().x, world.getCharacterPosition().y);
+    }
+
+    @Benchmark
+    public int capture() {
+        return SaveSnapshot.capture(world, GameState.GAME).size();
+    }
+
+    @Benchmark
+    public float readAndRestore() {
+        SaveSnapshot.read(file).restore(restoredWorld);
+        return restoredWorld.getStateTime();
+    }
+}
@@ -0,0 +1,77 @@
+package com.mygdx.game.benchmarks;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.IntArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.entity.AnimationSystem;
+import com.mygdx.game.net.SnapshotCodec;
+import com.mygdx.game.world.GameWorld;
+import com.mygdx.game.world.WorldInput;
+
+/**
+ * Measures the server's per-tick snapshot work as the world's entities grow: quantizing the state
+ * once, and encoding it for one client against the previous tick, with the NPCs walking in place
+ * so their frames change; and the client decoding it.
+ */
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+    private static final float WORLD_WIDTH = 1280f;
+
+    @Param({"10", "100", "1000"})
+    public int entities;
+
+    private GameWorld world;
+    private final IntArray baseline = new IntArray();
+    private final IntArray state = new IntArray();
+    private final IntArray decoded = new IntArray();
+    private final ByteBuffer packet = ByteBuffer.allocate(65507);
+
+    @Setup
+    public void setUp() {
+        world = BenchmarkWorlds.newWorldAfterCutscene();
+        RandomXS128 random = new RandomXS128(42);
+        for (int i = 0; i < entities; i++) {
+            float x = random.nextFloat() * WORLD_WIDTH;
+            if (i % 2 == 0) {
+                world.setNpcAnimation(world.addNpc(x, 30), AnimationSystem.WALK, AnimationSystem.RIGHT);
+            } else {
+                world.addHazard(x, 70);
+            }
+        }
+        SnapshotCodec.quantize(world, baseline);
+        // Six ticks on, every walking NPC is on its next frame.
+        for (int i = 0; i < 6; i++) {
+            world.update(BenchmarkWorlds.DELTA, WorldInput.NONE);
+        }
+        SnapshotCodec.quantize(world, state);
+        packet.clear();
+        SnapshotCodec.encode(state, baseline, packet);
+        packet.flip();
+    }
+
+    @Benchmark
+    public int quantize() {
+        SnapshotCodec.quantize(world, decoded);
+        return decoded.size;
+    }
+
+    @Benchmark
+    public int encodeDelta() {
+        ByteBuffer out = packet.duplicate().clear();
+        SnapshotCodec.encode(state, baseline, out);
+        return out.position();
+    }
+
+    @Benchmark
+    public int decodeDelta() {
+        SnapshotCodec.decode(packet.duplicate(), baseline, decoded);
+        return decoded.size;
+    }
+}
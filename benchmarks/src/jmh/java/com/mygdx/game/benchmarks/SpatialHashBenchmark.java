@@ -0,0 +1,111 @@
+package com.mygdx.game.benchmarks;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.IntArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.game.collision.ColliderLayers;
+import com.mygdx.game.collision.SpatialHash;
+
+/**
+ * Compares the broad-phase queries against testing every collider, for levels that keep the
+ * density of the current one (one NPC or hazard every few hundred units) while growing in size.
+ */
+@State(Scope.Thread)
+public class SpatialHashBenchmark {
+    private static final float CELL_SIZE = 256f;
+    private static final float SPACING = 16f;
+    private static final float LEVEL_HEIGHT = 720f;
+    private static final float COLLIDER_SIZE = 128f;
+    private static final int QUERY_POINTS = 1024;
+
+    @Param({"100", "1000", "10000"})
+    public int colliders;
+
+    private SpatialHash hash;
+    private Rectangle[] rectangles;
+    private float[] queryX;
+    private float[] queryY;
+    private final IntArray results = new IntArray();
+    private final Rectangle query = new Rectangle(0, 0, 50, 130);
+    private int next;
+    private int moved;
+
+    @Setup
+    public void setUp() {
+        RandomXS128 random = new RandomXS128(42);
+        float levelWidth = colliders * SPACING;
+        hash = new SpatialHash(CELL_SIZE);
+        rectangles = new Rectangle[colliders];
+        for (int i = 0; i < colliders; i++) {
+            float x = random.nextFloat() * levelWidth;
+            float y = random.nextFloat() * LEVEL_HEIGHT;
+            rectangles[i] = new Rectangle(x, y, COLLIDER_SIZE, COLLIDER_SIZE);
+            hash.add(ColliderLayers.NPC, i, x, y, COLLIDER_SIZE, COLLIDER_SIZE);
+        }
+        queryX = new float[QUERY_POINTS];
+        queryY = new float[QUERY_POINTS];
+        for (int i = 0; i < QUERY_POINTS; i++) {
+            queryX[i] = random.nextFloat() * levelWidth;
+            queryY[i] = random.nextFloat() * LEVEL_HEIGHT;
+        }
+    }
+
+    private void nextQuery() {
+        next = (next + 1) & (QUERY_POINTS - 1);
+        query.setPosition(queryX[next], queryY[next]);
+    }
+
+    @Benchmark
+    public int queryRect() {
+        nextQuery();
+        return hash.queryRect(query.x, query.y, query.width, query.height,
+            ColliderLayers.mask(ColliderLayers.NPC), results);
+    }
+
+    @Benchmark
+    public int queryRectBruteForce() {
+        nextQuery();
+        int found = 0;
+        for (Rectangle rectangle : rectangles) {
+            if (rectangle.overlaps(query)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int queryRadius() {
+        nextQuery();
+        return hash.queryRadius(query.x, query.y, 300f, ColliderLayers.mask(ColliderLayers.NPC), results);
+    }
+
+    @Benchmark
+    public int queryRadiusBruteForce() {
+        nextQuery();
+        int found = 0;
+        for (Rectangle rectangle : rectangles) {
+            float dx = Math.max(Math.max(rectangle.x - query.x, 0f), query.x - rectangle.x - rectangle.width);
+            float dy = Math.max(Math.max(rectangle.y - query.y, 0f), query.y - rectangle.y - rectangle.height);
+            if (dx * dx + dy * dy < 300f * 300f) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public void move() {
+        // Walks one collider a step at a time, crossing a cell border every few calls.
+        moved = (moved + 1) % colliders;
+        Rectangle rectangle = rectangles[moved];
+        rectangle.x += 50f;
+        hash.update(moved, rectangle.x, rectangle.y, rectangle.width, rectangle.height);
+    }
+}
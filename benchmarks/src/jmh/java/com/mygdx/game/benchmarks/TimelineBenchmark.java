@@ -0,0 +1,52 @@
+package com.mygdx.game.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.mygdx.game.cutscene.Easing;
+import com.mygdx.game.cutscene.Timeline;
+
+/**
+ * Measures evaluating a crowd scene: a timeline with an x, y and "moving" channel per actor,
+ * each with a few dozen keys, advanced by one frame per operation.
+ */
+@State(Scope.Thread)
+public class TimelineBenchmark {
+    private static final int CHANNELS_PER_ACTOR = 3;
+    private static final int KEYS_PER_TRACK = 32;
+    private static final float KEY_INTERVAL = 0.5f;
+
+    @Param({"10", "1000"})
+    public int actorCount;
+
+    private Timeline timeline;
+    private float[] channels;
+    private float time;
+
+    @Setup
+    public void setUp() {
+        RandomXS128 random = new RandomXS128(42);
+        timeline = new Timeline(actorCount * CHANNELS_PER_ACTOR);
+        Easing[] easings = {Easing.LINEAR, Easing.SMOOTH, Easing.EASE_OUT};
+        for (int actor = 0; actor < actorCount; actor++) {
+            for (int key = 0; key < KEYS_PER_TRACK; key++) {
+                float keyTime = key * KEY_INTERVAL;
+                timeline.track(actor * CHANNELS_PER_ACTOR).key(keyTime, random.nextFloat() * 1280f, easings[key % easings.length]);
+                timeline.track(actor * CHANNELS_PER_ACTOR + 1).key(keyTime, random.nextFloat() * 720f, Easing.SMOOTH);
+                timeline.track(actor * CHANNELS_PER_ACTOR + 2).key(keyTime, key % 2, Easing.STEP);
+            }
+        }
+        channels = new float[timeline.getChannelCount()];
+    }
+
+    @Benchmark
+    public float[] evaluate() {
+        time = (time + BenchmarkWorlds.DELTA) % timeline.getDuration();
+        timeline.evaluate(time, channels);
+        return channels;
+    }
+}
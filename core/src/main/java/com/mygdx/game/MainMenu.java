@@ -1,28 +1,41 @@
 package com.mygdx.game;
 
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.mygdx.game.graphics.FontService;
 
 public class MainMenu {
 
     private Rectangle playButtonBounds;
-    private BitmapFont font;
+    private final FontService fonts;
     private boolean playPressed;
+    private final Vector3 touchPos = new Vector3();
 
-    public MainMenu() {
-        font = new BitmapFont();
-        font.getData().setScale(2f);
+    public MainMenu(FontService fonts) {
+        this.fonts = fonts;
         playPressed = false;
         // We'll initialize the button bounds later based on the camera
         playButtonBounds = new Rectangle(0, 0, 200, 50);
     }
 
-    public void render(SpriteBatch batch, ShapeRenderer shapeRenderer, OrthographicCamera camera) {
+    private static final float PROGRESS_BAR_WIDTH = 200f;
+    private static final float PROGRESS_BAR_HEIGHT = 6f;
+    private static final float PROGRESS_BAR_GAP = 20f;
+    private static final float LABEL_SIZE = 30f;
+    private static final String TITLE = "My Simple Game";
+    private static final String PLAY_LABEL = "[ PLAY ]";
+
+    /**
+     * Renders the title and play button, with a progress bar under the button while the
+     * gameplay assets are still loading.
+     *
+     * @param loadingProgress the loading progress of the gameplay assets, from 0 to 1
+     */
+    public void render(SpriteBatch batch, ShapeRenderer shapeRenderer, OrthographicCamera camera, float loadingProgress) {
         camera.update();
 
         float centerX = camera.viewportWidth / 2f;
@@ -34,21 +47,44 @@ public class MainMenu {
         batch.setProjectionMatrix(camera.combined);
         shapeRenderer.setProjectionMatrix(camera.combined);
 
+        // The labels never change, so they are laid out once and drawn from the font service's cache.
+        batch.setShader(fonts.getShader());
         batch.begin();
-        font.draw(batch, "My Simple Game", centerX - 100, centerY + 80);
-        font.draw(batch, "[ PLAY ]", playButtonBounds.x + 50, playButtonBounds.y + 35);
+        fonts.draw(batch, fonts.getLayout(TITLE, LABEL_SIZE), LABEL_SIZE, centerX - 100, centerY + 80);
+        fonts.draw(batch, fonts.getLayout(PLAY_LABEL, LABEL_SIZE), LABEL_SIZE, playButtonBounds.x + 50,
+            playButtonBounds.y + 35);
         batch.end();
+        batch.setShader(null);
 
         shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
         shapeRenderer.setColor(1, 1, 1, 1);
         shapeRenderer.rect(playButtonBounds.x, playButtonBounds.y, playButtonBounds.width, playButtonBounds.height);
         shapeRenderer.end();
+
+        if (loadingProgress < 1f) {
+            float barX = centerX - PROGRESS_BAR_WIDTH / 2f;
+            float barY = playButtonBounds.y - PROGRESS_BAR_GAP - PROGRESS_BAR_HEIGHT;
+            shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+            shapeRenderer.setColor(0.3f, 0.3f, 0.3f, 1);
+            shapeRenderer.rect(barX, barY, PROGRESS_BAR_WIDTH, PROGRESS_BAR_HEIGHT);
+            shapeRenderer.setColor(1, 1, 1, 1);
+            shapeRenderer.rect(barX, barY, PROGRESS_BAR_WIDTH * loadingProgress, PROGRESS_BAR_HEIGHT);
+            shapeRenderer.end();
+        }
     }
 
-    public void update(OrthographicCamera camera) {
-        if (Gdx.input.justTouched()) {
-            Vector3 touchPos = new Vector3(Gdx.input.getX(), Gdx.input.getY(), 0);
-            camera.unproject(touchPos); // Convert from screen to world coordinates
+    /**
+     * Presses the play button if the screen was touched on it this frame.
+     *
+     * @param viewport the viewport the menu is shown in on the window
+     * @param touched  whether the screen was touched or clicked this frame
+     * @param screenX  the x of the touch in window coordinates
+     * @param screenY  the y of the touch in window coordinates
+     */
+    public void update(Viewport viewport, boolean touched, int screenX, int screenY) {
+        if (touched) {
+            touchPos.set(screenX, screenY, 0);
+            viewport.unproject(touchPos); // Convert from window to menu coordinates
 
             if (playButtonBounds.contains(touchPos.x, touchPos.y)) {
                 playPressed = true;
@@ -1,138 +1,451 @@
 package com.mygdx.game;
 
+import java.util.Locale;
+
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
-import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.ApplicationAdapter;
-import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-
-import com.mygdx.game.npc.NPC;
-import com.mygdx.game.npc.Lightning;
-import com.mygdx.game.cutscene.Cutscene;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+
+import com.mygdx.game.assets.GameAssets;
+import com.mygdx.game.assets.TextureMemory;
+import com.mygdx.game.audio.SpatialSoundMixer;
+import com.mygdx.game.effects.Effects;
+import com.mygdx.game.effects.ParticleSystem;
+import com.mygdx.game.jobs.JobSystem;
+import com.mygdx.game.level.ChunkStreamer;
+import com.mygdx.game.level.Levels;
+import com.mygdx.game.profiling.FramePhase;
+import com.mygdx.game.profiling.FrameProfiler;
+import com.mygdx.game.profiling.Histogram;
+import com.mygdx.game.profiling.StartupTimer;
+import com.mygdx.game.replay.FrameInput;
+import com.mygdx.game.replay.InputRecorder;
+import com.mygdx.game.replay.InputReplay;
+import com.mygdx.game.save.AutoSaver;
+import com.mygdx.game.save.SaveSnapshot;
+import com.mygdx.game.save.UserFiles;
+import com.mygdx.game.world.FixedTimestep;
+import com.mygdx.game.world.GameWorld;
+import com.mygdx.game.character.CharacterAnimation;
+import com.mygdx.game.graphics.CameraBounds;
+import com.mygdx.game.graphics.DynamicResolution;
+import com.mygdx.game.graphics.FontService;
+import com.mygdx.game.graphics.ParallaxBackground;
+import com.mygdx.game.graphics.RenderLayers;
+import com.mygdx.game.graphics.RenderQueue;
+import com.mygdx.game.graphics.SceneBuffer;
+import com.mygdx.game.entity.SpriteIds;
+import com.mygdx.game.entity.EntityStore;
+import com.mygdx.game.entity.EntityRenderer;
+import com.mygdx.game.world.WorldInput;
+import com.mygdx.game.world.WorldListener;
+import com.mygdx.game.world.GdxWorldInput;
 import com.mygdx.game.gamestate.GameState;
 import com.mygdx.game.dialogue.DialogueBox;
 import com.mygdx.game.dialogue.DialogueLine;
+import com.mygdx.game.dialogue.DialogueScript;
 
 public class Simple2DGame extends ApplicationAdapter {
 
-    private Vector2 characterPosition;
-    private Rectangle characterCollider;
-    private Rectangle groundCollider;
-    private BitmapFont font;
+    private FontService fonts;
     private SpriteBatch batch;
     private ShapeRenderer shapeRenderer;
     private OrthographicCamera camera;
-    private Music electricSound;
-    private Texture characterSheet;
-    private Texture bgTexture;
-    private Texture groundTexture;
-    private Texture npcFaceTexture;
-    private Texture characterFaceTexture;
-    private Texture lightningTexture;
-    private TextureRegion idleLeft;
-    private TextureRegion idleRight;
-    private Animation<TextureRegion> walkLeftAnim;
-    private Animation<TextureRegion> walkRightAnim;
-
-    private NPC npc;
-    private Cutscene cutscene;
+    // The world's camera blended between its last two ticks; the gameplay screen is drawn with it.
+    private OrthographicCamera renderCamera;
+    private final Vector2 characterDrawPosition = new Vector2();
+    private int tickRate = FixedTimestep.DEFAULT_TICK_RATE;
+    private FixedTimestep timestep;
+    private SpatialSoundMixer electricSound;
+    private GLProfiler glProfiler;
+    private final FrameProfiler frameProfiler = new FrameProfiler();
+    // Merged deterministically so recorded sessions replay the same hazard events.
+    private final JobSystem jobs = new JobSystem(Runtime.getRuntime().availableProcessors(), true);
+    private boolean showProfiler;
+    private AssetManager assets;
+    private boolean assetsReady;
+    private boolean firstFrameReported;
+    private ParallaxBackground background;
+    private final Rectangle viewBounds = new Rectangle();
+    private DialogueScript dialogueScript;
+    private TextureRegion[] speakerFaces;
+    private TextureRegion[] entitySprites;
+    private CharacterAnimation characterAnimation;
+
+    private GameWorld world;
+    private ChunkStreamer levelStreamer;
+    private WorldInput liveInput;
+    private final FrameInput frameInput = new FrameInput();
+    private String recordPath;
+    private String replayPath;
+    private InputRecorder recorder;
+    private InputReplay replay;
+    private AutoSaver autoSaver;
+    private float autosaveTimer;
     private MainMenu mainMenu;
     private GameState gameState = GameState.MENU;
-    private Lightning lightning;
     private DialogueBox dialogueBox;
-    private DialogueLine[] conversation;
-
-    private boolean moving = false;
-    private boolean facingLeft = true;
-    private boolean inDialogue = false;
-    private boolean cutsceneFinished = false;
 
-    private float stateTime;
-    private float lightningCooldown = 0f;
-    private int currentDialogueIndex = 0;
-
-    private static final float SPEED = 150f;
     private static final float SCREEN_WIDTH = 1280f;
     private static final float SCREEN_HEIGHT = 720f;
-    private static final float FRAME_DURATION = 0.1f;
     private static final float CHARACTER_WIDTH = 150f;
     private static final float CHARACTER_HEIGHT = 150f;
-    private static final float CUTSCENE_ZOOM_SPEED = 0.5f;
     private static final String PRESS_SPACE_TO_TALK = "Press SPACE to talk";
+    private static final float TEXT_SIZE = 15f;
+    private static final float BACKGROUND_SCROLL_FACTOR = 0.5f;
+    private static final float MIN_RENDER_SCALE = 0.5f;
+    // Time each frame may spend finishing loaded assets (mostly texture uploads) while the menu is up.
+    private static final int LOAD_BUDGET_MILLIS = 8;
+    private static final FramePhase[] FRAME_PHASES = FramePhase.values();
+    private static final float OVERLAY_MARGIN = 10f;
+    private static final float OVERLAY_LINE_HEIGHT = 18f;
+    private static final float OVERLAY_COLUMN_WIDTH = 90f;
+    private static final int ELECTRIC_VOICES = 4;
+    private static final float ELECTRIC_SOUND_MIN_DISTANCE = 50f;  // distance at which a lightning plays at full volume
+    private static final float ELECTRIC_SOUND_MAX_VOLUME = 0.7f;
+    // Enough for hundreds of lightning strikes at once; bursts beyond it are cut short rather than slowing the frame.
+    private static final int MAX_PARTICLES = 32768;
+    private static final long PARTICLE_SEED = 7L;
+    private static final int CHUNK_LOADER_THREADS = 1;
+    // In the player's directory; the game carries on from it when the player leaves the menu.
+    private static final String SAVE_NAME = "autosave.sav";
+    private static final float AUTOSAVE_INTERVAL = 30f;
+
+    private final Rectangle colliderRectangle = new Rectangle();
+    private int internalWidth = (int) SCREEN_WIDTH;
+    private int internalHeight = (int) SCREEN_HEIGHT;
+    private int targetFps;
+    // The scene is drawn into this at the internal resolution, then scaled up into the screen viewport.
+    private SceneBuffer sceneBuffer;
+    private DynamicResolution dynamicResolution;
+    private OrthographicCamera screenCamera;
+    private Viewport screenViewport;
+    private final StringBuilder overlayText = new StringBuilder();
+    private final StringBuilder[] overlayCells = {new StringBuilder(), new StringBuilder(), new StringBuilder()};
+    private int overlayCell;
+    private final RenderQueue renderQueue = new RenderQueue();
+    // The dialogue layers are drawn with this over the camera's view, so they never scroll away.
+    private final Matrix4 screenProjection = new Matrix4();
+    private final ParticleSystem particles = new ParticleSystem(MAX_PARTICLES, PARTICLE_SEED);
+    private final IntArray audibleHazards = new IntArray();
+    private final FloatArray audibleDistances = new FloatArray();
+    private int lastDrawCalls = -1;
+    private int lastTextureBindings = -1;
+    private int lastBatchFlushes = -1;
 
 
     @Override
     public void create() {
+        StartupTimer.markLaunch();
+        glProfiler = new GLProfiler(Gdx.graphics);
+        glProfiler.enable();
+        frameProfiler.setEnabled(true);
         batch = new SpriteBatch();
         shapeRenderer = new ShapeRenderer();
-        npc = new NPC(600, 30);
-        dialogueBox = new DialogueBox();
-        font = new BitmapFont();
-        conversation = new DialogueLine[] {
-            new DialogueLine("NPC", "Hello, do you know how to make dialogues with LIBGDX?"),
-            new DialogueLine("Character", "Oh yeah, now I know all about that!")
-        };
-        npcFaceTexture = new Texture("npc_face.png");
-        characterFaceTexture = new Texture("character_face.png");
-        characterSheet = new Texture("character_walk.png");
-        bgTexture = new Texture("bg.png");
-        groundTexture = new Texture("ground.png");
-        lightningTexture = new Texture("lightning.png");
-        groundCollider = new Rectangle(0, 0, SCREEN_WIDTH, 25);
-        mainMenu = new MainMenu();
-        lightning = new Lightning(lightningTexture, 900, 70);
-        characterPosition = new Vector2(300, 64);
-        characterCollider = new Rectangle(characterPosition.x, characterPosition.y, 50, 130);
-        TextureRegion[][] tmp = TextureRegion.split(characterSheet, 512, 512);
-        walkLeftAnim = new Animation<>(FRAME_DURATION, tmp[0]);
-        walkRightAnim = new Animation<>(FRAME_DURATION, tmp[1]);
+        sceneBuffer = new SceneBuffer(internalWidth, internalHeight);
+        screenCamera = new OrthographicCamera();
+        screenViewport = new FitViewport(SCREEN_WIDTH, SCREEN_HEIGHT, screenCamera);
+        screenViewport.update(Gdx.graphics.getWidth(), Gdx.graphics.getHeight(), true);
+        if (targetFps > 0) {
+            dynamicResolution = new DynamicResolution(1f / targetFps, MIN_RENDER_SCALE, 1f);
+        }
+        fonts = new FontService();
+        screenProjection.setToOrtho2D(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+        RenderLayers.configure(renderQueue, fonts.getShader(), screenProjection);
+        mainMenu = new MainMenu(fonts);
+        liveInput = new GdxWorldInput();
         camera = new OrthographicCamera(SCREEN_WIDTH, SCREEN_HEIGHT);
-        electricSound = Gdx.audio.newMusic(Gdx.files.internal("electric-sound.mp3"));
-
-        characterSheet.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
-        bgTexture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
-        groundTexture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
 
         camera.position.set(640, 360, 0);
         camera.setToOrtho(false, 1280, 720);
         camera.update();
+        renderCamera = new OrthographicCamera();
+
+        // Compiled from assets-raw/dialogue by the core:compileDialogue Gradle task; mapped, not parsed.
+        dialogueScript = DialogueScript.load(Gdx.files.internal("dialogue/intro.dlg"));
+        world = new GameWorld(camera, dialogueScript);
+        world.setListener(new WorldListener() {
+            @Override
+            public void onDialogueLineStarted(DialogueLine line) {
+                Simple2DGame.this.onDialogueLineStarted(line);
+            }
+
+            @Override
+            public void onHazardTriggered(int hazard) {
+                Simple2DGame.this.onHazardTriggered(hazard);
+            }
+        });
+        world.setProfiler(frameProfiler);
+        world.setJobSystem(jobs);
+        // A replay has to see chunks arrive on the same frames as the recording, so both decode them on this thread.
+        boolean deterministic = recordPath != null || replayPath != null;
+        levelStreamer = Levels.streamMeadow(deterministic ? 0 : CHUNK_LOADER_THREADS);
+        world.setLevel(levelStreamer);
+
+        // The menu only needs the font, loaded above, so it shows right away while the gameplay assets stream in.
+        assets = new AssetManager();
+        GameAssets.queue(assets);
+
+        if (deterministic) {
+            // How many frames loading takes depends on the machine, so a recorded session only plays
+            // back the same way if the menu has its assets from the first frame, both times.
+            assets.finishLoading();
+        }
+        if (!deterministic) {
+            // A recorded session has to start from the same state when it is played back, so it never loads a save.
+            autoSaver = new AutoSaver(UserFiles.get(SAVE_NAME));
+        }
+        if (recordPath != null) {
+            recorder = new InputRecorder(tickRate);
+        }
+        if (replayPath != null) {
+            replay = new InputReplay(Gdx.files.local(replayPath));
+            tickRate = replay.getTickRate();
+            frameProfiler.reset();
+            Gdx.app.log("Replay", "replaying " + replay.getFrameCount() + " frames from " + replayPath);
+        }
+        timestep = new FixedTimestep(tickRate);
+    }
+
+    /**
+     * Draws the scene at the given resolution and scales it to the window, keeping the pixels
+     * square-edged. Call before the game is created.
+     */
+    public void setInternalResolution(int width, int height) {
+        internalWidth = width;
+        internalHeight = height;
+    }
 
-        cutscene = new Cutscene(characterPosition, npc.getCollider(), camera);
+    /**
+     * Draws the scene at a lower resolution, down to half the internal one, while frames take
+     * longer than the given frame rate allows, and back up once they are fast again. Call before
+     * the game is created.
+     *
+     * @param targetFps the frame rate to hold, or 0 to always draw at the internal resolution
+     */
+    public void setDynamicResolution(int targetFps) {
+        this.targetFps = targetFps;
+    }
+
+    /**
+     * Sets how many times a second the world is updated, whatever the frame rate. Call before the
+     * game is created; a replay uses the tick rate it was recorded at instead.
+     */
+    public void setTickRate(int tickRate) {
+        this.tickRate = tickRate;
+    }
 
-        electricSound.setLooping(true);
-        electricSound.setVolume(0.3f);
+    /**
+     * Records every frame's input and delta time, to be saved to the given file when the game exits.
+     * Call before the game is created.
+     *
+     * @param path the recording's path in local storage
+     */
+    public void setRecordPath(String path) {
+        recordPath = path;
+    }
 
-        idleLeft = tmp[0][0];
-        idleRight = tmp[1][0];
+    /**
+     * Plays back a recording made with {@link #setRecordPath} instead of reading the live input,
+     * then writes the frame profile and exits. Call before the game is created.
+     *
+     * @param path the recording's path in local storage
+     */
+    public void setReplayPath(String path) {
+        replayPath = path;
+    }
 
-        stateTime = 0f;
+    /**
+     * Looks up the gameplay regions and sound once the asset manager has finished loading them.
+     */
+    private void onAssetsLoaded() {
+        TextureAtlas atlas = assets.get(GameAssets.ATLAS);
+        // The art is one screen wide; the ground moves with the world and the scenery behind it at half speed.
+        background = new ParallaxBackground(SCREEN_WIDTH / 2f);
+        background.addLayer(RenderLayers.BACKGROUND, atlas.findRegion("bg"), SCREEN_WIDTH, 0, SCREEN_HEIGHT,
+            BACKGROUND_SCROLL_FACTOR);
+        background.addLayer(RenderLayers.GROUND, atlas.findRegion("ground"), SCREEN_WIDTH, 0, SCREEN_HEIGHT, 1f);
+        // Each speaker's face is the atlas region named after the speaker, e.g. "npc_face" for "NPC".
+        speakerFaces = new TextureRegion[dialogueScript.getSpeakerCount()];
+        for (int i = 0; i < speakerFaces.length; i++) {
+            speakerFaces[i] = atlas.findRegion(dialogueScript.getSpeaker(i).toLowerCase(Locale.ROOT) + "_face");
+        }
+        entitySprites = new TextureRegion[SpriteIds.COUNT];
+        entitySprites[SpriteIds.NPC] = atlas.findRegion("npc");
+        entitySprites[SpriteIds.LIGHTNING] = atlas.findRegion("lightning");
+        putWalkFrames(atlas, "walk_left", SpriteIds.WALK_LEFT);
+        putWalkFrames(atlas, "walk_right", SpriteIds.WALK_RIGHT);
+        dialogueBox = new DialogueBox(atlas.findRegion("white"), fonts);
+        particles.setRegion(atlas.findRegion("white"));
+        characterAnimation = new CharacterAnimation(entitySprites, world.getAnimations());
+
+        electricSound = new SpatialSoundMixer(assets.get(GameAssets.ELECTRIC_SOUND), ELECTRIC_VOICES,
+            ELECTRIC_SOUND_MIN_DISTANCE, GameWorld.HEARING_DISTANCE, ELECTRIC_SOUND_MAX_VOLUME);
+
+        assetsReady = true;
+        Gdx.app.log("Startup", "gameplay assets loaded " + StartupTimer.millisSinceLaunch() + " ms after launch");
+        logTextureMemory();
+    }
+
+    /**
+     * Maps one direction's walk cycle, the atlas regions of the given name in index order, to its sprite ids.
+     */
+    private void putWalkFrames(TextureAtlas atlas, String name, int firstSprite) {
+        Array<TextureAtlas.AtlasRegion> frames = atlas.findRegions(name);
+        if (frames.size != SpriteIds.WALK_FRAMES) {
+            throw new GdxRuntimeException("Expected " + SpriteIds.WALK_FRAMES + " " + name + " frames, found " + frames.size);
+        }
+        for (int i = 0; i < frames.size; i++) {
+            entitySprites[firstSprite + i] = frames.get(i);
+        }
+    }
+
+    /**
+     * Logs the estimated GPU memory of every texture the asset manager holds.
+     */
+    private void logTextureMemory() {
+        long total = 0;
+        for (Texture texture : assets.getAll(Texture.class, new Array<>())) {
+            long bytes = TextureMemory.estimateBytes(texture);
+            total += bytes;
+            Gdx.app.log("Assets", assets.getAssetFileName(texture) + ": " + texture.getWidth() + "x" + texture.getHeight()
+                + ", " + bytes / 1024 + " KB of GPU memory");
+        }
+        Gdx.app.log("Assets", "textures take " + total / 1024 + " KB of GPU memory");
     }
 
     @Override
     public void render() {
+        if (!readFrameInput()) {
+            finishReplay();
+            return;
+        }
+        long frameStart = frameProfiler.start();
+        glProfiler.reset();
+        int flushesAtFrameStart = batch.totalRenderCalls;
+        handleProfilerKeys();
+
+        long start = frameProfiler.start();
+        sceneBuffer.begin(dynamicResolution != null ? dynamicResolution.update(Gdx.graphics.getDeltaTime()) : 1f);
         clearScreen();
+        start = frameProfiler.lap(FramePhase.CLEAR, start);
+        updateLoading();
+        start = frameProfiler.lap(FramePhase.LOADING, start);
 
-        if (handleMenuState()) return;
+        if (handleMenuState()) {
+            frameProfiler.stop(FramePhase.MENU, start);
+        } else {
+            timestep.advance(frameInput.getDelta(), frameInput, world);
+            updateAutosave(frameInput.getDelta());
+            start = frameProfiler.start();
+            particles.update(frameInput.getDelta());
+            start = frameProfiler.lap(FramePhase.EFFECTS, start);
+            renderGame();
+            start = frameProfiler.lap(FramePhase.RENDER_GAME, start);
+            updateElectricSound();
+            frameProfiler.stop(FramePhase.AUDIO, start);
+            reportRenderStats(batch.totalRenderCalls - flushesAtFrameStart);
+            // show colliders for debugging
+//            showColliders();
+        }
 
-        float delta = Gdx.graphics.getDeltaTime();
-        stateTime += delta;
+        start = frameProfiler.start();
+        sceneBuffer.end();
+        presentScene();
+        frameProfiler.stop(FramePhase.PRESENT, start);
+        frameProfiler.recordRenderStats(glProfiler.getDrawCalls(), glProfiler.getTextureBindings(),
+            batch.totalRenderCalls - flushesAtFrameStart);
+        if (showProfiler) {
+            showProfilerOverlay();
+        }
+        frameProfiler.stop(FramePhase.FRAME, frameStart);
 
-        updateCutsceneOrInput(delta);
-        updateCameraZoomIfNeeded(delta);
-        updateCharacterCollider();
-        renderGame();
-        updateLightningLogic(delta);
-        // show colliders for debugging
-//        showColliders();
+        if (!firstFrameReported) {
+            firstFrameReported = true;
+            Gdx.app.log("Startup", "first frame " + StartupTimer.millisSinceLaunch() + " ms after launch");
+        }
+    }
+
+    /**
+     * Fills {@link #frameInput} for this frame from the replay, or from the live input and the
+     * frame's delta time, and records it when recording.
+     *
+     * @return false when the replay has no frames left
+     */
+    private boolean readFrameInput() {
+        if (replay != null) {
+            return replay.next(frameInput);
+        }
+        frameInput.set(Gdx.graphics.getDeltaTime(), liveInput, Gdx.input.justTouched(),
+            Gdx.input.getX(), Gdx.input.getY(), gameState == GameState.GAME);
+        if (recorder != null) {
+            recorder.record(frameInput);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the frame profile of the replayed session, for comparing builds, and exits.
+     */
+    private void finishReplay() {
+        FileHandle file = UserFiles.get("frame-profile-replay-" + TimeUtils.millis() + ".csv");
+        frameProfiler.writeCsv(file);
+        Histogram frames = frameProfiler.getPhaseTimes(FramePhase.FRAME);
+        Gdx.app.log("Replay", replay.getFrameCount() + " frames, p50 " + frames.getPercentile(50) + " ns, p99 "
+            + frames.getPercentile(99) + " ns; profile written to " + file.path());
+        replay = null;
+        Gdx.app.exit();
+    }
+
+    /**
+     * Gives the asset manager a bounded slice of the frame to finish loaded assets, so texture
+     * uploads never stall the menu for more than {@link #LOAD_BUDGET_MILLIS} at a time.
+     */
+    private void updateLoading() {
+        if (!assetsReady && assets.update(LOAD_BUDGET_MILLIS)) {
+            onAssetsLoaded();
+        }
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        screenViewport.update(width, height, true);
+    }
+
+    /**
+     * Scales the scene up from its buffer to the window with nearest filtering, keeping its aspect
+     * ratio with black bars. The profiler overlay is drawn over it afterwards, in the same viewport.
+     */
+    private void presentScene() {
+        clearScreen();
+        screenViewport.apply();
+        batch.setProjectionMatrix(screenCamera.combined);
+        // The scene is opaque, so it is copied without blending.
+        batch.disableBlending();
+        batch.begin();
+        batch.draw(sceneBuffer.getRegion(), 0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+        batch.end();
+        batch.enableBlending();
     }
 
     /**
@@ -145,17 +458,18 @@ public class Simple2DGame extends ApplicationAdapter {
 
     /**
      * Handles the game state when the game is in the MENU state. Updates
-     * and renders the main menu and transitions to the GAME state if
-     * the play button is pressed.
+     * and renders the main menu with the loading progress, and transitions
+     * to the GAME state once the play button is pressed and loading is done.
      *
      * @return true if the game state is MENU and the menu is handled; false otherwise.
      */
     private boolean handleMenuState() {
         if (gameState == GameState.MENU) {
-            mainMenu.update(camera);
-            mainMenu.render(batch, shapeRenderer, camera);
-            if (mainMenu.isPlayPressed()) {
+            mainMenu.update(screenViewport, frameInput.isTouchJustPressed(), frameInput.getTouchX(), frameInput.getTouchY());
+            mainMenu.render(batch, shapeRenderer, camera, assets.getProgress());
+            if (mainMenu.isPlayPressed() && assetsReady) {
                 gameState = GameState.GAME;
+                loadSave();
             }
             return true;
         }
@@ -163,211 +477,130 @@ public class Simple2DGame extends ApplicationAdapter {
     }
 
     /**
-     * Updates the game logic by either progressing through a cutscene or handling user input
-     * depending on the current state of the cutscene.
-     *
-     * @param delta the time elapsed since the last frame, used for updating the cutscene
-     *              or handling time-sensitive input.
+     * Saves the game every {@link #AUTOSAVE_INTERVAL} seconds of play, and on F5; F9 goes back to
+     * the last save. Capturing the state takes microseconds; the file is written in the background.
      */
-    private void updateCutsceneOrInput(float delta) {
-        if (!cutsceneFinished) {
-            cutscene.update(delta);
-            moving = cutscene.isMoving();
-            facingLeft = cutscene.isFacingLeft();
-            if (cutscene.isFinished()) {
-                cutsceneFinished = true;
-            }
-        } else {
-            handleInput();
+    private void updateAutosave(float delta) {
+        if (autoSaver == null) return;
+        autosaveTimer += delta;
+        if (autosaveTimer >= AUTOSAVE_INTERVAL || Gdx.input.isKeyJustPressed(Keys.F5)) {
+            save();
+        }
+        if (Gdx.input.isKeyJustPressed(Keys.F9)) {
+            loadSave();
         }
     }
 
-    /**
-     * Updates the camera's zoom level if necessary, particularly after the cutscene has
-     * finished playing. This method gradually adjusts the zoom level back to a default
-     * value of 1.0 for normal gameplay.
-     *
-     * @param delta the time elapsed since the last frame, used to calculate the incremental zoom adjustment
-     */
-    private void updateCameraZoomIfNeeded(float delta) {
-        if (cutsceneFinished && camera.zoom != 1f) {
-            camera.zoom += CUTSCENE_ZOOM_SPEED * delta;
-            if (camera.zoom > 1f) {
-                camera.zoom = 1f;
-            }
-        }
+    private void save() {
+        autosaveTimer = 0f;
+        autoSaver.save(SaveSnapshot.capture(world, gameState));
     }
 
     /**
-     * Updates the position of the character's collider based on the current position of the character.
+     * Puts the game back in the state of the save file, if there is one.
      */
-    private void updateCharacterCollider() {
-        characterCollider.setPosition(characterPosition.x + 50, characterPosition.y - 40);
+    private void loadSave() {
+        if (autoSaver == null || !autoSaver.hasSave()) return;
+        long start = TimeUtils.nanoTime();
+        try {
+            SaveSnapshot snapshot = autoSaver.load();
+            snapshot.restore(world);
+            gameState = snapshot.getGameState();
+        } catch (GdxRuntimeException e) {
+            Gdx.app.error("Save", "could not load " + SAVE_NAME, e);
+            return;
+        }
+        particles.clear();
+        timestep.reset();
+        autosaveTimer = 0f;
+        Gdx.app.log("Save", "restored " + SAVE_NAME + " in " + (TimeUtils.nanoTime() - start) / 1000 + " us");
     }
 
     /**
-     * Renders the main gameplay screen, drawing the background, NPC, player character,
-     * dialogue box, and other visual elements. Also handles certain dynamic elements
-     * like animations and conditional prompts.
+     * Renders the main gameplay screen, submitting the background, NPC, player character,
+     * dialogue box, and other visual elements to the render queue under their
+     * {@link RenderLayers} and drawing them in one sorted flush. Also handles certain dynamic
+     * elements like animations and conditional prompts.
      */
     private void renderGame() {
-        camera.update();
-        batch.setProjectionMatrix(camera.combined);
+        float alpha = timestep.getAlpha();
+        world.interpolateCamera(alpha, renderCamera);
+        batch.setProjectionMatrix(renderCamera.combined);
+        // Everything queued below in the world that the camera cannot see is dropped, so zooming in draws less.
+        renderQueue.setCullBounds(CameraBounds.get(renderCamera, viewBounds));
 
-        batch.begin();
-        batch.draw(bgTexture, 0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
-        batch.draw(groundTexture, 0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+        background.submit(renderQueue, viewBounds, renderCamera.position.x);
 
-        npc.render(batch);
-        lightning.draw(batch);
+        EntityRenderer.submit(renderQueue, RenderLayers.ENTITIES, world.getNpcs(), entitySprites);
+        EntityRenderer.submit(renderQueue, RenderLayers.ENTITIES, world.getHazards(), entitySprites);
 
+        Vector2 characterPosition = world.getInterpolatedCharacterPosition(alpha, characterDrawPosition);
         TextureRegion currentFrame = getAnimationFrame();
-        batch.draw(currentFrame, characterPosition.x, characterPosition.y - 45, CHARACTER_WIDTH, CHARACTER_HEIGHT);
+        renderQueue.draw(RenderLayers.CHARACTER, RenderQueue.BLEND_ALPHA, currentFrame, characterPosition.x,
+            characterPosition.y - 45, CHARACTER_WIDTH, CHARACTER_HEIGHT);
 
-        dialogueBox.render(batch);
+        particles.submit(renderQueue, RenderLayers.EFFECTS, viewBounds);
 
-        if (canStartDialogue()) {
-            font.draw(batch, PRESS_SPACE_TO_TALK, npc.getCollider().x, npc.getCollider().y + 140);
-        }
-
-        batch.end();
+        dialogueBox.submit(renderQueue, world.getDialogue());
 
-        handleDialogue();
-
-        if (canPlaySound()) {
-            if (!electricSound.isPlaying()) {
-                electricSound.play();
-            }
-            updateElectricSoundVolume();
-        } else {
-            if (electricSound.isPlaying()) {
-                electricSound.pause();
-            }
-        }
-    }
-
-    /**
-     * Updates the logic for the lightning effect, including its visibility, cooldown, and triggering
-     * logic based on the player's proximity.
-     *
-     * @param delta the time elapsed since the last frame, used to update animations and cooldown timers
-     */
-    private void updateLightningLogic(float delta) {
-        lightning.update(delta);
-
-        float distanceToLightning = characterPosition.dst(900, 70);
-        if (distanceToLightning < 100 && lightningCooldown <= 0f) {
-            lightning.trigger();
-            lightningCooldown = 0.5f;
+        if (world.canStartDialogue()) {
+            EntityStore npcs = world.getNpcs();
+            int npc = world.getNpcInReach();
+            fonts.submit(renderQueue, RenderLayers.TEXT, fonts.getLayout(PRESS_SPACE_TO_TALK, TEXT_SIZE), TEXT_SIZE,
+                npcs.getX(npc), npcs.getY(npc) + 140);
         }
 
-        if (lightningCooldown > 0f) {
-            lightningCooldown -= delta;
-        }
+        batch.begin();
+        renderQueue.flush(batch);
+        batch.end();
     }
 
     /**
-     * Updates the electric sound volume based on the character's distance from the lightning.
-     * The closer the character is, the louder the sound (up to maxVolume).
+     * Mixes the electric sound of the lightning within hearing distance of the character, each
+     * attenuated by its own distance, while the world allows sound to be played.
      */
-    private void updateElectricSoundVolume() {
-        float maxDistance = 300f;  // distance at which sound is barely audible
-        float minDistance = 50f;   // distance at which sound is at maxVolume
-        float maxVolume = 0.7f;
-
-        float distance = characterPosition.dst(lightning.getPosition()); // Assuming lightning has a getPosition()
-
-        if (distance < minDistance) {
-            electricSound.setVolume(maxVolume);
-        } else if (distance > maxDistance) {
-            electricSound.setVolume(0f);
+    private void updateElectricSound() {
+        if (gameState == GameState.GAME && world.canPlaySound()) {
+            world.findAudibleHazards(audibleHazards, audibleDistances);
+            electricSound.update(audibleHazards, audibleDistances);
         } else {
-            // Linear interpolation between min and max distance
-            float volume = maxVolume * (1 - (distance - minDistance) / (maxDistance - minDistance));
-            electricSound.setVolume(volume);
+            electricSound.stopAll();
         }
     }
 
     /**
-     * Retrieves the current frame of animation based on the character's movement and direction state.
-     * If the character is moving, it plays the relevant walking animation based on the direction
-     * the character is facing (left or right). If the character is stationary, it returns the
-     * appropriate idle texture for the direction the character is facing.
+     * Reacts to a new dialogue line by showing the face of its speaker and silencing the
+     * electric sound while the line is read.
      *
-     * @return the {@code TextureRegion} representing the current animation frame. If moving, it is
-     *         a frame from the walking animation; if idle, it is a static frame.
+     * @param line the dialogue line that has just started typing
      */
-    private TextureRegion getAnimationFrame() {
-        TextureRegion currentFrame;
-        if (moving) {
-            currentFrame = (facingLeft ? walkLeftAnim.getKeyFrame(stateTime, true)
-                : walkRightAnim.getKeyFrame(stateTime, true));
-        } else {
-            currentFrame = (facingLeft ? idleLeft : idleRight);
-        }
-        return currentFrame;
+    private void onDialogueLineStarted(DialogueLine line) {
+        dialogueBox.setFaceRegion(speakerFaces[line.speakerId()]);
+        electricSound.stopAll();
     }
 
     /**
-     * Determines if a dialogue can be initiated between the player character and the NPC.
-     * <p>
-     * This method checks three conditions to decide if dialogue can start:
-     * 1. The character's collider overlaps with the NPC's collider.
-     * 2. The player is not yet in a dialogue.
-     * 3. The dialogue box is currently visible.
+     * Bursts a flash and a shower of sparks out of the middle of a lightning that has just
+     * been triggered.
      *
-     * @return true if the above conditions are met, indicating that dialogue can start; false otherwise.
+     * @param hazard the index of the hazard in the world's hazard store
      */
-    private boolean canStartDialogue() {
-        return npc.getCollider().overlaps(characterCollider) && !inDialogue && !dialogueBox.isVisible() && cutsceneFinished;
+    private void onHazardTriggered(int hazard) {
+        EntityStore hazards = world.getHazards();
+        float x = hazards.getX(hazard) + hazards.getDrawWidth(hazard) / 2f;
+        float y = hazards.getY(hazard) + hazards.getDrawHeight(hazard) / 2f;
+        particles.emit(Effects.LIGHTNING_BURST, x, y);
+        particles.emit(Effects.SPARKS, x, y);
     }
 
     /**
-     * Determines if a sound can be played based on the current game state and conditions.
-     * This method checks the following conditions:
-     * 1. The player is not in a dialogue.
-     * 2. The cutscene has finished.
-     * 3. The game is in the "GAME" state.
+     * Retrieves the current frame of the player character's animation from the world's
+     * movement and direction state.
      *
-     * @return true if all the above conditions are met, indicating that a sound can be played; false otherwise.
-     */
-    private boolean canPlaySound() {
-        return !inDialogue && cutsceneFinished && gameState == GameState.GAME;
-    }
-
-    /**
-     * Handles user input for character movement in the game.
-     * <p>
-     * This method processes keyboard input for controlling the movement of the player character
-     * and updates the character's position accordingly. The movement logic is only executed
-     * if the character is not currently in dialogue mode.
-     * <p>
-     * Movement details:
-     * - If the "A" or LEFT key is pressed and the character's position is greater than 0, the
-     *   character moves to the left. The `facingLeft` flag is set to true, and the `moving` flag
-     *   is set to indicate motion.
-     * - If the "D" or RIGHT key is pressed and the character's position is within the game screen's
-     *   right boundary (calculated as 1280 minus the character's width), the character moves to the
-     *   right. The `facingLeft` flag is set to false, and the `moving` flag is set to indicate motion.
-     * <p>
-     * The method also uses the delta time provided by LibGDX to ensure smooth and frame-rate-independent
-     * movement of the character.
+     * @return the {@code TextureRegion} representing the current animation frame.
      */
-    private void handleInput() {
-        moving = false;
-        float delta = Gdx.graphics.getDeltaTime();
-        if (!inDialogue) {
-            if ((Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT)) && characterPosition.x > 0) {
-                characterPosition.x -= SPEED * delta;
-                facingLeft = true;
-                moving = true;
-            } else if ((Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT))
-                && characterPosition.x < SCREEN_WIDTH - CHARACTER_WIDTH) {
-                characterPosition.x += SPEED * delta;
-                facingLeft = false;
-                moving = true;
-            }
-        }
+    private TextureRegion getAnimationFrame() {
+        return characterAnimation.getFrame(world.isMoving(), world.isFacingLeft(), world.getStateTime());
     }
 
     /**
@@ -375,11 +608,11 @@ public class Simple2DGame extends ApplicationAdapter {
      * <p>
      * This method uses a ShapeRenderer to draw rectangular outlines
      * representing the colliders of game objects, such as the player character,
-     * the ground, and the NPC. Each collider is drawn in a specific color
+     * the ground, and the NPCs. Each collider is drawn in a specific color
      * for visual distinction:
      * - Red: Player's collider.
      * - Green: Ground's collider.
-     * - Blue: NPC's collider.
+     * - Blue: NPCs' colliders.
      * <p>
      * The method sets the ShapeRenderer's projection matrix to match the
      * camera’s combined matrix to ensure proper alignment with the game's
@@ -389,70 +622,149 @@ public class Simple2DGame extends ApplicationAdapter {
      * interactions and ensure the colliders are correctly positioned.
      */
     private void showColliders() {
-        shapeRenderer.setProjectionMatrix(camera.combined);
+        Rectangle characterCollider = world.getCharacterCollider();
+        Rectangle groundCollider = world.getGroundCollider();
+        EntityStore npcs = world.getNpcs();
+        shapeRenderer.setProjectionMatrix(renderCamera.combined);
         shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
         shapeRenderer.setColor(1, 0, 0, 1); // Red - player
         shapeRenderer.rect(characterCollider.x, characterCollider.y, characterCollider.width, characterCollider.height);
         shapeRenderer.setColor(0, 1, 0, 1); // Green - ground
         shapeRenderer.rect(groundCollider.x, groundCollider.y, groundCollider.width, groundCollider.height);
-        shapeRenderer.setColor(0, 0, 1, 1); // Blue - NPC
-        shapeRenderer.rect(npc.getCollider().x, npc.getCollider().y, npc.getCollider().width, npc.getCollider().height);
+        shapeRenderer.setColor(0, 0, 1, 1); // Blue - NPCs
+        for (int i = 0; i < npcs.size(); i++) {
+            Rectangle npcCollider = npcs.getCollider(i, colliderRectangle);
+            shapeRenderer.rect(npcCollider.x, npcCollider.y, npcCollider.width, npcCollider.height);
+        }
         shapeRenderer.end();
     }
 
     /**
-     * Handles the dialogue interaction between the player and the NPC, determining when
-     * dialogues should start, progress, or end based on player input and interaction conditions.
-     * <p>
-     * The method checks if the player's collider overlaps with the NPC's collider and if the
-     * dialogue box is visible to determine if a dialogue can be initiated.
+     * Toggles the profiler overlay with F3, and with F4 writes the frame profile to a CSV file
+     * in the local storage folder and starts a new one.
+     */
+    private void handleProfilerKeys() {
+        if (Gdx.input.isKeyJustPressed(Keys.F3)) {
+            showProfiler = !showProfiler;
+        }
+        if (Gdx.input.isKeyJustPressed(Keys.F4)) {
+            FileHandle file = UserFiles.get("frame-profile-" + TimeUtils.millis() + ".csv");
+            frameProfiler.writeCsv(file);
+            frameProfiler.reset();
+            Gdx.app.log("Profiler", "wrote " + file.path());
+        }
+    }
+
+    /**
+     * Renders the frame profile over the game, in screen space.
      * <p>
-     * - If the SPACE key is pressed while conditions are met, the dialogue starts from the first
-     *   line of the conversation.
-     * - If already in a dialogue and the SPACE key is pressed, the conversation progresses to
-     *   the next dialogue line.
-     * - If the conversation reaches the end (no more lines in the dialogue), the dialogue box
-     *   is hidden and dialogue mode ends.
+     * One row per frame phase shows the 50th and 99th percentile and the longest time, in
+     * microseconds, since the profile was last written with F4. Below them are the draw calls
+     * and texture binds per frame and the garbage collections.
      * <p>
-     * This method must be invoked periodically, such as within the render cycle, to ensure that
-     * it can detect user input and update the dialogue states appropriately.
+     * This method is typically used for debugging purposes, to find the phase a slow frame
+     * spends its time in.
      */
-    private void handleDialogue() {
-        if (npc.getCollider().overlaps(characterCollider) && !inDialogue && !dialogueBox.isVisible()) {
-            if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-                inDialogue = true;
-                currentDialogueIndex = 0;
-                Texture texture = conversation[currentDialogueIndex].speaker().equals("NPC") ? npcFaceTexture : characterFaceTexture;
-                dialogueBox.startTyping(conversation[currentDialogueIndex], texture);
-                electricSound.stop();
-            }
-        } else if (inDialogue && Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
-            if (dialogueBox.isTyping()) {
-                dialogueBox.skipTyping();
-            } else {
-                currentDialogueIndex++;
-                if (currentDialogueIndex >= conversation.length) {
-                    dialogueBox.hide();
-                    inDialogue = false;
-                } else {
-                    Texture texture = conversation[currentDialogueIndex].speaker().equals("NPC") ? npcFaceTexture : characterFaceTexture;
-                    dialogueBox.startTyping(conversation[currentDialogueIndex], texture);
-                    electricSound.stop();
-                }
-            }
+    private void showProfilerOverlay() {
+        batch.setProjectionMatrix(screenCamera.combined);
+        batch.setShader(fonts.getShader());
+        batch.begin();
+        float y = SCREEN_HEIGHT - OVERLAY_MARGIN;
+        drawOverlayRow("phase (us)", "p50", "p99", "max", y);
+        for (FramePhase phase : FRAME_PHASES) {
+            y -= OVERLAY_LINE_HEIGHT;
+            Histogram times = frameProfiler.getPhaseTimes(phase);
+            drawOverlayRow(phase.name(), micros(times.getPercentile(50)), micros(times.getPercentile(99)),
+                micros(times.getMax()), y);
+        }
+        y -= OVERLAY_LINE_HEIGHT;
+        drawOverlayRow("draw calls", count(frameProfiler.getDrawCalls().getPercentile(50)),
+            count(frameProfiler.getDrawCalls().getPercentile(99)), count(frameProfiler.getDrawCalls().getMax()), y);
+        y -= OVERLAY_LINE_HEIGHT;
+        drawOverlayRow("texture binds", count(frameProfiler.getTextureBindings().getPercentile(50)),
+            count(frameProfiler.getTextureBindings().getPercentile(99)),
+            count(frameProfiler.getTextureBindings().getMax()), y);
+        y -= OVERLAY_LINE_HEIGHT;
+        drawOverlayRow("batch flushes", count(frameProfiler.getBatchFlushes().getPercentile(50)),
+            count(frameProfiler.getBatchFlushes().getPercentile(99)), count(frameProfiler.getBatchFlushes().getMax()), y);
+        y -= OVERLAY_LINE_HEIGHT;
+        overlayText.setLength(0);
+        overlayText.append("GC: ").append(frameProfiler.getCollections()).append(" collections, ")
+            .append(frameProfiler.getCollectionMillis()).append(" ms; scene drawn at ")
+            .append(sceneBuffer.getDrawWidth()).append('x').append(sceneBuffer.getDrawHeight());
+        fonts.draw(batch, overlayText, TEXT_SIZE, OVERLAY_MARGIN, y);
+        batch.end();
+        batch.setShader(null);
+    }
+
+    private void drawOverlayRow(CharSequence name, CharSequence p50, CharSequence p99, CharSequence max, float y) {
+        fonts.draw(batch, name, TEXT_SIZE, OVERLAY_MARGIN, y);
+        fonts.draw(batch, p50, TEXT_SIZE, OVERLAY_MARGIN + OVERLAY_COLUMN_WIDTH * 2, y);
+        fonts.draw(batch, p99, TEXT_SIZE, OVERLAY_MARGIN + OVERLAY_COLUMN_WIDTH * 3, y);
+        fonts.draw(batch, max, TEXT_SIZE, OVERLAY_MARGIN + OVERLAY_COLUMN_WIDTH * 4, y);
+    }
+
+    /**
+     * Formats nanoseconds as microseconds with one decimal into a reused builder, so the overlay
+     * does not allocate a string per cell.
+     */
+    private CharSequence micros(long nanos) {
+        StringBuilder cell = nextOverlayCell();
+        return cell.append(nanos / 1000).append('.').append(nanos / 100 % 10);
+    }
+
+    private CharSequence count(long value) {
+        return nextOverlayCell().append(value);
+    }
+
+    private StringBuilder nextOverlayCell() {
+        StringBuilder cell = overlayCells[overlayCell];
+        overlayCell = (overlayCell + 1) % overlayCells.length;
+        cell.setLength(0);
+        return cell;
+    }
+
+    /**
+     * Logs the draw calls and texture binds of the last game frame, as counted by the
+     * {@code GLProfiler}, and its sprite batch flushes whenever they differ from the previous
+     * frame. The render queue draws every atlas sprite before any text, so this is one flush for
+     * the atlas page and one for the text with the font's shader, whatever the order the draws
+     * were submitted in.
+     */
+    private void reportRenderStats(int batchFlushes) {
+        int drawCalls = glProfiler.getDrawCalls();
+        int textureBindings = glProfiler.getTextureBindings();
+        if (drawCalls != lastDrawCalls || textureBindings != lastTextureBindings || batchFlushes != lastBatchFlushes) {
+            Gdx.app.log("Render", "draw calls: " + drawCalls + ", texture binds: " + textureBindings + ", batch flushes: "
+                + batchFlushes + " (" + renderQueue.getTextureSwitches() + " texture and "
+                + renderQueue.getBlendSwitches() + " blend and " + renderQueue.getShaderSwitches()
+                + " shader switches), " + background.getTilesSubmitted() + " background tiles, "
+                + renderQueue.getCulledCount() + " draws culled");
+            lastDrawCalls = drawCalls;
+            lastTextureBindings = textureBindings;
+            lastBatchFlushes = batchFlushes;
         }
     }
 
     @Override
     public void dispose() {
-        npc.dispose();
+        if (recorder != null) {
+            recorder.save(Gdx.files.local(recordPath));
+            Gdx.app.log("Replay", "recorded " + recorder.getFrameCount() + " frames to " + recordPath);
+        }
+        if (autoSaver != null) {
+            if (gameState == GameState.GAME) {
+                save();
+            }
+            autoSaver.dispose();
+        }
         batch.dispose();
-        bgTexture.dispose();
-        dialogueBox.dispose();
-        electricSound.dispose();
-        groundTexture.dispose();
+        sceneBuffer.dispose();
+        fonts.dispose();
+        assets.dispose();
         shapeRenderer.dispose();
-        characterSheet.dispose();
-        lightningTexture.dispose();
+        glProfiler.disable();
+        jobs.dispose();
+        levelStreamer.dispose();
     }
 }
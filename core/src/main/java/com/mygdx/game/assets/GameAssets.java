@@ -0,0 +1,50 @@
+package com.mygdx.game.assets;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+/**
+ * The assets the gameplay screen needs, loaded in the background through an {@link AssetManager}
+ * while the main menu is already showing.
+ */
+public final class GameAssets {
+    // All sprites are packed into one atlas page by the processAssets Gradle task, with the
+    // filters set in assets-raw/sprites/pack.json. The page is a KTX texture that already holds
+    // its mip levels, so it is loaded before the atlas with mipmap generation off; the atlas then
+    // uses that texture instead of generating the levels again on the GPU. Sprites are drawn far
+    // smaller than they are stored, so the mip level picks the texel size, and sampling stays
+    // nearest within and between levels to keep the hard pixel-art edges.
+    public static final AssetDescriptor<Texture> ATLAS_PAGE =
+        new AssetDescriptor<>("atlas/game.zktx", Texture.class, atlasPageParameter());
+    public static final AssetDescriptor<TextureAtlas> ATLAS =
+        new AssetDescriptor<>("atlas/game.atlas", TextureAtlas.class);
+    // A Sound, not a Music: every lightning plays the short loop through its own voice. The
+    // processAssets task decodes the mp3 into a wav at build time, so loading it is only a copy.
+    public static final AssetDescriptor<Sound> ELECTRIC_SOUND =
+        new AssetDescriptor<>("audio/electric-sound.wav", Sound.class);
+
+    private GameAssets() {
+    }
+
+    /**
+     * Queues every gameplay asset. Files are read and unpacked on the manager's loader thread; only
+     * the texture upload is left for {@link AssetManager#update(int)} on the render thread.
+     */
+    public static void queue(AssetManager assets) {
+        assets.load(ATLAS_PAGE);
+        assets.load(ATLAS);
+        assets.load(ELECTRIC_SOUND);
+    }
+
+    private static TextureLoader.TextureParameter atlasPageParameter() {
+        TextureLoader.TextureParameter parameter = new TextureLoader.TextureParameter();
+        parameter.genMipMaps = false;
+        parameter.minFilter = Texture.TextureFilter.MipMapNearestNearest;
+        parameter.magFilter = Texture.TextureFilter.Nearest;
+        return parameter;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mygdx.game.assets;
+
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.glutils.KTXTextureData;
+
+/**
+ * Estimates how much GPU memory a texture takes: its texels at the size of their format, over
+ * every mip level it has. Drivers may pad or align textures, so the real figure can be somewhat
+ * higher, but the estimate is good for comparing textures and formats.
+ */
+public final class TextureMemory {
+    private static final int GL_RGB = 0x1907;
+    private static final int GL_RGBA = 0x1908;
+    private static final int GL_RGB8 = 0x8051;
+    private static final int GL_RGBA8 = 0x8058;
+    private static final int GL_ETC1_RGB8_OES = 0x8D64;
+    private static final int GL_COMPRESSED_RGB8_ETC2 = 0x9274;
+    private static final int GL_COMPRESSED_RGBA8_ETC2_EAC = 0x9278;
+
+    private TextureMemory() {
+    }
+
+    /**
+     * @return the estimated size of the texture in GPU memory, in bytes
+     */
+    public static long estimateBytes(Texture texture) {
+        TextureData data = texture.getTextureData();
+        int bitsPerPixel;
+        int levels;
+        if (data instanceof KTXTextureData) {
+            KTXTextureData ktx = (KTXTextureData) data;
+            bitsPerPixel = bitsPerPixel(ktx.getGlInternalFormat());
+            // Mip levels the file does not have are generated on the GPU when the texture asks for them.
+            levels = ktx.useMipMaps() ? fullChain(texture) : ktx.getNumberOfMipMapLevels();
+        } else {
+            bitsPerPixel = bitsPerPixel(data.getFormat());
+            levels = data.useMipMaps() ? fullChain(texture) : 1;
+        }
+        long bits = 0;
+        for (int level = 0; level < levels; level++) {
+            bits += (long) Math.max(1, texture.getWidth() >> level) * Math.max(1, texture.getHeight() >> level) * bitsPerPixel;
+        }
+        return (bits + 7) / 8;
+    }
+
+    private static int fullChain(Texture texture) {
+        int levels = 1;
+        for (int size = Math.max(texture.getWidth(), texture.getHeight()); size > 1; size /= 2) {
+            levels++;
+        }
+        return levels;
+    }
+
+    private static int bitsPerPixel(int glInternalFormat) {
+        switch (glInternalFormat) {
+            case GL_ETC1_RGB8_OES:
+            case GL_COMPRESSED_RGB8_ETC2:
+                return 4;
+            case GL_COMPRESSED_RGBA8_ETC2_EAC:
+                return 8;
+            case GL_RGB:
+            case GL_RGB8:
+                return 24;
+            case GL_RGBA:
+            case GL_RGBA8:
+            default:
+                return 32;
+        }
+    }
+
+    private static int bitsPerPixel(Pixmap.Format format) {
+        switch (format) {
+            case Alpha:
+            case Intensity:
+                return 8;
+            case LuminanceAlpha:
+            case RGB565:
+            case RGBA4444:
+                return 16;
+            case RGB888:
+                return 24;
+            case RGBA8888:
+            default:
+                return 32;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.mygdx.game.audio;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Plays one looping sound for any number of positional emitters through a fixed pool of voices.
+ * <p>
+ * The sound is a {@link Sound}, so it is decoded to PCM once when loaded instead of being
+ * streamed. Each frame the mixer attenuates every emitter by its distance to the listener in one
+ * pass, gives the voices to the loudest emitters, and only calls the audio backend to start or
+ * stop a voice or to change a volume by more than {@link #VOLUME_THRESHOLD}.
+ * <p>
+ * Emitters are identified by an index chosen by the caller, e.g. the hazard's index in its
+ * entity store; an emitter keeps its voice for as long as it stays among the loudest.
+ */
+public class SpatialSoundMixer {
+    /** Volume changes smaller than this are not sent to the backend. */
+    public static final float VOLUME_THRESHOLD = 0.01f;
+
+    private static final int NO_EMITTER = -1;
+
+    private final Sound sound;
+    private final float minDistance;
+    private final float maxDistance;
+    private final float maxVolume;
+
+    private final int[] voiceEmitter;
+    private final long[] voiceId;
+    private final float[] voiceVolume;
+    private final int[] loudestEmitter;
+    private final float[] loudestGain;
+    private final FloatArray gains = new FloatArray();
+    private int loudestCount;
+    private long backendCalls;
+
+    /**
+     * @param maxVoices   the most emitters that play at once
+     * @param minDistance the distance up to which an emitter plays at {@code maxVolume}
+     * @param maxDistance the distance from which an emitter is silent; the volume falls off
+     *                    linearly in between
+     */
+    public SpatialSoundMixer(Sound sound, int maxVoices, float minDistance, float maxDistance, float maxVolume) {
+        this.sound = sound;
+        this.minDistance = minDistance;
+        this.maxDistance = maxDistance;
+        this.maxVolume = maxVolume;
+        voiceEmitter = new int[maxVoices];
+        voiceId = new long[maxVoices];
+        voiceVolume = new float[maxVoices];
+        loudestEmitter = new int[maxVoices];
+        loudestGain = new float[maxVoices];
+        Arrays.fill(voiceEmitter, NO_EMITTER);
+    }
+
+    /**
+     * Mixes one frame.
+     *
+     * @param emitters  the emitters that may be heard
+     * @param distances the distance from the listener to each of the emitters, in the same order
+     */
+    public void update(IntArray emitters, FloatArray distances) {
+        int count = emitters.size;
+        float[] gain = gains.setSize(count);
+        float[] distance = distances.items;
+        float falloff = 1f / (maxDistance - minDistance);
+        for (int i = 0; i < count; i++) {
+            gain[i] = maxVolume * MathUtils.clamp(1f - (distance[i] - minDistance) * falloff, 0f, 1f);
+        }
+
+        selectLoudest(emitters.items, gain, count);
+        releaseQuietVoices();
+        for (int i = 0; i < loudestCount; i++) {
+            play(loudestEmitter[i], loudestGain[i]);
+        }
+    }
+
+    /**
+     * Stops every voice, e.g. while the game is paused or in a dialogue.
+     */
+    public void stopAll() {
+        for (int voice = 0; voice < voiceEmitter.length; voice++) {
+            stop(voice);
+        }
+    }
+
+    /**
+     * @return the number of voices currently playing
+     */
+    public int getActiveVoices() {
+        int active = 0;
+        for (int emitter : voiceEmitter) {
+            if (emitter != NO_EMITTER) active++;
+        }
+        return active;
+    }
+
+    /**
+     * @return the number of play, stop and volume calls made to the audio backend so far
+     */
+    public long getBackendCalls() {
+        return backendCalls;
+    }
+
+    /**
+     * Keeps the audible emitters with the highest gains, loudest first, in a list as long as the voice pool.
+     */
+    private void selectLoudest(int[] emitters, float[] gain, int count) {
+        int capacity = loudestEmitter.length;
+        loudestCount = 0;
+        for (int i = 0; i < count; i++) {
+            float g = gain[i];
+            if (g <= 0f || loudestCount == capacity && g <= loudestGain[capacity - 1]) continue;
+            int slot = Math.min(loudestCount, capacity - 1);
+            while (slot > 0 && loudestGain[slot - 1] < g) {
+                loudestGain[slot] = loudestGain[slot - 1];
+                loudestEmitter[slot] = loudestEmitter[slot - 1];
+                slot--;
+            }
+            loudestGain[slot] = g;
+            loudestEmitter[slot] = emitters[i];
+            if (loudestCount < capacity) loudestCount++;
+        }
+    }
+
+    private void releaseQuietVoices() {
+        for (int voice = 0; voice < voiceEmitter.length; voice++) {
+            if (voiceEmitter[voice] != NO_EMITTER && indexOfLoudest(voiceEmitter[voice]) < 0) {
+                stop(voice);
+            }
+        }
+    }
+
+    private void play(int emitter, float volume) {
+        int free = -1;
+        for (int voice = 0; voice < voiceEmitter.length; voice++) {
+            if (voiceEmitter[voice] == emitter) {
+                if (Math.abs(voiceVolume[voice] - volume) > VOLUME_THRESHOLD) {
+                    sound.setVolume(voiceId[voice], volume);
+                    voiceVolume[voice] = volume;
+                    backendCalls++;
+                }
+                return;
+            }
+            if (free < 0 && voiceEmitter[voice] == NO_EMITTER) {
+                free = voice;
+            }
+        }
+        // Quiet voices were released first, so a new loud emitter always finds a free voice.
+        long id = sound.loop(volume);
+        backendCalls++;
+        if (id != -1) {
+            voiceEmitter[free] = emitter;
+            voiceId[free] = id;
+            voiceVolume[free] = volume;
+        }
+    }
+
+    private void stop(int voice) {
+        if (voiceEmitter[voice] == NO_EMITTER) return;
+        sound.stop(voiceId[voice]);
+        voiceEmitter[voice] = NO_EMITTER;
+        backendCalls++;
+    }
+
+    private int indexOfLoudest(int emitter) {
+        for (int i = 0; i < loudestCount; i++) {
+            if (loudestEmitter[i] == emitter) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,40 @@
+package com.mygdx.game.character;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygdx.game.entity.AnimationSystem;
+
+/**
+ * Walk and idle frames of the player character, picked by movement and facing direction from the
+ * same frame tables that animate the entities.
+ */
+public class CharacterAnimation {
+    private final TextureRegion[] sprites;
+    private final AnimationSystem animations;
+
+    /**
+     * @param sprites    the texture region for each sprite id in {@code SpriteIds}
+     * @param animations the clips the character's frames are looked up in
+     */
+    public CharacterAnimation(TextureRegion[] sprites, AnimationSystem animations) {
+        this.sprites = sprites;
+        this.animations = animations;
+    }
+
+    /**
+     * Retrieves the current frame of animation based on the character's movement and direction state.
+     * If the character is moving, it plays the relevant walking animation based on the direction
+     * the character is facing (left or right). If the character is stationary, it returns the
+     * appropriate idle texture for the direction the character is facing.
+     *
+     * @param moving     whether the character is walking
+     * @param facingLeft whether the character faces left
+     * @param stateTime  the time used to pick the walking frame, in seconds
+     * @return the {@code TextureRegion} representing the current animation frame. If moving, it is
+     *         a frame from the walking animation; if idle, it is a static frame.
+     */
+    public TextureRegion getFrame(boolean moving, boolean facingLeft, float stateTime) {
+        int clip = moving ? AnimationSystem.WALK : AnimationSystem.IDLE;
+        int direction = facingLeft ? AnimationSystem.LEFT : AnimationSystem.RIGHT;
+        return sprites[animations.getSprite(clip, direction, stateTime)];
+    }
+}
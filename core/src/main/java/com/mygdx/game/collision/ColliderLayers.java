@@ -0,0 +1,21 @@
+package com.mygdx.game.collision;
+
+/**
+ * The layers world colliders are registered under in the {@link SpatialHash}.
+ */
+public final class ColliderLayers {
+    public static final int PLAYER = 0;
+    public static final int GROUND = 1;
+    public static final int NPC = 2;
+    public static final int HAZARD = 3;
+
+    private ColliderLayers() {
+    }
+
+    /**
+     * @return the query mask that selects only the given layer
+     */
+    public static int mask(int layer) {
+        return 1 << layer;
+    }
+}
@@ -0,0 +1,271 @@
+package com.mygdx.game.collision;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.LongMap;
+
+/**
+ * Uniform-grid broad-phase for axis-aligned colliders.
+ * <p>
+ * Space is cut into square cells and every collider is listed in the cells its bounds touch, so
+ * overlap and radius queries only look at the colliders near the query instead of all of them.
+ * Each collider belongs to a layer (player, ground, NPC, ...) and carries the index of the entity
+ * it stands for; queries filter by a mask of layers.
+ * <p>
+ * Colliders are addressed by the handle {@link #add} returns. Handles are dense and reused after
+ * {@link #remove}, which keeps the per-collider arrays small.
+ */
+public class SpatialHash {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final float inverseCellSize;
+    private final LongMap<IntArray> cells = new LongMap<>();
+    private final IntArray freeHandles = new IntArray();
+
+    private int handleCount;
+    private float[] minX;
+    private float[] minY;
+    private float[] maxX;
+    private float[] maxY;
+    private int[] cellX0;
+    private int[] cellY0;
+    private int[] cellX1;
+    private int[] cellY1;
+    private int[] layer;
+    private int[] index;
+    private boolean[] live;
+    private int[] queryStamp;
+    private int stamp;
+
+    /**
+     * @param cellSize the side of a grid cell in world units; about the size of a typical collider
+     *                 or query works best
+     */
+    public SpatialHash(float cellSize) {
+        this.inverseCellSize = 1f / cellSize;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Registers a collider.
+     *
+     * @param layer the collider's layer, from 0 to 31
+     * @param index the index of the entity the collider belongs to, returned by {@link #getIndex}
+     * @return the handle of the new collider
+     */
+    public int add(int layer, int index, float x, float y, float width, float height) {
+        int handle;
+        if (freeHandles.size > 0) {
+            handle = freeHandles.pop();
+        } else {
+            if (handleCount == live.length) {
+                allocate(handleCount * 2);
+            }
+            handle = handleCount++;
+        }
+        this.layer[handle] = layer;
+        this.index[handle] = index;
+        this.live[handle] = true;
+        setBounds(handle, x, y, width, height);
+        cellX0[handle] = cell(minX[handle]);
+        cellY0[handle] = cell(minY[handle]);
+        cellX1[handle] = cell(maxX[handle]);
+        cellY1[handle] = cell(maxY[handle]);
+        insertIntoCells(handle);
+        return handle;
+    }
+
+    /**
+     * Moves or resizes a collider. Cells are only touched when the collider crosses a cell border.
+     */
+    public void update(int handle, float x, float y, float width, float height) {
+        setBounds(handle, x, y, width, height);
+        int x0 = cell(minX[handle]);
+        int y0 = cell(minY[handle]);
+        int x1 = cell(maxX[handle]);
+        int y1 = cell(maxY[handle]);
+        if (x0 != cellX0[handle] || y0 != cellY0[handle] || x1 != cellX1[handle] || y1 != cellY1[handle]) {
+            removeFromCells(handle);
+            cellX0[handle] = x0;
+            cellY0[handle] = y0;
+            cellX1[handle] = x1;
+            cellY1[handle] = y1;
+            insertIntoCells(handle);
+        }
+    }
+
+    /**
+     * Unregisters a collider; its handle may be returned again by a later {@link #add}.
+     */
+    public void remove(int handle) {
+        if (!live[handle]) return;
+        removeFromCells(handle);
+        live[handle] = false;
+        freeHandles.add(handle);
+    }
+
+    /**
+     * Changes the entity index a collider stands for, e.g. after the entity was moved to another slot.
+     */
+    public void setIndex(int handle, int index) {
+        this.index[handle] = index;
+    }
+
+    /**
+     * Finds the colliders whose bounds overlap the given rectangle, with the same strict edges
+     * as {@code Rectangle.overlaps}.
+     *
+     * @param layerMask the layers to search, one bit per layer
+     * @param out       cleared and filled with the handles found, each once
+     * @return the number of colliders found
+     */
+    public int queryRect(float x, float y, float width, float height, int layerMask, IntArray out) {
+        out.clear();
+        int stamp = nextStamp();
+        float right = x + width;
+        float top = y + height;
+        for (int cy = cell(y), cy1 = cell(top); cy <= cy1; cy++) {
+            for (int cx = cell(x), cx1 = cell(right); cx <= cx1; cx++) {
+                IntArray bucket = cells.get(key(cx, cy));
+                if (bucket == null) continue;
+                int[] handles = bucket.items;
+                for (int i = 0, n = bucket.size; i < n; i++) {
+                    int handle = handles[i];
+                    if (queryStamp[handle] == stamp) continue;
+                    queryStamp[handle] = stamp;
+                    if ((layerMask & (1 << layer[handle])) != 0
+                        && minX[handle] < right && maxX[handle] > x && minY[handle] < top && maxY[handle] > y) {
+                        out.add(handle);
+                    }
+                }
+            }
+        }
+        return out.size;
+    }
+
+    /**
+     * Finds the colliders whose bounds come closer than {@code radius} to the given point.
+     *
+     * @param layerMask the layers to search, one bit per layer
+     * @param out       cleared and filled with the handles found, each once
+     * @return the number of colliders found
+     */
+    public int queryRadius(float centerX, float centerY, float radius, int layerMask, IntArray out) {
+        out.clear();
+        int stamp = nextStamp();
+        float radius2 = radius * radius;
+        for (int cy = cell(centerY - radius), cy1 = cell(centerY + radius); cy <= cy1; cy++) {
+            for (int cx = cell(centerX - radius), cx1 = cell(centerX + radius); cx <= cx1; cx++) {
+                IntArray bucket = cells.get(key(cx, cy));
+                if (bucket == null) continue;
+                int[] handles = bucket.items;
+                for (int i = 0, n = bucket.size; i < n; i++) {
+                    int handle = handles[i];
+                    if (queryStamp[handle] == stamp) continue;
+                    queryStamp[handle] = stamp;
+                    if ((layerMask & (1 << layer[handle])) != 0 && distance2(handle, centerX, centerY) < radius2) {
+                        out.add(handle);
+                    }
+                }
+            }
+        }
+        return out.size;
+    }
+
+    /**
+     * @return the squared distance from the point to the closest point of the collider's bounds
+     */
+    public float distance2(int handle, float x, float y) {
+        float dx = Math.max(Math.max(minX[handle] - x, 0f), x - maxX[handle]);
+        float dy = Math.max(Math.max(minY[handle] - y, 0f), y - maxY[handle]);
+        return dx * dx + dy * dy;
+    }
+
+    public int getLayer(int handle) {
+        return layer[handle];
+    }
+
+    public int getIndex(int handle) {
+        return index[handle];
+    }
+
+    /**
+     * @return the number of live colliders
+     */
+    public int size() {
+        return handleCount - freeHandles.size;
+    }
+
+    private void setBounds(int handle, float x, float y, float width, float height) {
+        minX[handle] = x;
+        minY[handle] = y;
+        maxX[handle] = x + width;
+        maxY[handle] = y + height;
+    }
+
+    private void insertIntoCells(int handle) {
+        for (int cy = cellY0[handle]; cy <= cellY1[handle]; cy++) {
+            for (int cx = cellX0[handle]; cx <= cellX1[handle]; cx++) {
+                long key = key(cx, cy);
+                IntArray bucket = cells.get(key);
+                if (bucket == null) {
+                    bucket = new IntArray();
+                    cells.put(key, bucket);
+                }
+                bucket.add(handle);
+            }
+        }
+    }
+
+    private void removeFromCells(int handle) {
+        for (int cy = cellY0[handle]; cy <= cellY1[handle]; cy++) {
+            for (int cx = cellX0[handle]; cx <= cellX1[handle]; cx++) {
+                IntArray bucket = cells.get(key(cx, cy));
+                if (bucket != null) {
+                    bucket.removeValue(handle);
+                }
+            }
+        }
+    }
+
+    private int nextStamp() {
+        if (++stamp == 0) {
+            // The counter wrapped around; forget the old stamps so none of them match by accident.
+            Arrays.fill(queryStamp, 0);
+            stamp = 1;
+        }
+        return stamp;
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    private static long key(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+
+    private void allocate(int capacity) {
+        minX = copy(minX, capacity);
+        minY = copy(minY, capacity);
+        maxX = copy(maxX, capacity);
+        maxY = copy(maxY, capacity);
+        cellX0 = copy(cellX0, capacity);
+        cellY0 = copy(cellY0, capacity);
+        cellX1 = copy(cellX1, capacity);
+        cellY1 = copy(cellY1, capacity);
+        layer = copy(layer, capacity);
+        index = copy(index, capacity);
+        queryStamp = copy(queryStamp, capacity);
+        live = live == null ? new boolean[capacity] : Arrays.copyOf(live, capacity);
+    }
+
+    private static float[] copy(float[] array, int capacity) {
+        return array == null ? new float[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static int[] copy(int[] array, int capacity) {
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+}
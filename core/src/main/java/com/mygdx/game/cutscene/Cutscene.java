@@ -5,125 +5,113 @@ import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 
+/**
+ * The intro cutscene: the camera zooms in on the character, the character walks up to the NPC,
+ * and the camera zooms back out.
+ * <p>
+ * The whole scene is laid out as a {@link Timeline} when it is created, so playing it is a seek
+ * to the current time and the result does not depend on the frame rate. It can also be scrubbed
+ * with {@link #seek(float)} or skipped with {@link #skip()}.
+ */
 public class Cutscene {
-    private enum State {
-        ZOOMING_IN,
-        WAIT_BEFORE_MOVE,
-        MOVING_TO_NPC,
-        WAIT_AFTER_MOVE,
-        ZOOMING_OUT,
-        FINISHED
-    }
-
-    private State state = State.ZOOMING_IN;
+    private static final int CAMERA_X = 0;
+    private static final int CAMERA_Y = 1;
+    private static final int CAMERA_ZOOM = 2;
+    private static final int CHARACTER_X = 3;
+    private static final int CHARACTER_MOVING = 4;
+    private static final int CHARACTER_FACING_LEFT = 5;
+    private static final int CHANNEL_COUNT = 6;
 
     private final Vector2 characterPosition;
-    private final Rectangle npcCollider;
     private final OrthographicCamera camera;
-
-    private final Vector2 originalCameraPosition;
-    private final float originalZoom;
+    private final Timeline timeline;
+    private final float[] channels = new float[CHANNEL_COUNT];
+    private final float duration;
 
     private static final float ZOOM_SPEED = 0.5f;
     private static final float MOVE_SPEED = 100f;
     private static final float TARGET_ZOOM = 0.5f;
+    private static final float WAIT_DURATION = 1f;
+    private static final float ZOOM_OUT_DURATION = 2f;
+    private static final float STOP_DISTANCE = 60f;
+    private static final float FOCUS_OFFSET_X = 32f;
+    private static final float FOCUS_OFFSET_Y = 64f;
     private static final float WORLD_WIDTH = 1280;
     private static final float WORLD_HEIGHT = 720;
 
-    private boolean facingLeft = false;
-    private boolean moving = false;
-    private boolean isFinished = false;
-    private float waitTimer = 0f;
+    private float time = 0f;
 
     public Cutscene(Vector2 characterPosition, Rectangle npcCollider, OrthographicCamera camera) {
         this.characterPosition = characterPosition;
-        this.npcCollider = npcCollider;
         this.camera = camera;
 
-        this.originalCameraPosition = new Vector2(camera.position.x, camera.position.y);
-        this.originalZoom = camera.zoom;
+        float startX = characterPosition.x;
+        float endX = Math.max(startX, npcCollider.x - STOP_DISTANCE);
+        float originalX = camera.position.x;
+        float originalY = camera.position.y;
+        float originalZoom = camera.zoom;
+        float focusY = characterPosition.y + FOCUS_OFFSET_Y;
+
+        float zoomedIn = Math.max(0f, originalZoom - TARGET_ZOOM) / ZOOM_SPEED;
+        float moveStart = zoomedIn + WAIT_DURATION;
+        float moveEnd = moveStart + (endX - startX) / MOVE_SPEED;
+        float zoomOutStart = moveEnd + WAIT_DURATION;
+        float zoomOutEnd = zoomOutStart + ZOOM_OUT_DURATION;
+
+        timeline = new Timeline(CHANNEL_COUNT);
+        timeline.track(CAMERA_X)
+            .key(0f, originalX, Easing.LINEAR)
+            .key(zoomedIn, startX + FOCUS_OFFSET_X, Easing.EASE_OUT)
+            .hold(moveStart)
+            .key(moveEnd, endX + FOCUS_OFFSET_X, Easing.LINEAR)
+            .hold(zoomOutStart)
+            .key(zoomOutEnd, originalX, Easing.EASE_OUT);
+        timeline.track(CAMERA_Y)
+            .key(0f, originalY, Easing.LINEAR)
+            .key(zoomedIn, focusY, Easing.EASE_OUT)
+            .hold(zoomOutStart)
+            .key(zoomOutEnd, originalY, Easing.EASE_OUT);
+        timeline.track(CAMERA_ZOOM)
+            .key(0f, originalZoom, Easing.LINEAR)
+            .key(zoomedIn, Math.min(originalZoom, TARGET_ZOOM), Easing.LINEAR)
+            .hold(zoomOutStart)
+            .key(zoomOutEnd, originalZoom, Easing.EASE_OUT);
+        timeline.track(CHARACTER_X)
+            .key(moveStart, startX, Easing.LINEAR)
+            .key(moveEnd, endX, Easing.LINEAR);
+        timeline.track(CHARACTER_MOVING)
+            .key(0f, 0f, Easing.STEP)
+            .key(moveStart, 1f, Easing.STEP)
+            .key(moveEnd, 0f, Easing.STEP);
+        timeline.track(CHARACTER_FACING_LEFT)
+            .key(0f, 0f, Easing.STEP);
+        duration = timeline.getDuration();
     }
 
     public void update(float delta) {
-        switch (state) {
-            case ZOOMING_IN:
-                zoomIn(delta);
-                break;
-
-            case WAIT_BEFORE_MOVE:
-                waitTimer -= delta;
-                if (waitTimer <= 0) {
-                    state = State.MOVING_TO_NPC;
-                }
-                break;
-
-            case MOVING_TO_NPC:
-                moveCharacter(delta);
-                break;
-
-            case WAIT_AFTER_MOVE:
-                waitTimer -= delta;
-                if (waitTimer <= 0) {
-                    state = State.ZOOMING_OUT;
-                }
-                break;
-
-            case ZOOMING_OUT:
-                returnCameraToOriginal(delta);
-                break;
-
-            case FINISHED:
-                isFinished = true;
-                break;
-        }
+        seek(time + delta);
+    }
 
+    /**
+     * Jumps to the given time of the cutscene and applies the camera and character state at
+     * that time, whatever the time was before.
+     */
+    public void seek(float time) {
+        this.time = MathUtils.clamp(time, 0f, duration);
+        timeline.evaluate(this.time, channels);
+        characterPosition.x = channels[CHARACTER_X];
+        camera.position.x = channels[CAMERA_X];
+        camera.position.y = channels[CAMERA_Y];
+        camera.zoom = channels[CAMERA_ZOOM];
         clampCameraToBounds();
         camera.update();
     }
 
-    private void zoomIn(float delta) {
-        if (camera.zoom > TARGET_ZOOM) {
-            camera.zoom -= ZOOM_SPEED * delta;
-            camera.zoom = MathUtils.clamp(camera.zoom, TARGET_ZOOM, originalZoom);
-            followCharacter(delta);
-        } else {
-            waitTimer = 1f;
-            state = State.WAIT_BEFORE_MOVE;
-        }
-    }
-
-    private void moveCharacter(float delta) {
-        if (characterPosition.x < npcCollider.x - 60f) {
-            characterPosition.x += MOVE_SPEED * delta;
-            facingLeft = false;
-            moving = true;
-            followCharacter(delta);
-        } else {
-            moving = false;
-            waitTimer = 1f;
-            state = State.WAIT_AFTER_MOVE;
-        }
-    }
-
-    private void returnCameraToOriginal(float delta) {
-        camera.position.x += (originalCameraPosition.x - camera.position.x) * 2f * delta;
-        camera.position.y += (originalCameraPosition.y - camera.position.y) * 2f * delta;
-        camera.zoom += (originalZoom - camera.zoom) * 2f * delta;
-
-        if (Math.abs(camera.position.x - originalCameraPosition.x) < 0.5f &&
-            Math.abs(camera.position.y - originalCameraPosition.y) < 0.5f &&
-            Math.abs(camera.zoom - originalZoom) < 0.01f) {
-            camera.position.set(originalCameraPosition.x, originalCameraPosition.y, 0);
-            camera.zoom = originalZoom;
-            state = State.FINISHED;
-        }
-    }
-
-    private void followCharacter(float delta) {
-        float targetX = characterPosition.x + 32;
-        float targetY = characterPosition.y + 64;
-        camera.position.x += (targetX - camera.position.x) * 2f * delta;
-        camera.position.y += (targetY - camera.position.y) * 2f * delta;
+    /**
+     * Jumps to the end of the cutscene.
+     */
+    public void skip() {
+        seek(duration);
     }
 
     private void clampCameraToBounds() {
@@ -137,14 +125,22 @@ public class Cutscene {
     }
 
     public boolean isFinished() {
-        return isFinished;
+        return time >= duration;
     }
 
     public boolean isMoving() {
-        return moving;
+        return channels[CHARACTER_MOVING] != 0f;
     }
 
     public boolean isFacingLeft() {
-        return facingLeft;
+        return channels[CHARACTER_FACING_LEFT] != 0f;
+    }
+
+    public float getTime() {
+        return time;
+    }
+
+    public float getDuration() {
+        return duration;
     }
 }
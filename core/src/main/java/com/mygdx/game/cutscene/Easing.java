@@ -0,0 +1,40 @@
+package com.mygdx.game.cutscene;
+
+import com.badlogic.gdx.math.Interpolation;
+
+/**
+ * Easing curves for timeline segments, sampled into a lookup table once so evaluating a curve
+ * is a table read and a lerp, whatever the curve's formula.
+ */
+public enum Easing {
+    /** Holds the previous key's value until the next key. */
+    STEP(null),
+    LINEAR(Interpolation.linear),
+    SMOOTH(Interpolation.smooth),
+    /** Fast at first, then settling; close to the old frame-by-frame "move a fraction of the rest" follow. */
+    EASE_OUT(Interpolation.exp5Out);
+
+    private static final int SAMPLES = 256;
+
+    private final float[] table = new float[SAMPLES + 1];
+
+    Easing(Interpolation curve) {
+        for (int i = 0; i < SAMPLES; i++) {
+            table[i] = curve == null ? 0f : curve.apply(i / (float) SAMPLES);
+        }
+        table[SAMPLES] = curve == null ? 0f : 1f;
+    }
+
+    /**
+     * @param alpha the progress through the segment, from 0 to 1
+     * @return the eased progress, from 0 to 1
+     */
+    public float apply(float alpha) {
+        float position = alpha * SAMPLES;
+        int sample = (int) position;
+        if (sample >= SAMPLES) return 1f;
+        if (sample < 0) return 0f;
+        float start = table[sample];
+        return start + (table[sample + 1] - start) * (position - sample);
+    }
+}
@@ -0,0 +1,77 @@
+package com.mygdx.game.cutscene;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * One animated value of a {@link Timeline}, as a list of keyframes sorted by time.
+ * <p>
+ * Before the first key the track holds the first value, after the last key the last value, and
+ * in between it eases from one key to the next with the easing of the later key.
+ */
+public class KeyframeTrack {
+    private final FloatArray times = new FloatArray();
+    private final FloatArray values = new FloatArray();
+    // Typed, so evaluating reads the easings straight from the backing array.
+    private final Array<Easing> easings = new Array<>(Easing[]::new);
+
+    /**
+     * Adds a keyframe after the existing ones.
+     *
+     * @param easing how the track eases from the previous key to this one
+     * @return this track, for chaining
+     * @throws IllegalArgumentException if the key comes before the previous key
+     */
+    public KeyframeTrack key(float time, float value, Easing easing) {
+        if (times.size > 0 && time < times.peek()) {
+            throw new IllegalArgumentException("Keyframe at " + time + " comes before the previous one at " + times.peek());
+        }
+        times.add(time);
+        values.add(value);
+        easings.add(easing);
+        return this;
+    }
+
+    /**
+     * Adds a keyframe that keeps the previous key's value until the given time.
+     */
+    public KeyframeTrack hold(float time) {
+        return key(time, values.peek(), Easing.STEP);
+    }
+
+    /**
+     * @return the value at the given time, found with a binary search over the keys
+     */
+    public float evaluate(float time) {
+        float[] times = this.times.items;
+        int last = this.times.size - 1;
+        if (time <= times[0]) return values.items[0];
+        if (time >= times[last]) return values.items[last];
+
+        // Find the first key after the given time; the segment ends there.
+        int low = 1;
+        int high = last;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (times[middle] <= time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        float start = values.items[low - 1];
+        float alpha = (time - times[low - 1]) / (times[low] - times[low - 1]);
+        return start + (values.items[low] - start) * easings.items[low].apply(alpha);
+    }
+
+    public boolean isEmpty() {
+        return times.size == 0;
+    }
+
+    /**
+     * @return the time of the last key, or 0 for an empty track
+     */
+    public float getDuration() {
+        return times.size == 0 ? 0f : times.peek();
+    }
+}
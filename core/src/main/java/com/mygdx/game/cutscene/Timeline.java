@@ -0,0 +1,52 @@
+package com.mygdx.game.cutscene;
+
+/**
+ * A set of keyframe tracks played together, one per numbered channel.
+ * <p>
+ * The channels mean whatever the owner of the timeline decides, e.g. camera x, camera zoom, or the
+ * position of one actor among many. {@link #evaluate} writes every channel at a given time into a
+ * plain array, so a timeline can be played, scrubbed or jumped to its end the same way, and the
+ * caller applies the values without caring how they were animated.
+ */
+public class Timeline {
+    private final KeyframeTrack[] tracks;
+
+    public Timeline(int channelCount) {
+        tracks = new KeyframeTrack[channelCount];
+        for (int i = 0; i < channelCount; i++) {
+            tracks[i] = new KeyframeTrack();
+        }
+    }
+
+    public KeyframeTrack track(int channel) {
+        return tracks[channel];
+    }
+
+    /**
+     * Writes the value of every channel at the given time. Channels whose track has no keys keep
+     * their value in {@code out}.
+     */
+    public void evaluate(float time, float[] out) {
+        for (int i = 0; i < tracks.length; i++) {
+            KeyframeTrack track = tracks[i];
+            if (!track.isEmpty()) {
+                out[i] = track.evaluate(time);
+            }
+        }
+    }
+
+    public int getChannelCount() {
+        return tracks.length;
+    }
+
+    /**
+     * @return the time of the last key on any track
+     */
+    public float getDuration() {
+        float duration = 0f;
+        for (KeyframeTrack track : tracks) {
+            duration = Math.max(duration, track.getDuration());
+        }
+        return duration;
+    }
+}
@@ -1,117 +1,189 @@
 package com.mygdx.game.dialogue;
 
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.graphics.GL20;
-
-public class DialogueBox {
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout.GlyphRun;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.game.graphics.FontService;
+import com.mygdx.game.graphics.RenderLayers;
+import com.mygdx.game.graphics.RenderQueue;
+
+/**
+ * Draws the current dialogue line in a box with the speaker's face, typing it out as the
+ * typewriter advances.
+ * <p>
+ * Everything is queued in screen coordinates, 0 to 1280 across and 0 to 720 up, on the dialogue
+ * layers, which are drawn with a screen projection; the box stays in place wherever the camera
+ * follows the character.
+ */
+public class DialogueBox implements RenderQueue.Drawable {
+    private final FontService fonts;
     private final BitmapFont font;
-    private final ShapeRenderer shapeRenderer;
+    private final TextureRegion backgroundRegion;
     private static final float X = 0;
     private static final float Y = 350;
     private static final float WIDTH = 1080;
-    private final float height;
-    private boolean visible = false;
-    private DialogueLine currentLine;
-
-    private boolean typing = false;
-    private StringBuilder displayedText = new StringBuilder();
-    private float typeTimer = 0;
-    private int charIndex = 0;
-    private static final float CHAR_INTERVAL = 0.03f; // seconds per character
+    private static final float HEIGHT = 100; // increased to make space for face
 
-    private Texture faceTexture;
+    private TextureRegion faceRegion;
     private static final float FACE_SIZE = 512;
     private static final float FACE_PADDING = -100;
+    private static final float BACKGROUND_COLOR = new Color(0, 0, 0, 0.8f).toFloatBits();
+
+    private static final float TEXT_X = X + FACE_SIZE + 2 * FACE_PADDING;
+    private static final float TEXT_Y = Y + 230;
+    private static final float TEXT_WIDTH = WIDTH - TEXT_X;
+    private static final float TEXT_SIZE = 15f;
+    private static final int LINES_PER_PAGE = 4;
+
+    // The current line is laid out and word-wrapped once; each frame only picks how many of its glyphs to draw.
+    private final GlyphLayout layout = new GlyphLayout();
+    private final BitmapFontCache textCache;
+    private final IntArray glyphsBeforeChar = new IntArray();
+    private final IntArray lineStartGlyphs = new IntArray();
+    private DialogueLine layoutLine;
+    private int prefixLength;
+    private int glyphCount;
+    private float lineDown;
+    private int page;
+    private int visibleGlyphs;
+
+    /**
+     * @param backgroundRegion a plain white region from the game atlas; it is tinted and stretched
+     *                         to draw the box background in the same batch as the sprites
+     * @param fonts            the shared font service; the text is queued in the dialogue text
+     *                         layer, which must draw with the service's shader
+     */
+    public DialogueBox(TextureRegion backgroundRegion, FontService fonts) {
+        this.backgroundRegion = backgroundRegion;
+        this.fonts = fonts;
+        font = fonts.getFont();
+        textCache = font.newFontCache();
+    }
 
-    public DialogueBox() {
-        font = new BitmapFont();
-        shapeRenderer = new ShapeRenderer();
-        height = 100; // increased to make space for face
+    /**
+     * @return the given rectangle, set to the box's background in screen coordinates
+     */
+    public static Rectangle getBounds(Rectangle out) {
+        return out.set(X, Y, WIDTH, HEIGHT);
     }
 
-    public void startTyping(DialogueLine line, Texture faceTexture) {
-        this.currentLine = line;
-        this.faceTexture = faceTexture;
-        this.visible = true;
-        this.typing = true;
-        this.displayedText = new StringBuilder();
-        this.typeTimer = 0;
-        this.charIndex = 0;
+    public void setFaceRegion(TextureRegion faceRegion) {
+        this.faceRegion = faceRegion;
     }
 
-    public void skipTyping() {
-        if (currentLine != null) {
-            displayedText.append(currentLine.text());
-            typing = false;
+    /**
+     * Queues the box and face on the dialogue box layer and the typed text over them, in the
+     * dialogue text layer.
+     */
+    public void submit(RenderQueue queue, DialogueTypewriter typewriter) {
+        DialogueLine currentLine = typewriter.getCurrentLine();
+        if (!typewriter.isVisible() || currentLine == null) return;
+
+        if (currentLine != layoutLine) {
+            layOut(currentLine);
         }
-    }
 
-    public boolean isTyping() {
-        return typing;
-    }
+        queue.draw(RenderLayers.DIALOGUE_BOX, RenderQueue.BLEND_ALPHA, backgroundRegion, X, Y, WIDTH, HEIGHT,
+            BACKGROUND_COLOR);
 
-    public void hide() {
-        this.visible = false;
-        this.typing = false;
-        this.displayedText = new StringBuilder();
-        this.charIndex = 0;
-        this.faceTexture = null;
-    }
+        if (faceRegion != null) {
+            queue.draw(RenderLayers.DIALOGUE_BOX, RenderQueue.BLEND_ALPHA, faceRegion, X + FACE_PADDING, Y, FACE_SIZE,
+                FACE_SIZE);
+        }
 
-    public boolean isVisible() {
-        return visible;
+        visibleGlyphs = glyphsBeforeChar.get(prefixLength + typewriter.getVisibleCharCount());
+        if (visibleGlyphs > 0) {
+            queue.draw(RenderLayers.DIALOGUE_TEXT, RenderQueue.BLEND_ALPHA, font.getRegion().getTexture(), this);
+        }
     }
 
-    public void render(SpriteBatch batch) {
-        if (!visible || currentLine == null) return;
+    /**
+     * Draws the typed text; called by the render queue the box was submitted to.
+     */
+    @Override
+    public void draw(Batch batch) {
+        drawVisibleGlyphs(batch, visibleGlyphs);
+    }
 
-        float delta = Gdx.graphics.getDeltaTime();
-        if (typing) {
-            typeTimer += delta;
-            while (typeTimer >= CHAR_INTERVAL && charIndex < currentLine.text().length()) {
-                displayedText.append(currentLine.text().charAt(charIndex));
-                charIndex++;
-                typeTimer -= CHAR_INTERVAL;
+    /**
+     * Lays out and word-wraps the speaker and text of a line, then records which glyph each
+     * character and each wrapped line starts at, so typing only has to move a glyph cursor.
+     */
+    private void layOut(DialogueLine line) {
+        String text = line.speaker() + ": " + line.text();
+        prefixLength = text.length() - line.text().length();
+        // The cache keeps the glyph vertices at the size they were laid out at, whatever the font's size when drawn.
+        fonts.useSize(TEXT_SIZE);
+        layout.setText(font, text, Color.WHITE, TEXT_WIDTH, Align.left, true);
+        textCache.setText(layout, TEXT_X, TEXT_Y);
+        lineDown = font.getData().down;
+        layoutLine = line;
+        page = 0;
+
+        // Wrapping drops whitespace at the line breaks, so glyphs and characters are matched by id.
+        glyphsBeforeChar.clear();
+        glyphsBeforeChar.add(0);
+        lineStartGlyphs.clear();
+        glyphCount = 0;
+        int charIndex = 0;
+        float lineY = Float.NaN;
+        for (int i = 0; i < layout.runs.size; i++) {
+            GlyphRun run = layout.runs.get(i);
+            if (run.y != lineY) {
+                lineStartGlyphs.add(glyphCount);
+                lineY = run.y;
             }
-            if (charIndex >= currentLine.text().length()) {
-                typing = false;
+            for (int ii = 0; ii < run.glyphs.size; ii++) {
+                int match = text.indexOf(run.glyphs.get(ii).id, charIndex);
+                if (match < 0) {
+                    // E.g. the font's substitute for a character it lacks: it is counted without using up
+                    // a character, so it shows once the character it stands in for is typed.
+                    glyphCount++;
+                    continue;
+                }
+                while (charIndex < match) {
+                    charIndex++;
+                    glyphsBeforeChar.add(glyphCount);
+                }
+                glyphCount++;
+                charIndex++;
+                glyphsBeforeChar.add(glyphCount);
             }
         }
-
-        // End batch before using ShapeRenderer
-        batch.end();
-
-        Gdx.gl.glEnable(GL20.GL_BLEND);
-        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
-
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(0, 0, 0, 0.8f);
-        shapeRenderer.rect(X, Y, WIDTH, height);
-        shapeRenderer.end();
-
-        Gdx.gl.glDisable(GL20.GL_BLEND);
-
-        // Resume batch to draw text and face
-        batch.begin();
-        if (faceTexture != null) {
-            batch.draw(faceTexture, X + FACE_PADDING, Y, FACE_SIZE, FACE_SIZE);
+        while (charIndex < text.length()) {
+            charIndex++;
+            glyphsBeforeChar.add(glyphCount);
         }
-
-        float textX = X + FACE_SIZE + 2 * FACE_PADDING;
-        font.setColor(Color.WHITE);
-        font.draw(batch, currentLine.speaker() + ": " + displayedText.toString(), textX, Y + 230);
+        // A fully typed line always shows every glyph, even if one could not be matched to its character.
+        glyphsBeforeChar.set(text.length(), glyphCount);
     }
 
-    public void dispose() {
-        font.dispose();
-        shapeRenderer.dispose();
-        if (faceTexture != null) {
-            faceTexture.dispose();
+    /**
+     * Draws the page of wrapped lines that the typing cursor is on, up to the cursor.
+     */
+    private void drawVisibleGlyphs(Batch batch, int visibleGlyphs) {
+        int cursorLine = 0;
+        while (cursorLine + 1 < lineStartGlyphs.size && lineStartGlyphs.get(cursorLine + 1) < visibleGlyphs) {
+            cursorLine++;
         }
+        int cursorPage = cursorLine / LINES_PER_PAGE;
+        if (cursorPage != page) {
+            // Move the later page up into the box; this only touches the cached vertices on a page turn.
+            page = cursorPage;
+            textCache.setPosition(0, -page * LINES_PER_PAGE * lineDown);
+        }
+
+        int firstLine = page * LINES_PER_PAGE;
+        int pageStart = lineStartGlyphs.get(firstLine);
+        int pageEnd = firstLine + LINES_PER_PAGE < lineStartGlyphs.size
+            ? lineStartGlyphs.get(firstLine + LINES_PER_PAGE) : glyphCount;
+        textCache.draw(batch, pageStart, Math.min(visibleGlyphs, pageEnd));
     }
 }
@@ -0,0 +1,247 @@
+package com.mygdx.game.dialogue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Compiles dialogue scripts into the binary format read by {@link DialogueScript}.
+ * <p>
+ * A script is a text file with one statement per line:
+ * <pre>
+ * # a comment
+ * == greeting                  starts a section; other lines jump to it by its label
+ * NPC: Hello there!            a line said by a speaker
+ * * Who are you? -&gt; who        a choice on the line above, leading to a label
+ * -&gt; farewell                  continues at a label after the line above; "-&gt; END" ends the conversation
+ * </pre>
+ * A line without a jump is followed by the next line of its section; the last line of a
+ * section ends the conversation.
+ * <p>
+ * In the output every string, speaker names and labels included, is stored once in a string pool,
+ * and speakers, lines and choices refer to each other by index.
+ */
+public final class DialogueCompiler {
+    public static final String SOURCE_EXTENSION = ".dialogue";
+    public static final String COMPILED_EXTENSION = ".dlg";
+
+    private static final String END_LABEL = "END";
+
+    private final String sourceName;
+    private final Array<String> strings = new Array<>();
+    private final ObjectIntMap<String> stringIds = new ObjectIntMap<>();
+    private final IntArray speakers = new IntArray();
+    private final ObjectIntMap<String> speakerIds = new ObjectIntMap<>();
+    private final Array<String> labelNames = new Array<>();
+    private final IntArray labelLines = new IntArray();
+    private final ObjectIntMap<String> labels = new ObjectIntMap<>();
+
+    private final IntArray lineSpeaker = new IntArray();
+    private final IntArray lineText = new IntArray();
+    private final Array<String> lineJump = new Array<>();
+    private final IntArray lineFirstChoice = new IntArray();
+    private final IntArray lineChoiceCount = new IntArray();
+    private final IntArray choiceText = new IntArray();
+    private final Array<String> choiceTarget = new Array<>();
+    private final IntArray sourceLineOfLine = new IntArray();
+    private final IntArray sourceLineOfChoice = new IntArray();
+
+    private DialogueCompiler(String sourceName) {
+        this.sourceName = sourceName;
+    }
+
+    /**
+     * Compiles every {@value #SOURCE_EXTENSION} script in a folder.
+     *
+     * @param args the source folder and the output folder
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: DialogueCompiler <source folder> <output folder>");
+            System.exit(1);
+        }
+        Path sourceFolder = Paths.get(args[0]);
+        Path outputFolder = Paths.get(args[1]);
+        Files.createDirectories(outputFolder);
+        try (DirectoryStream<Path> sources = Files.newDirectoryStream(sourceFolder, "*" + SOURCE_EXTENSION)) {
+            for (Path source : sources) {
+                String fileName = source.getFileName().toString();
+                String name = fileName.substring(0, fileName.length() - SOURCE_EXTENSION.length());
+                byte[] compiled = compile(Files.readString(source, StandardCharsets.UTF_8), fileName);
+                Files.write(outputFolder.resolve(name + COMPILED_EXTENSION), compiled);
+                System.out.println("Compiled " + fileName + " (" + compiled.length + " bytes)");
+            }
+        }
+    }
+
+    /**
+     * Compiles one script.
+     *
+     * @param sourceName the name used in error messages
+     * @throws IllegalArgumentException if the script has a syntax error or jumps to a missing label
+     */
+    public static byte[] compile(String source, String sourceName) {
+        DialogueCompiler compiler = new DialogueCompiler(sourceName);
+        compiler.parse(source);
+        return compiler.write();
+    }
+
+    private void parse(String source) {
+        String[] sourceLines = source.split("\r?\n");
+        boolean sectionOpen = false;
+        boolean jumped = false;
+        for (int i = 0; i < sourceLines.length; i++) {
+            int sourceLine = i + 1;
+            String statement = sourceLines[i].trim();
+            if (statement.isEmpty() || statement.startsWith("#")) continue;
+
+            if (statement.startsWith("==")) {
+                String label = statement.substring(2).trim();
+                if (label.isEmpty() || label.equals(END_LABEL)) throw error(sourceLine, "invalid label '" + label + "'");
+                if (labels.containsKey(label)) throw error(sourceLine, "duplicate label '" + label + "'");
+                labels.put(label, labelNames.size);
+                labelNames.add(label);
+                labelLines.add(lineSpeaker.size);
+                sectionOpen = false;
+            } else if (statement.startsWith("->")) {
+                if (!sectionOpen || jumped) throw error(sourceLine, "jump without a line to jump from");
+                lineJump.set(lineSpeaker.size - 1, statement.substring(2).trim());
+                jumped = true;
+            } else if (statement.startsWith("*")) {
+                if (!sectionOpen || jumped) {
+                    throw error(sourceLine, "choice must directly follow its line");
+                }
+                int arrow = statement.lastIndexOf("->");
+                if (arrow < 0) throw error(sourceLine, "choice without '-> label'");
+                int line = lineSpeaker.size - 1;
+                if (lineChoiceCount.get(line) == 0) {
+                    lineFirstChoice.set(line, choiceText.size);
+                }
+                lineChoiceCount.incr(line, 1);
+                choiceText.add(intern(statement.substring(1, arrow).trim()));
+                choiceTarget.add(statement.substring(arrow + 2).trim());
+                sourceLineOfChoice.add(sourceLine);
+            } else {
+                int colon = statement.indexOf(':');
+                if (colon <= 0) throw error(sourceLine, "expected 'Speaker: text'");
+                if (labelNames.size == 0) throw error(sourceLine, "line before the first '== label'");
+                if (sectionOpen && !jumped) {
+                    // Fall through to this line from the previous line of the section.
+                    lineJump.set(lineSpeaker.size - 1, null);
+                }
+                addLine(speaker(statement.substring(0, colon).trim()), intern(statement.substring(colon + 1).trim()),
+                    sourceLine);
+                sectionOpen = true;
+                jumped = false;
+            }
+        }
+    }
+
+    private void addLine(int speaker, int text, int sourceLine) {
+        lineSpeaker.add(speaker);
+        lineText.add(text);
+        lineJump.add(END_LABEL);
+        lineFirstChoice.add(0);
+        lineChoiceCount.add(0);
+        sourceLineOfLine.add(sourceLine);
+    }
+
+    private byte[] write() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            // Sorted by name, so the script can binary search labels without decoding them all.
+            Array<String> sortedLabels = new Array<>(labelNames);
+            sortedLabels.sort();
+            IntArray labelNameIds = new IntArray(labelNames.size);
+            for (String label : sortedLabels) {
+                labelNameIds.add(intern(label));
+            }
+            byte[][] encoded = new byte[strings.size][];
+            int stringDataLength = 0;
+            for (int i = 0; i < strings.size; i++) {
+                encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+                stringDataLength += encoded[i].length;
+            }
+
+            out.writeInt(DialogueScript.MAGIC);
+            out.writeInt(speakers.size);
+            out.writeInt(labelNames.size);
+            out.writeInt(lineSpeaker.size);
+            out.writeInt(choiceText.size);
+            out.writeInt(strings.size);
+            out.writeInt(stringDataLength);
+            for (int i = 0; i < speakers.size; i++) {
+                out.writeInt(speakers.get(i));
+            }
+            for (int i = 0; i < sortedLabels.size; i++) {
+                out.writeInt(labelNameIds.get(i));
+                out.writeInt(resolve(sortedLabels.get(i), 0));
+            }
+            for (int i = 0; i < lineSpeaker.size; i++) {
+                String jump = lineJump.get(i);
+                out.writeInt(lineSpeaker.get(i));
+                out.writeInt(lineText.get(i));
+                out.writeInt(jump == null ? i + 1 : resolve(jump, sourceLineOfLine.get(i)));
+                out.writeInt(lineFirstChoice.get(i));
+                out.writeInt(lineChoiceCount.get(i));
+            }
+            for (int i = 0; i < choiceText.size; i++) {
+                out.writeInt(choiceText.get(i));
+                out.writeInt(resolve(choiceTarget.get(i), sourceLineOfChoice.get(i)));
+            }
+            int offset = 0;
+            for (byte[] string : encoded) {
+                out.writeInt(offset);
+                offset += string.length;
+            }
+            out.writeInt(offset);
+            for (byte[] string : encoded) {
+                out.write(string);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Writing to memory does not fail.
+        }
+        return bytes.toByteArray();
+    }
+
+    private int resolve(String label, int sourceLine) {
+        if (label.equals(END_LABEL)) return DialogueScript.END;
+        int index = labels.get(label, -1);
+        if (index < 0) throw error(sourceLine, "unknown label '" + label + "'");
+        int line = labelLines.get(index);
+        return line < lineSpeaker.size ? line : DialogueScript.END;
+    }
+
+    private int speaker(String name) {
+        int id = speakerIds.get(name, -1);
+        if (id < 0) {
+            id = speakers.size;
+            speakers.add(intern(name));
+            speakerIds.put(name, id);
+        }
+        return id;
+    }
+
+    private int intern(String string) {
+        int id = stringIds.get(string, -1);
+        if (id < 0) {
+            id = strings.size;
+            strings.add(string);
+            stringIds.put(string, id);
+        }
+        return id;
+    }
+
+    private IllegalArgumentException error(int sourceLine, String message) {
+        return new IllegalArgumentException(sourceName + ":" + sourceLine + ": " + message);
+    }
+}
@@ -1,3 +1,10 @@
 package com.mygdx.game.dialogue;
 
-public record DialogueLine(String speaker, String text) {}
+/**
+ * One line of a {@link DialogueScript}.
+ *
+ * @param speakerId the speaker's index in the script's speaker table, for lookups by integer
+ * @param speaker   the speaker's name, as written in the script
+ * @param text      what the speaker says
+ */
+public record DialogueLine(int speakerId, String speaker, String text) {}
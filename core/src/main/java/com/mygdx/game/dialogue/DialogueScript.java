@@ -0,0 +1,172 @@
+package com.mygdx.game.dialogue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * A dialogue graph in the binary format written by {@link DialogueCompiler}.
+ * <p>
+ * Opening a script only reads its header and speaker names. Lines, choices, labels and strings
+ * stay in the (memory-mapped, when possible) file and are read when asked for, so a script with
+ * tens of thousands of lines opens in about the same time and heap as a short one.
+ * <p>
+ * Lines are addressed by index. Each line has a next line, or {@link #END}, and an optional
+ * table of choices, each with its own text and target line.
+ */
+public class DialogueScript {
+    /** The "next line" of the last line of a conversation. */
+    public static final int END = -1;
+
+    static final int MAGIC = 0x444C4731; // "DLG1"
+    static final int HEADER_BYTES = 7 * 4;
+    static final int LABEL_BYTES = 2 * 4;
+    static final int LINE_BYTES = 5 * 4;
+    static final int CHOICE_BYTES = 2 * 4;
+
+    private final ByteBuffer data;
+    private final String[] speakers;
+    private final int labelCount;
+    private final int labelsOffset;
+    private final int lineCount;
+    private final int linesOffset;
+    private final int choicesOffset;
+    private final int stringOffsetsOffset;
+    private final int stringDataOffset;
+
+    /**
+     * @param compiled a compiled script; it is read through a big-endian view, so its position and byte order are left alone
+     */
+    public DialogueScript(ByteBuffer compiled) {
+        // FileHandle.map() hands out buffers in native order, but the compiler writes big-endian.
+        data = compiled.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (data.getInt(0) != MAGIC) {
+            throw new GdxRuntimeException("Not a compiled dialogue script");
+        }
+        int speakerCount = data.getInt(4);
+        labelCount = data.getInt(8);
+        lineCount = data.getInt(12);
+        int choiceCount = data.getInt(16);
+        int stringCount = data.getInt(20);
+
+        int speakersOffset = HEADER_BYTES;
+        labelsOffset = speakersOffset + speakerCount * 4;
+        linesOffset = labelsOffset + labelCount * LABEL_BYTES;
+        choicesOffset = linesOffset + lineCount * LINE_BYTES;
+        stringOffsetsOffset = choicesOffset + choiceCount * CHOICE_BYTES;
+        stringDataOffset = stringOffsetsOffset + (stringCount + 1) * 4;
+
+        speakers = new String[speakerCount];
+        for (int i = 0; i < speakerCount; i++) {
+            speakers[i] = string(data.getInt(speakersOffset + i * 4));
+        }
+    }
+
+    /**
+     * Opens a compiled script, memory-mapping the file where the backend allows it (desktop
+     * internal and local files) and reading it into memory otherwise.
+     */
+    public static DialogueScript load(FileHandle file) {
+        ByteBuffer data;
+        try {
+            data = file.map();
+        } catch (GdxRuntimeException e) {
+            // Classpath and Android asset files cannot be mapped.
+            data = ByteBuffer.wrap(file.readBytes());
+        }
+        return new DialogueScript(data);
+    }
+
+    /**
+     * @return the first line after the given label, or {@link #END} if the script has no such label
+     */
+    public int findLabel(String label) {
+        // The compiler sorts the label table by name.
+        int low = 0;
+        int high = labelCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = labelsOffset + middle * LABEL_BYTES;
+            int comparison = string(data.getInt(entry)).compareTo(label);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return data.getInt(entry + 4);
+            }
+        }
+        return END;
+    }
+
+    /**
+     * Decodes a line. Only the line's text is read from the file; speaker names are shared.
+     */
+    public DialogueLine getLine(int line) {
+        int speaker = getSpeakerId(line);
+        return new DialogueLine(speaker, speakers[speaker], string(data.getInt(lineOffset(line) + 4)));
+    }
+
+    public int getSpeakerId(int line) {
+        return data.getInt(lineOffset(line));
+    }
+
+    /**
+     * @return the line that follows the given one when it has no choices, or {@link #END}
+     */
+    public int getNext(int line) {
+        return data.getInt(lineOffset(line) + 8);
+    }
+
+    public int getChoiceCount(int line) {
+        return data.getInt(lineOffset(line) + 16);
+    }
+
+    public String getChoiceText(int line, int choice) {
+        return string(data.getInt(choiceOffset(line, choice)));
+    }
+
+    /**
+     * @return the line the given choice leads to, or {@link #END}
+     */
+    public int getChoiceTarget(int line, int choice) {
+        return data.getInt(choiceOffset(line, choice) + 4);
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getSpeakerCount() {
+        return speakers.length;
+    }
+
+    public String getSpeaker(int speakerId) {
+        return speakers[speakerId];
+    }
+
+    private int lineOffset(int line) {
+        if (line < 0 || line >= lineCount) {
+            throw new IndexOutOfBoundsException("line " + line + " of " + lineCount);
+        }
+        return linesOffset + line * LINE_BYTES;
+    }
+
+    private int choiceOffset(int line, int choice) {
+        if (choice < 0 || choice >= getChoiceCount(line)) {
+            throw new IndexOutOfBoundsException("choice " + choice + " of line " + line);
+        }
+        return choicesOffset + (data.getInt(lineOffset(line) + 12) + choice) * CHOICE_BYTES;
+    }
+
+    private String string(int index) {
+        int start = data.getInt(stringOffsetsOffset + index * 4);
+        int end = data.getInt(stringOffsetsOffset + index * 4 + 4);
+        byte[] bytes = new byte[end - start];
+        data.get(stringDataOffset + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package com.mygdx.game.dialogue;
+
+/**
+ * Typewriter state of the dialogue box: which line is shown and how many of its characters
+ * are revealed so far. It holds no rendering resources, so it can be advanced without a window.
+ */
+public class DialogueTypewriter {
+    private static final float CHAR_INTERVAL = 0.03f; // seconds per character
+
+    private DialogueLine currentLine;
+    private boolean visible = false;
+    private boolean typing = false;
+    private float typeTimer = 0;
+    private int charIndex = 0;
+
+    public void startTyping(DialogueLine line) {
+        this.currentLine = line;
+        this.visible = true;
+        this.typing = true;
+        this.typeTimer = 0;
+        this.charIndex = 0;
+    }
+
+    public void skipTyping() {
+        if (currentLine != null) {
+            charIndex = currentLine.text().length();
+            typing = false;
+        }
+    }
+
+    public void hide() {
+        this.visible = false;
+        this.typing = false;
+        this.charIndex = 0;
+    }
+
+    /**
+     * Puts the typewriter back in a state read from its getters, e.g. from a saved game.
+     *
+     * @param line the line being shown, or null if there is none
+     */
+    public void restore(DialogueLine line, boolean visible, boolean typing, float typeTimer, int charIndex) {
+        this.currentLine = line;
+        this.visible = visible && line != null;
+        this.typing = typing && line != null;
+        this.typeTimer = typeTimer;
+        this.charIndex = line != null ? Math.min(charIndex, line.text().length()) : 0;
+    }
+
+    public void update(float delta) {
+        if (!visible || !typing || currentLine == null) return;
+
+        int length = currentLine.text().length();
+        typeTimer += delta;
+        while (typeTimer >= CHAR_INTERVAL && charIndex < length) {
+            charIndex++;
+            typeTimer -= CHAR_INTERVAL;
+        }
+        if (charIndex >= length) {
+            typing = false;
+        }
+    }
+
+    public boolean isTyping() {
+        return typing;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public DialogueLine getCurrentLine() {
+        return currentLine;
+    }
+
+    public int getVisibleCharCount() {
+        return charIndex;
+    }
+
+    /**
+     * @return the time since the last character was revealed
+     */
+    public float getTypeTimer() {
+        return typeTimer;
+    }
+}
@@ -0,0 +1,18 @@
+package com.mygdx.game.effects;
+
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * The particle bursts of the game.
+ */
+public final class Effects {
+    /** A flash of fast, pale blue particles in every direction, gone within a quarter second. */
+    public static final ParticleEmitter LIGHTNING_BURST = new ParticleEmitter(48, 250f, 600f, 0f, 360f,
+        0.1f, 0.25f, 3f, 6f, 0f, 4f, new Color(0.7f, 0.85f, 1f, 1f));
+    /** Slower yellow sparks thrown up and out, which fall back down. */
+    public static final ParticleEmitter SPARKS = new ParticleEmitter(24, 120f, 320f, 30f, 150f,
+        0.4f, 0.9f, 2f, 4f, -900f, 1f, new Color(1f, 0.85f, 0.35f, 1f));
+
+    private Effects() {
+    }
+}
@@ -0,0 +1,53 @@
+package com.mygdx.game.effects;
+
+import com.badlogic.gdx.graphics.Color;
+
+/**
+ * Describes one kind of particle burst: how many particles it spawns and the ranges their speed,
+ * direction, lifetime and size are picked from. Emitters hold no state of their own, so one
+ * emitter can be used for any number of bursts at once.
+ */
+public class ParticleEmitter {
+    final int count;
+    final float minSpeed;
+    final float maxSpeed;
+    final float minAngle;
+    final float maxAngle;
+    final float minLife;
+    final float maxLife;
+    final float minSize;
+    final float maxSize;
+    final float gravity;
+    final float drag;
+    final int abgr;
+
+    /**
+     * @param minAngle the lowest direction, in degrees counter-clockwise from the positive x axis
+     * @param gravity  the vertical acceleration, in units per second squared; negative pulls down
+     * @param drag     the fraction of its velocity a particle loses per second, between 0 and 1
+     * @param color    the color particles start with; they fade out over their lifetime
+     */
+    public ParticleEmitter(int count, float minSpeed, float maxSpeed, float minAngle, float maxAngle,
+                           float minLife, float maxLife, float minSize, float maxSize, float gravity, float drag,
+                           Color color) {
+        if (count < 1 || minLife <= 0 || maxLife < minLife) {
+            throw new IllegalArgumentException("An emitter needs at least one particle and a positive lifetime");
+        }
+        this.count = count;
+        this.minSpeed = minSpeed;
+        this.maxSpeed = maxSpeed;
+        this.minAngle = minAngle;
+        this.maxAngle = maxAngle;
+        this.minLife = minLife;
+        this.maxLife = maxLife;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.gravity = gravity;
+        this.drag = drag;
+        abgr = Color.toIntBits((int) (color.r * 255), (int) (color.g * 255), (int) (color.b * 255), (int) (color.a * 255));
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
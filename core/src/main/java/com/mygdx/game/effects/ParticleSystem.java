@@ -0,0 +1,234 @@
+package com.mygdx.game.effects;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.mygdx.game.graphics.RenderQueue;
+
+/**
+ * Simulates and draws short-lived particles, e.g. the bursts of a lightning strike.
+ * <p>
+ * Particles are struct-of-arrays like the {@code EntityStore}: every property lives in its own
+ * primitive array, allocated once for a fixed number of particles. A dead particle is replaced by
+ * the last live one, so an update walks only live particles and never allocates. When every slot
+ * is taken, new particles are dropped instead of growing the arrays, which puts a ceiling on the
+ * time an update and a draw can take.
+ * <p>
+ * Every particle is a quad of one plain texel, tinted with its color and faded out over its
+ * lifetime. The quads are written straight into a vertex array and handed to the batch in
+ * chunks, so all live particles are one draw call. Particles outside the view they were submitted
+ * with get no quad at all.
+ */
+public class ParticleSystem implements RenderQueue.Drawable {
+    private static final int VERTEX_SIZE = 5;
+    private static final int SPRITE_SIZE = 4 * VERTEX_SIZE;
+    private static final int SPRITES_PER_CHUNK = 256;
+
+    private final int capacity;
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] age;
+    private final float[] life;
+    private final float[] size;
+    private final float[] gravity;
+    private final float[] drag;
+    private final int[] abgr;
+    private final float[] vertices = new float[SPRITES_PER_CHUNK * SPRITE_SIZE];
+    private final RandomXS128 random;
+    private TextureRegion region;
+    private float u;
+    private float v;
+    private int count;
+    private long dropped;
+    private float viewLeft = Float.NEGATIVE_INFINITY;
+    private float viewBottom = Float.NEGATIVE_INFINITY;
+    private float viewRight = Float.POSITIVE_INFINITY;
+    private float viewTop = Float.POSITIVE_INFINITY;
+
+    /**
+     * @param capacity the most particles that can be alive at once
+     * @param seed     the seed of the random picks within the emitters' ranges
+     */
+    public ParticleSystem(int capacity, long seed) {
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        velocityX = new float[capacity];
+        velocityY = new float[capacity];
+        age = new float[capacity];
+        life = new float[capacity];
+        size = new float[capacity];
+        gravity = new float[capacity];
+        drag = new float[capacity];
+        abgr = new int[capacity];
+        random = new RandomXS128(seed);
+    }
+
+    /**
+     * @param region a plain white region; particles sample only its center texel, so no edge or mip
+     *               level of a neighbouring sprite can bleed into them
+     */
+    public void setRegion(TextureRegion region) {
+        this.region = region;
+        u = (region.getU() + region.getU2()) / 2f;
+        v = (region.getV() + region.getV2()) / 2f;
+    }
+
+    /**
+     * Spawns the emitter's particles at a point, or as many as there are free slots for.
+     */
+    public void emit(ParticleEmitter emitter, float emitX, float emitY) {
+        int spawned = Math.min(emitter.count, capacity - count);
+        dropped += emitter.count - spawned;
+        for (int n = 0; n < spawned; n++) {
+            int i = count++;
+            float speed = MathUtils.lerp(emitter.minSpeed, emitter.maxSpeed, random.nextFloat());
+            float angle = MathUtils.lerp(emitter.minAngle, emitter.maxAngle, random.nextFloat());
+            x[i] = emitX;
+            y[i] = emitY;
+            velocityX[i] = speed * MathUtils.cosDeg(angle);
+            velocityY[i] = speed * MathUtils.sinDeg(angle);
+            age[i] = 0f;
+            life[i] = MathUtils.lerp(emitter.minLife, emitter.maxLife, random.nextFloat());
+            size[i] = MathUtils.lerp(emitter.minSize, emitter.maxSize, random.nextFloat());
+            gravity[i] = emitter.gravity;
+            drag[i] = emitter.drag;
+            abgr[i] = emitter.abgr;
+        }
+    }
+
+    /**
+     * Ages, accelerates and moves every live particle, and removes the ones whose lifetime is over.
+     */
+    public void update(float delta) {
+        float[] x = this.x;
+        float[] y = this.y;
+        float[] velocityX = this.velocityX;
+        float[] velocityY = this.velocityY;
+        float[] age = this.age;
+        float[] life = this.life;
+        for (int i = 0; i < count; i++) {
+            float particleAge = age[i] + delta;
+            if (particleAge >= life[i]) {
+                remove(i);
+                i--;
+                continue;
+            }
+            age[i] = particleAge;
+            float damping = Math.max(0f, 1f - drag[i] * delta);
+            float vx = velocityX[i] * damping;
+            float vy = (velocityY[i] + gravity[i] * delta) * damping;
+            velocityX[i] = vx;
+            velocityY[i] = vy;
+            x[i] += vx * delta;
+            y[i] += vy * delta;
+        }
+    }
+
+    /**
+     * Queues the live particles, blended additively so overlapping sparks brighten each other.
+     *
+     * @param view the area the camera shows; only the particles that overlap it are drawn
+     */
+    public void submit(RenderQueue queue, int layer, Rectangle view) {
+        viewLeft = view.x;
+        viewBottom = view.y;
+        viewRight = view.x + view.width;
+        viewTop = view.y + view.height;
+        if (count > 0) {
+            queue.draw(layer, RenderQueue.BLEND_ADDITIVE, region.getTexture(), this);
+        }
+    }
+
+    /**
+     * Draws the live particles; called by the render queue they were submitted to.
+     */
+    @Override
+    public void draw(Batch batch) {
+        float[] vertices = this.vertices;
+        float u = this.u;
+        float v = this.v;
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            float half = size[i] / 2f;
+            float left = x[i] - half;
+            float bottom = y[i] - half;
+            float right = x[i] + half;
+            float top = y[i] + half;
+            if (right < viewLeft || left > viewRight || top < viewBottom || bottom > viewTop) continue;
+            int color = abgr[i];
+            int alpha = (int) ((color >>> 24) * (1f - age[i] / life[i]));
+            float packed = NumberUtils.intToFloatColor(alpha << 24 | (color & 0x00FFFFFF));
+
+            vertices[offset] = left;
+            vertices[offset + 1] = bottom;
+            vertices[offset + 2] = packed;
+            vertices[offset + 3] = u;
+            vertices[offset + 4] = v;
+            vertices[offset + 5] = left;
+            vertices[offset + 6] = top;
+            vertices[offset + 7] = packed;
+            vertices[offset + 8] = u;
+            vertices[offset + 9] = v;
+            vertices[offset + 10] = right;
+            vertices[offset + 11] = top;
+            vertices[offset + 12] = packed;
+            vertices[offset + 13] = u;
+            vertices[offset + 14] = v;
+            vertices[offset + 15] = right;
+            vertices[offset + 16] = bottom;
+            vertices[offset + 17] = packed;
+            vertices[offset + 18] = u;
+            vertices[offset + 19] = v;
+            offset += SPRITE_SIZE;
+            if (offset == vertices.length) {
+                batch.draw(region.getTexture(), vertices, 0, offset);
+                offset = 0;
+            }
+        }
+        if (offset > 0) {
+            batch.draw(region.getTexture(), vertices, 0, offset);
+        }
+    }
+
+    /**
+     * @return the number of live particles
+     */
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the particles that were not spawned because every slot was taken
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+
+    public void clear() {
+        count = 0;
+    }
+
+    private void remove(int i) {
+        int last = --count;
+        x[i] = x[last];
+        y[i] = y[last];
+        velocityX[i] = velocityX[last];
+        velocityY[i] = velocityY[last];
+        age[i] = age[last];
+        life[i] = life[last];
+        size[i] = size[last];
+        gravity[i] = gravity[last];
+        drag[i] = drag[last];
+        abgr[i] = abgr[last];
+    }
+}
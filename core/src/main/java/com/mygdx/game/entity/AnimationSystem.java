@@ -0,0 +1,101 @@
+package com.mygdx.game.entity;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Advances the animations of a store's entities and picks the sprite each one shows, all in one loop.
+ * <p>
+ * An animated entity has a clip, a direction and its own clip time in the store's arrays. The
+ * frames of each clip and direction are precomputed into a table of sprite ids, so an entity's
+ * frame is an index into that table: no entity has an {@code Animation} object and no frame is
+ * picked through a virtual call. The chosen sprite is written to the entity's sprite id, which
+ * the renderer already draws. Looping clips wrap the entity's time, so it never grows large
+ * enough to lose precision.
+ */
+public class AnimationSystem {
+    /** The clip of an entity that is not animated. */
+    public static final int NO_CLIP = -1;
+    /** Standing still, on the first walking frame. */
+    public static final int IDLE = 0;
+    public static final int WALK = 1;
+    public static final int CLIP_COUNT = 2;
+
+    public static final int LEFT = 0;
+    public static final int RIGHT = 1;
+    private static final int DIRECTIONS = 2;
+
+    /** The time each walking frame is shown, in seconds. */
+    public static final float WALK_FRAME_DURATION = 0.1f;
+
+    // The sprite id of every frame, by clip and then by direction; each run starts at firstFrame.
+    private final int[] frames;
+    private final int[] firstFrame = new int[CLIP_COUNT * DIRECTIONS];
+    private final int[] frameCount = new int[CLIP_COUNT];
+    private final float[] framesPerSecond = new float[CLIP_COUNT];
+    private final float[] duration = new float[CLIP_COUNT];
+    private final boolean[] looping = new boolean[CLIP_COUNT];
+
+    public AnimationSystem() {
+        IntArray table = new IntArray();
+        addClip(table, IDLE, SpriteIds.WALK_LEFT, SpriteIds.WALK_RIGHT, 1, WALK_FRAME_DURATION, true);
+        addClip(table, WALK, SpriteIds.WALK_LEFT, SpriteIds.WALK_RIGHT, SpriteIds.WALK_FRAMES, WALK_FRAME_DURATION, true);
+        frames = table.toArray();
+    }
+
+    /**
+     * Appends a clip's frames, consecutive sprite ids from the given first one in each direction.
+     */
+    private void addClip(IntArray table, int clip, int firstLeft, int firstRight, int count, float frameDuration,
+                         boolean loop) {
+        int[] firstSprites = {firstLeft, firstRight};
+        for (int direction = 0; direction < DIRECTIONS; direction++) {
+            firstFrame[clip * DIRECTIONS + direction] = table.size;
+            for (int frame = 0; frame < count; frame++) {
+                table.add(firstSprites[direction] + frame);
+            }
+        }
+        frameCount[clip] = count;
+        framesPerSecond[clip] = 1f / frameDuration;
+        duration[clip] = count * frameDuration;
+        looping[clip] = loop;
+    }
+
+    /**
+     * Advances every animated entity of the store and sets its sprite to the frame it shows now.
+     *
+     * @param delta the time elapsed since the last step, in seconds
+     */
+    public void update(EntityStore store, float delta) {
+        int[] clip = store.clip;
+        int[] direction = store.direction;
+        float[] time = store.animationTime;
+        int[] sprite = store.sprite;
+        int[] frames = this.frames;
+        for (int i = 0, n = store.size; i < n; i++) {
+            int c = clip[i];
+            if (c == NO_CLIP) continue;
+            float t = wrap(c, time[i] + delta);
+            time[i] = t;
+            sprite[i] = frames[firstFrame[c * DIRECTIONS + direction[i]] + frameAt(c, t)];
+        }
+    }
+
+    /**
+     * Looks up the sprite of a clip at a time, for an animation that is not stored in an entity
+     * store, such as the player character's.
+     *
+     * @param time the time since the clip started, in seconds
+     */
+    public int getSprite(int clip, int direction, float time) {
+        return frames[firstFrame[clip * DIRECTIONS + direction] + frameAt(clip, wrap(clip, time))];
+    }
+
+    private float wrap(int clip, float time) {
+        if (time < duration[clip]) return time;
+        return looping[clip] ? time % duration[clip] : duration[clip];
+    }
+
+    private int frameAt(int clip, float time) {
+        return Math.min((int) (time * framesPerSecond[clip]), frameCount[clip] - 1);
+    }
+}
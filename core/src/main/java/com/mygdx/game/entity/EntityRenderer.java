@@ -0,0 +1,30 @@
+package com.mygdx.game.entity;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.mygdx.game.graphics.RenderQueue;
+
+/**
+ * Queues every visible entity of a store in one loop, looking their sprites up by id.
+ */
+public final class EntityRenderer {
+
+    private EntityRenderer() {
+    }
+
+    /**
+     * @param sprites the texture region for each sprite id in {@link SpriteIds}
+     */
+    public static void submit(RenderQueue queue, int layer, EntityStore store, TextureRegion[] sprites) {
+        float[] x = store.x;
+        float[] y = store.y;
+        float[] drawWidth = store.drawWidth;
+        float[] drawHeight = store.drawHeight;
+        int[] sprite = store.sprite;
+        boolean[] visible = store.visible;
+        for (int i = 0, n = store.size; i < n; i++) {
+            if (visible[i]) {
+                queue.draw(layer, RenderQueue.BLEND_ALPHA, sprites[sprite[i]], x[i], y[i], drawWidth[i], drawHeight[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.mygdx.game.entity;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Struct-of-arrays storage for simple world entities such as NPCs and hazards.
+ * <p>
+ * Every property lives in its own primitive array indexed by entity, so the systems that update
+ * or draw all entities walk contiguous memory instead of chasing one object per entity. Entities
+ * are addressed by their index; removing one moves the last entity into its slot.
+ * <p>
+ * An entity can be animated: its clip, direction and clip time are kept here too, and
+ * {@link AnimationSystem} sets its sprite from them.
+ * <p>
+ * The timers, cooldowns and visibility can be double-buffered for systems that update the
+ * entities in parallel: a step reads the current arrays, writes the next ones and then swaps
+ * them, so a batch may read any entity's state while other batches write theirs.
+ */
+public class EntityStore {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    int size;
+    float[] x;
+    float[] y;
+    float[] drawWidth;
+    float[] drawHeight;
+    float[] colliderWidth;
+    float[] colliderHeight;
+    float[] timer;
+    float[] cooldown;
+    int[] sprite;
+    boolean[] visible;
+    int[] colliderHandle;
+    int[] chunk;
+    int[] clip;
+    int[] direction;
+    float[] animationTime;
+    float[] nextTimer;
+    float[] nextCooldown;
+    boolean[] nextVisible;
+
+    public EntityStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EntityStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        x = new float[capacity];
+        y = new float[capacity];
+        drawWidth = new float[capacity];
+        drawHeight = new float[capacity];
+        colliderWidth = new float[capacity];
+        colliderHeight = new float[capacity];
+        timer = new float[capacity];
+        cooldown = new float[capacity];
+        sprite = new int[capacity];
+        visible = new boolean[capacity];
+        colliderHandle = new int[capacity];
+        chunk = new int[capacity];
+        clip = new int[capacity];
+        direction = new int[capacity];
+        animationTime = new float[capacity];
+    }
+
+    /**
+     * Adds an entity whose sprite and collider both start at its position.
+     *
+     * @return the index of the new entity
+     */
+    public int add(float x, float y, float drawWidth, float drawHeight,
+                   float colliderWidth, float colliderHeight, int sprite, boolean visible) {
+        if (size == this.x.length) {
+            grow(size * 2);
+        }
+        int index = size++;
+        this.x[index] = x;
+        this.y[index] = y;
+        this.drawWidth[index] = drawWidth;
+        this.drawHeight[index] = drawHeight;
+        this.colliderWidth[index] = colliderWidth;
+        this.colliderHeight[index] = colliderHeight;
+        this.timer[index] = 0f;
+        this.cooldown[index] = 0f;
+        this.sprite[index] = sprite;
+        this.visible[index] = visible;
+        this.colliderHandle[index] = -1;
+        this.chunk[index] = -1;
+        this.clip[index] = AnimationSystem.NO_CLIP;
+        this.direction[index] = 0;
+        this.animationTime[index] = 0f;
+        return index;
+    }
+
+    /**
+     * Removes an entity by moving the last entity into its index.
+     */
+    public void remove(int index) {
+        int last = --size;
+        x[index] = x[last];
+        y[index] = y[last];
+        drawWidth[index] = drawWidth[last];
+        drawHeight[index] = drawHeight[last];
+        colliderWidth[index] = colliderWidth[last];
+        colliderHeight[index] = colliderHeight[last];
+        timer[index] = timer[last];
+        cooldown[index] = cooldown[last];
+        sprite[index] = sprite[last];
+        visible[index] = visible[last];
+        colliderHandle[index] = colliderHandle[last];
+        chunk[index] = chunk[last];
+        clip[index] = clip[last];
+        direction[index] = direction[last];
+        animationTime[index] = animationTime[last];
+    }
+
+    /**
+     * Allocates the arrays that a double-buffered step writes, if they are not there yet.
+     */
+    void ensureNextBuffers() {
+        if (nextTimer == null || nextTimer.length != timer.length) {
+            nextTimer = new float[timer.length];
+            nextCooldown = new float[timer.length];
+            nextVisible = new boolean[timer.length];
+        }
+    }
+
+    /**
+     * Makes the state written by a double-buffered step current.
+     */
+    void swapBuffers() {
+        float[] timer = this.timer;
+        this.timer = nextTimer;
+        nextTimer = timer;
+        float[] cooldown = this.cooldown;
+        this.cooldown = nextCooldown;
+        nextCooldown = cooldown;
+        boolean[] visible = this.visible;
+        this.visible = nextVisible;
+        nextVisible = visible;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        drawWidth = Arrays.copyOf(drawWidth, capacity);
+        drawHeight = Arrays.copyOf(drawHeight, capacity);
+        colliderWidth = Arrays.copyOf(colliderWidth, capacity);
+        colliderHeight = Arrays.copyOf(colliderHeight, capacity);
+        timer = Arrays.copyOf(timer, capacity);
+        cooldown = Arrays.copyOf(cooldown, capacity);
+        sprite = Arrays.copyOf(sprite, capacity);
+        visible = Arrays.copyOf(visible, capacity);
+        colliderHandle = Arrays.copyOf(colliderHandle, capacity);
+        chunk = Arrays.copyOf(chunk, capacity);
+        clip = Arrays.copyOf(clip, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        animationTime = Arrays.copyOf(animationTime, capacity);
+    }
+
+    /**
+     * @return whether the entity's collider overlaps the given rectangle
+     */
+    public boolean overlaps(int index, Rectangle rectangle) {
+        return x[index] < rectangle.x + rectangle.width && x[index] + colliderWidth[index] > rectangle.x
+            && y[index] < rectangle.y + rectangle.height && y[index] + colliderHeight[index] > rectangle.y;
+    }
+
+    /**
+     * Copies the entity's collider into the given rectangle.
+     *
+     * @return the given rectangle
+     */
+    public Rectangle getCollider(int index, Rectangle out) {
+        return out.set(x[index], y[index], colliderWidth[index], colliderHeight[index]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public float getX(int index) {
+        return x[index];
+    }
+
+    public float getY(int index) {
+        return y[index];
+    }
+
+    public float getDrawWidth(int index) {
+        return drawWidth[index];
+    }
+
+    public float getDrawHeight(int index) {
+        return drawHeight[index];
+    }
+
+    /**
+     * @return the id in {@link SpriteIds} of the sprite the entity is drawn with
+     */
+    public int getSprite(int index) {
+        return sprite[index];
+    }
+
+    public boolean isVisible(int index) {
+        return visible[index];
+    }
+
+    /**
+     * @return the time the entity stays visible for, e.g. the rest of a hazard's flash
+     */
+    public float getTimer(int index) {
+        return timer[index];
+    }
+
+    /**
+     * @return the time until the entity can trigger again
+     */
+    public float getCooldown(int index) {
+        return cooldown[index];
+    }
+
+    /**
+     * @return the handle of the entity's collider in the world's broad-phase, or -1
+     */
+    public int getColliderHandle(int index) {
+        return colliderHandle[index];
+    }
+
+    public void setColliderHandle(int index, int handle) {
+        colliderHandle[index] = handle;
+    }
+
+    /**
+     * @return the level chunk the entity was streamed in with, or -1 if it belongs to no chunk
+     */
+    public int getChunk(int index) {
+        return chunk[index];
+    }
+
+    public void setChunk(int index, int chunk) {
+        this.chunk[index] = chunk;
+    }
+
+    /**
+     * @return the entity's clip in {@link AnimationSystem}, or {@link AnimationSystem#NO_CLIP}
+     */
+    public int getClip(int index) {
+        return clip[index];
+    }
+
+    public int getDirection(int index) {
+        return direction[index];
+    }
+
+    /**
+     * Plays a clip on the entity, from its start unless the entity is already playing it. Its
+     * sprite changes on the next {@link AnimationSystem#update}.
+     *
+     * @param clip      a clip of {@link AnimationSystem}, or {@link AnimationSystem#NO_CLIP} to stop animating
+     * @param direction {@link AnimationSystem#LEFT} or {@link AnimationSystem#RIGHT}
+     */
+    public void setAnimation(int index, int clip, int direction) {
+        if (this.clip[index] != clip) {
+            animationTime[index] = 0f;
+        }
+        this.clip[index] = clip;
+        this.direction[index] = direction;
+    }
+}
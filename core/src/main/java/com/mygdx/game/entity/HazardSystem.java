@@ -0,0 +1,192 @@
+package com.mygdx.game.entity;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.game.jobs.BatchResults;
+import com.mygdx.game.jobs.JobSystem;
+
+/**
+ * Updates the hazards of a store: flash timers, cooldowns and triggering by the character's
+ * proximity. This is the batch form of the former per-object {@code Lightning} logic.
+ * <p>
+ * Only hazards that are flashing or cooling down are visited each step, so idle hazards cost
+ * nothing; the hazards close enough to trigger come from the world's broad-phase. The system
+ * keeps hazard indices between steps, so after hazards are removed from the store it updates,
+ * {@link #hazardsRemoved()} must be called before the next step.
+ * <p>
+ * With many hazards packed close together the broad-phase returns long lists, and visiting every
+ * hazard in parallel batches on a {@link JobSystem} is cheaper; that form double-buffers the
+ * hazard state and tests the distance itself. Both forms give the same state.
+ */
+public class HazardSystem {
+    /** Distance from the character at which a hazard triggers. */
+    public static final float TRIGGER_DISTANCE = 100f;
+    private static final float FLASH_DURATION = 0.2f;
+    private static final float COOLDOWN = 0.5f;
+
+    private static final int BATCH_SIZE = 4096;
+
+    private final IntArray active = new IntArray();
+    private final BatchResults triggeredByBatch = new BatchResults();
+    private final ParallelStep parallelStep = new ParallelStep();
+    private boolean activeStale;
+
+    /**
+     * Advances the hazards by one step.
+     *
+     * @param hazards      the hazards to update
+     * @param delta        the time elapsed since the last step, in seconds
+     * @param inRange      the indices of the hazards within {@link #TRIGGER_DISTANCE} of the character
+     * @param triggeredOut cleared and filled with the indices of the hazards that started flashing
+     */
+    public void update(EntityStore hazards, float delta, IntArray inRange, IntArray triggeredOut) {
+        if (activeStale) {
+            rebuildActive(hazards);
+        }
+        triggeredOut.clear();
+        float[] timer = hazards.timer;
+        float[] cooldown = hazards.cooldown;
+        boolean[] visible = hazards.visible;
+        int[] active = this.active.items;
+
+        for (int a = 0, n = this.active.size; a < n; a++) {
+            int i = active[a];
+            if (visible[i]) {
+                timer[i] -= delta;
+                if (timer[i] <= 0) {
+                    visible[i] = false;
+                }
+            }
+        }
+
+        for (int r = 0; r < inRange.size; r++) {
+            int i = inRange.get(r);
+            if (cooldown[i] <= 0f) {
+                // A hazard that is neither flashing nor cooling down is not in the active list yet.
+                if (!visible[i]) {
+                    this.active.add(i);
+                }
+                timer[i] = FLASH_DURATION;
+                visible[i] = true;
+                cooldown[i] = COOLDOWN;
+                triggeredOut.add(i);
+            }
+        }
+
+        active = this.active.items;
+        for (int a = this.active.size - 1; a >= 0; a--) {
+            int i = active[a];
+            if (cooldown[i] > 0f) {
+                cooldown[i] -= delta;
+            }
+            if (!visible[i] && cooldown[i] <= 0f) {
+                this.active.removeIndex(a);
+            }
+        }
+    }
+
+    /**
+     * Advances every hazard by one step in parallel batches, testing each one's distance to the
+     * character instead of asking a broad-phase.
+     *
+     * @param triggeredOut cleared and filled with the indices of the hazards that started flashing,
+     *                     merged as the job system's merge mode says
+     */
+    public void update(EntityStore hazards, float delta, float characterX, float characterY,
+                       JobSystem jobs, IntArray triggeredOut) {
+        hazards.ensureNextBuffers();
+        parallelStep.set(hazards, delta, characterX, characterY);
+        jobs.parallelFor(hazards.size, BATCH_SIZE, parallelStep, triggeredByBatch);
+        hazards.swapBuffers();
+        // The serial form's list of flashing hazards was not kept up; rebuild it when it runs next.
+        activeStale = true;
+        triggeredOut.clear();
+        triggeredOut.addAll(triggeredByBatch.getMerged());
+    }
+
+    /**
+     * Sets a hazard's flash and cooldown, e.g. from a saved game.
+     */
+    public void restore(EntityStore hazards, int hazard, float timer, float cooldown, boolean visible) {
+        hazards.timer[hazard] = timer;
+        hazards.cooldown[hazard] = cooldown;
+        hazards.visible[hazard] = visible;
+        activeStale = true;
+    }
+
+    /**
+     * Forgets the indices of the flashing hazards, which moved when hazards were removed from the
+     * store; they are found again on the next step.
+     */
+    public void hazardsRemoved() {
+        activeStale = true;
+    }
+
+    private void rebuildActive(EntityStore hazards) {
+        active.clear();
+        for (int i = 0; i < hazards.size; i++) {
+            if (hazards.visible[i] || hazards.cooldown[i] > 0f) {
+                active.add(i);
+            }
+        }
+        activeStale = false;
+    }
+
+    /**
+     * One batch of the parallel step: reads the current hazard state and writes only the next
+     * state of its own hazards.
+     */
+    private final class ParallelStep implements JobSystem.RangeJob {
+        private EntityStore hazards;
+        private float delta;
+        private float characterX;
+        private float characterY;
+
+        void set(EntityStore hazards, float delta, float characterX, float characterY) {
+            this.hazards = hazards;
+            this.delta = delta;
+            this.characterX = characterX;
+            this.characterY = characterY;
+        }
+
+        @Override
+        public void run(int batch, int start, int end) {
+            float[] x = hazards.x;
+            float[] y = hazards.y;
+            float[] timer = hazards.timer;
+            float[] cooldown = hazards.cooldown;
+            boolean[] visible = hazards.visible;
+            float[] nextTimer = hazards.nextTimer;
+            float[] nextCooldown = hazards.nextCooldown;
+            boolean[] nextVisible = hazards.nextVisible;
+            IntArray triggered = triggeredByBatch.get(batch);
+            float delta = this.delta;
+            float triggerDistance2 = TRIGGER_DISTANCE * TRIGGER_DISTANCE;
+
+            for (int i = start; i < end; i++) {
+                float t = timer[i];
+                float c = cooldown[i];
+                boolean v = visible[i];
+                if (v) {
+                    t -= delta;
+                    if (t <= 0) {
+                        v = false;
+                    }
+                }
+                float dx = x[i] - characterX;
+                float dy = y[i] - characterY;
+                if (c <= 0f && dx * dx + dy * dy < triggerDistance2) {
+                    t = FLASH_DURATION;
+                    v = true;
+                    c = COOLDOWN;
+                    triggered.add(i);
+                }
+                if (c > 0f) {
+                    c -= delta;
+                }
+                nextTimer[i] = t;
+                nextCooldown[i] = c;
+                nextVisible[i] = v;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.mygdx.game.entity;
+
+/**
+ * Identifiers of the sprites entities are drawn with; the renderer maps each to a texture region.
+ * <p>
+ * The frames of the walk cycle are consecutive ids, one run per direction, so animation tables
+ * can refer to them by offset.
+ */
+public final class SpriteIds {
+    public static final int NPC = 0;
+    public static final int LIGHTNING = 1;
+    /** The frames in each direction's walk cycle; the first one is also the standing frame. */
+    public static final int WALK_FRAMES = 7;
+    public static final int WALK_LEFT = 2;
+    public static final int WALK_RIGHT = WALK_LEFT + WALK_FRAMES;
+    public static final int COUNT = WALK_RIGHT + WALK_FRAMES;
+
+    private SpriteIds() {
+    }
+}
@@ -0,0 +1,23 @@
+package com.mygdx.game.graphics;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Finds the area of the world an unrotated orthographic camera shows. For a 2D camera this
+ * rectangle is its frustum, and testing against it is a few comparisons instead of six planes.
+ */
+public final class CameraBounds {
+
+    private CameraBounds() {
+    }
+
+    /**
+     * @return the given rectangle, set to the camera's view in world units
+     */
+    public static Rectangle get(OrthographicCamera camera, Rectangle out) {
+        float width = camera.viewportWidth * camera.zoom;
+        float height = camera.viewportHeight * camera.zoom;
+        return out.set(camera.position.x - width / 2f, camera.position.y - height / 2f, width, height);
+    }
+}
@@ -0,0 +1,75 @@
+package com.mygdx.game.graphics;
+
+/**
+ * Picks the fraction of the internal resolution to draw the scene at, lowering it while frames
+ * take longer than a target time and raising it again once they are well under.
+ * <p>
+ * Frame times are averaged over about {@code 1 / SMOOTHING} frames, and after each change the
+ * scale holds for {@value #HOLD_FRAMES} frames so the effect of the change is measured before the
+ * next one; the gap between the lowering and the raising thresholds keeps it from going back and
+ * forth. The frame time is the whole frame, waiting for the GPU included, so it rises when the
+ * GPU falls behind even though the GPU's own time is not measured.
+ */
+public class DynamicResolution {
+    private static final float STEP = 0.1f;
+    private static final float SMOOTHING = 0.1f;
+    private static final float LOWER_ABOVE = 1.1f;
+    private static final float RAISE_BELOW = 0.8f;
+    private static final int HOLD_FRAMES = 30;
+    /** Frames longer than this many targets, e.g. while the window is dragged, count as this long. */
+    private static final float MAX_FRAME_TARGETS = 4f;
+
+    private final float targetSeconds;
+    private final float minScale;
+    private final float maxScale;
+    private float scale;
+    private float averageSeconds;
+    private int framesHeld;
+
+    /**
+     * @param targetSeconds the frame time to hold, in seconds
+     * @param minScale      the lowest fraction of the internal resolution to draw at
+     * @param maxScale      the highest fraction, where it starts
+     */
+    public DynamicResolution(float targetSeconds, float minScale, float maxScale) {
+        if (targetSeconds <= 0f || minScale <= 0f || minScale > maxScale || maxScale > 1f) {
+            throw new IllegalArgumentException("Bad dynamic resolution settings: target " + targetSeconds
+                + " s, scale " + minScale + " to " + maxScale);
+        }
+        this.targetSeconds = targetSeconds;
+        this.minScale = minScale;
+        this.maxScale = maxScale;
+        scale = maxScale;
+        averageSeconds = targetSeconds;
+    }
+
+    /**
+     * Adds the time of the frame that just ended.
+     *
+     * @return the scale to draw the next frame at
+     */
+    public float update(float frameSeconds) {
+        frameSeconds = Math.min(frameSeconds, targetSeconds * MAX_FRAME_TARGETS);
+        averageSeconds += (frameSeconds - averageSeconds) * SMOOTHING;
+        if (++framesHeld < HOLD_FRAMES) return scale;
+        if (averageSeconds > targetSeconds * LOWER_ABOVE && scale > minScale) {
+            scale = Math.max(minScale, scale - STEP);
+            framesHeld = 0;
+        } else if (averageSeconds < targetSeconds * RAISE_BELOW && scale < maxScale) {
+            scale = Math.min(maxScale, scale + STEP);
+            framesHeld = 0;
+        }
+        return scale;
+    }
+
+    public float getScale() {
+        return scale;
+    }
+
+    /**
+     * @return the recent frame time, averaged, in seconds
+     */
+    public float getAverageSeconds() {
+        return averageSeconds;
+    }
+}
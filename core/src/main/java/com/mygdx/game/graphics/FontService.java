@@ -0,0 +1,151 @@
+package com.mygdx.game.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Loads the game's font once and shares it, with the shader that draws it and the layouts of the
+ * strings that never change.
+ * <p>
+ * The font is a signed distance field font made by the processAssets Gradle task: its single
+ * page stores each glyph's distance to its outline rather than its coverage, so one shader draws
+ * crisp text of any size from that one page. Text drawn with the font must be drawn with
+ * {@link #getShader()} on the batch, e.g. through a render queue layer that uses it.
+ * <p>
+ * Every size is the same font scaled, and the scale is shared by everything that draws with the
+ * font, so whoever lays out or draws text sets the size it needs first, with {@link #useSize}.
+ * <p>
+ * Static text, such as labels and prompts, is laid out once per size by {@link #getLayout} and
+ * then drawn from the cached layout every frame; text that changes is laid out as it is drawn.
+ */
+public class FontService implements Disposable {
+    /** The size, in pixels, the glyphs are stored at; a size of this draws the font unscaled. */
+    public static final float FONT_SIZE = 32f;
+
+    private static final String FONT_PATH = "fonts/DejaVuSans.fnt";
+
+    private static final String VERTEX_SHADER = "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+        + "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+        + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+        + "uniform mat4 u_projTrans;\n"
+        + "varying vec4 v_color;\n"
+        + "varying vec2 v_texCoords;\n"
+        + "void main() {\n"
+        + "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n"
+        + "    v_color.a = v_color.a * (255.0 / 254.0);\n"
+        + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+        + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+        + "}\n";
+
+    // The edge is smoothed over about one screen pixel, found from how fast the distance changes
+    // between neighbouring pixels, so no uniform has to be set per size and every size shares one draw.
+    private static final String SHADER = "#ifdef GL_ES\n"
+        + "#extension GL_OES_standard_derivatives : enable\n"
+        + "precision mediump float;\n"
+        + "#endif\n"
+        + "varying vec4 v_color;\n"
+        + "varying vec2 v_texCoords;\n"
+        + "uniform sampler2D u_texture;\n"
+        + "void main() {\n"
+        + "    float dist = texture2D(u_texture, v_texCoords).a;\n"
+        + "    float smoothing = 0.7 * fwidth(dist);\n"
+        + "    float alpha = smoothstep(0.5 - smoothing, 0.5 + smoothing, dist);\n"
+        + "    gl_FragColor = vec4(v_color.rgb, v_color.a * alpha);\n"
+        + "}\n";
+
+    private final BitmapFont font;
+    private final ShaderProgram shader;
+    // Layouts of static text, by the bits of their size and then by their text.
+    private final IntMap<ObjectMap<String, GlyphLayout>> layouts = new IntMap<>();
+
+    public FontService() {
+        font = new BitmapFont(Gdx.files.internal(FONT_PATH));
+        // Scaled glyphs land between pixels; the distance field is what keeps their edges sharp.
+        font.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        font.setUseIntegerPositions(false);
+        shader = new ShaderProgram(VERTEX_SHADER, SHADER);
+        if (!shader.isCompiled()) {
+            font.dispose();
+            throw new GdxRuntimeException("Could not compile the distance field font shader: " + shader.getLog());
+        }
+    }
+
+    public BitmapFont getFont() {
+        return font;
+    }
+
+    /**
+     * @return the shader the batch must draw the font's text with
+     */
+    public ShaderProgram getShader() {
+        return shader;
+    }
+
+    /**
+     * Scales the font so its text is laid out and drawn at the given size.
+     *
+     * @param size the font size in pixels
+     * @return the font
+     */
+    public BitmapFont useSize(float size) {
+        font.getData().setScale(size / FONT_SIZE);
+        return font;
+    }
+
+    /**
+     * Returns the layout of a static string at the given size, laying it out only the first time
+     * it is asked for. The layout must not be changed.
+     */
+    public GlyphLayout getLayout(String text, float size) {
+        int sizeKey = Float.floatToIntBits(size);
+        ObjectMap<String, GlyphLayout> sizeLayouts = layouts.get(sizeKey);
+        if (sizeLayouts == null) {
+            sizeLayouts = new ObjectMap<>();
+            layouts.put(sizeKey, sizeLayouts);
+        }
+        GlyphLayout layout = sizeLayouts.get(text);
+        if (layout == null) {
+            layout = new GlyphLayout(useSize(size), text);
+            sizeLayouts.put(text, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Draws a cached layout, made at the same size by {@link #getLayout}. The batch must be
+     * drawing with {@link #getShader()}.
+     */
+    public void draw(Batch batch, GlyphLayout layout, float size, float x, float y) {
+        useSize(size).draw(batch, layout, x, y);
+    }
+
+    /**
+     * Queues a cached layout, made at the same size by {@link #getLayout}, on a layer of the queue
+     * that draws with {@link #getShader()}.
+     */
+    public void submit(RenderQueue queue, int layer, GlyphLayout layout, float size, float x, float y) {
+        queue.drawText(layer, font, layout, size / FONT_SIZE, x, y);
+    }
+
+    /**
+     * Lays out and draws text that changes, such as counters. The batch must be drawing with
+     * {@link #getShader()}.
+     */
+    public void draw(Batch batch, CharSequence text, float size, float x, float y) {
+        useSize(size).draw(batch, text, x, y);
+    }
+
+    @Override
+    public void dispose() {
+        font.dispose();
+        shader.dispose();
+    }
+}
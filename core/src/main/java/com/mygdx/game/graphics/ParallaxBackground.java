@@ -0,0 +1,92 @@
+package com.mygdx.game.graphics;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Layers of a background, each a region repeated side by side along the world and scrolled at
+ * its own fraction of the camera's speed, so the distant layers seem to move less.
+ * <p>
+ * Only the tiles that overlap the camera's view are queued, found from the view's edges rather
+ * than by testing every tile, so the cost depends on how much the camera shows and not on the
+ * width of the world: zoomed in, fewer tiles are drawn.
+ */
+public class ParallaxBackground {
+    private final float originX;
+    private final Array<Layer> layers = new Array<>();
+    private int tilesSubmitted;
+
+    /**
+     * @param originX the camera position at which every layer's tiles start at x 0, as if it had no parallax
+     */
+    public ParallaxBackground(float originX) {
+        this.originX = originX;
+    }
+
+    /**
+     * Adds a layer of tiles, drawn in the order the layers were added within the same render layer.
+     *
+     * @param renderLayer  the {@link RenderQueue} layer the tiles are queued on
+     * @param tileWidth    the width of one tile, and so the distance between tiles, in world units
+     * @param y            the bottom of the tiles
+     * @param height       the height of the tiles
+     * @param scrollFactor 1 to move with the world, less to lag behind the camera like something far away
+     */
+    public void addLayer(int renderLayer, TextureRegion region, float tileWidth, float y, float height,
+                         float scrollFactor) {
+        if (tileWidth <= 0f) {
+            throw new IllegalArgumentException("Tile width must be positive: " + tileWidth);
+        }
+        layers.add(new Layer(renderLayer, region, tileWidth, y, height, scrollFactor));
+    }
+
+    /**
+     * Queues the tiles of every layer that the view overlaps.
+     *
+     * @param view    the area the camera shows, in world units
+     * @param cameraX the camera's horizontal position, which the layers scroll with
+     */
+    public void submit(RenderQueue queue, Rectangle view, float cameraX) {
+        tilesSubmitted = 0;
+        float viewRight = view.x + view.width;
+        for (int l = 0; l < layers.size; l++) {
+            Layer layer = layers.get(l);
+            if (layer.y > view.y + view.height || layer.y + layer.height < view.y) continue;
+            // A layer that lags behind the camera is shifted along with it by the part it does not move.
+            float shift = (cameraX - originX) * (1f - layer.scrollFactor);
+            int first = (int) Math.floor((view.x - shift) / layer.tileWidth);
+            int last = (int) Math.ceil((viewRight - shift) / layer.tileWidth) - 1;
+            for (int tile = first; tile <= last; tile++) {
+                queue.draw(layer.renderLayer, RenderQueue.BLEND_ALPHA, layer.region, shift + tile * layer.tileWidth,
+                    layer.y, layer.tileWidth, layer.height);
+            }
+            tilesSubmitted += last - first + 1;
+        }
+    }
+
+    /**
+     * @return the tiles the last {@link #submit} queued
+     */
+    public int getTilesSubmitted() {
+        return tilesSubmitted;
+    }
+
+    private static final class Layer {
+        final int renderLayer;
+        final TextureRegion region;
+        final float tileWidth;
+        final float y;
+        final float height;
+        final float scrollFactor;
+
+        Layer(int renderLayer, TextureRegion region, float tileWidth, float y, float height, float scrollFactor) {
+            this.renderLayer = renderLayer;
+            this.region = region;
+            this.tileWidth = tileWidth;
+            this.y = y;
+            this.height = height;
+            this.scrollFactor = scrollFactor;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.mygdx.game.graphics;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas.AtlasRegion;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * Draws texture regions at the size of their source image. Atlas regions have their transparent
+ * borders trimmed when packed, so drawing them directly would stretch the trimmed image over the
+ * whole area; the packed offsets are applied here to put the visible pixels back where they were.
+ */
+public final class RegionDrawer {
+
+    private RegionDrawer() {
+    }
+
+    /**
+     * Draws the region so that its untrimmed source image covers the given area.
+     */
+    public static void draw(Batch batch, TextureRegion region, float x, float y, float width, float height) {
+        if (region instanceof AtlasRegion atlasRegion) {
+            float scaleX = width / atlasRegion.originalWidth;
+            float scaleY = height / atlasRegion.originalHeight;
+            batch.draw(region,
+                x + atlasRegion.offsetX * scaleX,
+                y + atlasRegion.offsetY * scaleY,
+                atlasRegion.packedWidth * scaleX,
+                atlasRegion.packedHeight * scaleY);
+        } else {
+            batch.draw(region, x, y, width, height);
+        }
+    }
+
+    /**
+     * Draws the region at the pixel size of its untrimmed source image.
+     */
+    public static void draw(Batch batch, TextureRegion region, float x, float y) {
+        if (region instanceof AtlasRegion atlasRegion) {
+            draw(batch, region, x, y, atlasRegion.originalWidth, atlasRegion.originalHeight);
+        } else {
+            batch.draw(region, x, y);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.mygdx.game.graphics;
+
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+
+/**
+ * The {@link RenderQueue} layers of the gameplay screen, from back to front.
+ * <p>
+ * The world layers are drawn with the camera and culled to its view. The dialogue layers above
+ * them are drawn in screen coordinates, so the dialogue stays in place wherever the camera is.
+ */
+public final class RenderLayers {
+    public static final int BACKGROUND = 0;
+    public static final int GROUND = 1;
+    public static final int ENTITIES = 2;
+    public static final int CHARACTER = 3;
+    public static final int EFFECTS = 4;
+    // Text in the world, such as prompts over NPCs, in the font's texture.
+    public static final int TEXT = 5;
+    public static final int DIALOGUE_BOX = 6;
+    // Text over the dialogue box, in the font's texture.
+    public static final int DIALOGUE_TEXT = 7;
+
+    private RenderLayers() {
+    }
+
+    /**
+     * Sets up a queue to draw these layers: the text layers with the font's shader and the
+     * dialogue layers with a screen projection.
+     *
+     * @param textShader       the shader of the shared font, or null to draw text with the batch's
+     * @param screenProjection maps screen coordinates, 0 to the screen's size, to the scene
+     */
+    public static void configure(RenderQueue queue, ShaderProgram textShader, Matrix4 screenProjection) {
+        queue.setLayerShader(TEXT, textShader);
+        queue.setLayerShader(DIALOGUE_TEXT, textShader);
+        queue.setLayerProjection(DIALOGUE_BOX, screenProjection);
+        queue.setLayerProjection(DIALOGUE_TEXT, screenProjection);
+    }
+}
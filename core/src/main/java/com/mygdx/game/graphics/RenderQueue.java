@@ -0,0 +1,411 @@
+package com.mygdx.game.graphics;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Collects the draws of a frame and issues them to a batch sorted by layer, then blend mode, then
+ * texture, so the batch flushes and changes state as rarely as the layers allow.
+ * <p>
+ * Lower layers are drawn first. Within a layer, draws with the same blend mode and texture keep the
+ * order they were submitted in, but draws with different textures may be reordered; anything that
+ * must be drawn over something else of another texture belongs in a higher layer. A layer can
+ * have its own shader, e.g. for distance field text, which the batch switches to for that layer,
+ * and its own projection, e.g. screen coordinates for UI drawn over a scrolling world.
+ * <p>
+ * With cull bounds set, regions and text wholly outside them are dropped as they are queued, so
+ * what the camera cannot see costs neither sorting nor vertices. Layers with their own projection
+ * are not in the space of the bounds and are never culled. Drawables are queued as they are,
+ * since only they know what they draw; they cull their own parts.
+ * <p>
+ * The sort is a stable radix sort of one int key per draw, and the queue reuses its arrays, so a
+ * frame's submit and flush do not allocate once the arrays have grown to the busiest frame.
+ * Submitted text and drawables are only read when the queue is flushed.
+ */
+public class RenderQueue {
+
+    /**
+     * Something drawn with its own batch calls, e.g. cached text, in place of a single region.
+     */
+    public interface Drawable {
+        void draw(Batch batch);
+    }
+
+    public static final int BLEND_ALPHA = 0;
+    public static final int BLEND_ADDITIVE = 1;
+    public static final int BLEND_OPAQUE = 2;
+
+    public static final int MAX_LAYER = 0xFF;
+    private static final int MAX_TEXTURES = 0xFFF;
+    private static final int LAYER_SHIFT = 16;
+    private static final int BLEND_SHIFT = 12;
+    private static final int KEY_BITS = 24;
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    private static final int REGION = 0;
+    private static final int TEXT = 1;
+    private static final int DRAWABLE = 2;
+
+    private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<>();
+    private final ShaderProgram[] layerShaders = new ShaderProgram[MAX_LAYER + 1];
+    private final Matrix4[] layerProjections = new Matrix4[MAX_LAYER + 1];
+    private final Matrix4 batchProjection = new Matrix4();
+    private final int[] counts = new int[RADIX];
+    private int[] keys = new int[64];
+    private int[] kinds = new int[64];
+    private Object[] items = new Object[64];
+    private BitmapFont[] fonts = new BitmapFont[64];
+    private Texture[] textures = new Texture[64];
+    private float[] x = new float[64];
+    private float[] y = new float[64];
+    private float[] width = new float[64];
+    private float[] height = new float[64];
+    private float[] colors = new float[64];
+    private float[] scales = new float[64];
+    private int[] order = new int[64];
+    private int[] sorted = new int[64];
+    private int size;
+    private int textureSwitches;
+    private int blendSwitches;
+    private int shaderSwitches;
+    private boolean culling;
+    private float cullLeft;
+    private float cullBottom;
+    private float cullRight;
+    private float cullTop;
+    private int culled;
+    private int lastCulled;
+
+    /**
+     * Draws everything queued on a layer with the given shader instead of the batch's own.
+     *
+     * @param shader the layer's shader, or null for the batch's shader
+     */
+    public void setLayerShader(int layer, ShaderProgram shader) {
+        if (layer < 0 || layer > MAX_LAYER) {
+            throw new GdxRuntimeException("Layer out of range: " + layer);
+        }
+        layerShaders[layer] = shader;
+    }
+
+    /**
+     * Draws everything queued on a layer with the given projection instead of the batch's. The
+     * matrix is read when the queue is flushed, so it may be updated in place between frames.
+     * The layer is not culled, since its coordinates are not those of the cull bounds.
+     *
+     * @param projection the layer's projection, or null for the batch's projection
+     */
+    public void setLayerProjection(int layer, Matrix4 projection) {
+        if (layer < 0 || layer > MAX_LAYER) {
+            throw new GdxRuntimeException("Layer out of range: " + layer);
+        }
+        layerProjections[layer] = projection;
+    }
+
+    /**
+     * Drops the regions and text queued from now on that fall wholly outside the given area.
+     *
+     * @param bounds the area in world units, usually the camera's view, or null to queue everything;
+     *               layers with their own projection are queued whole either way
+     */
+    public void setCullBounds(Rectangle bounds) {
+        culling = bounds != null;
+        if (culling) {
+            cullLeft = bounds.x;
+            cullBottom = bounds.y;
+            cullRight = bounds.x + bounds.width;
+            cullTop = bounds.y + bounds.height;
+        }
+    }
+
+    private boolean isCulled(int layer, float x, float y, float width, float height) {
+        if (culling && (x >= cullRight || x + width <= cullLeft || y >= cullTop || y + height <= cullBottom)
+            && !hasOwnProjection(layer)) {
+            culled++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean hasOwnProjection(int layer) {
+        // An invalid layer is reported when it is queued.
+        return layer >= 0 && layer <= MAX_LAYER && layerProjections[layer] != null;
+    }
+
+    /**
+     * Queues a region drawn so its untrimmed source image covers the given area, as by
+     * {@link RegionDrawer#draw(Batch, TextureRegion, float, float, float, float)}.
+     */
+    public void draw(int layer, int blend, TextureRegion region, float x, float y, float width, float height) {
+        draw(layer, blend, region, x, y, width, height, Color.WHITE_FLOAT_BITS);
+    }
+
+    /**
+     * Queues a tinted region.
+     *
+     * @param packedColor the tint, as packed by {@link Color#toFloatBits()}
+     */
+    public void draw(int layer, int blend, TextureRegion region, float x, float y, float width, float height,
+                     float packedColor) {
+        if (isCulled(layer, x, y, width, height)) return;
+        int i = add(layer, blend, region.getTexture(), REGION, region);
+        this.x[i] = x;
+        this.y[i] = y;
+        this.width[i] = width;
+        this.height[i] = height;
+        colors[i] = packedColor;
+    }
+
+    /**
+     * Queues laid out text, drawn in the colors it was laid out with.
+     *
+     * @param layout read when the queue is flushed, so it must not change before then
+     * @param scale  the font scale the layout was made at, which the font is set to for drawing it
+     */
+    public void drawText(int layer, BitmapFont font, GlyphLayout layout, float scale, float x, float y) {
+        // Text hangs down from its top at y.
+        if (isCulled(layer, x, y - layout.height, layout.width, layout.height)) return;
+        int i = add(layer, BLEND_ALPHA, font.getRegion().getTexture(), TEXT, layout);
+        fonts[i] = font;
+        this.x[i] = x;
+        this.y[i] = y;
+        scales[i] = scale;
+    }
+
+    /**
+     * Queues a drawable whose batch calls all use {@code texture}.
+     */
+    public void draw(int layer, int blend, Texture texture, Drawable drawable) {
+        add(layer, blend, texture, DRAWABLE, drawable);
+    }
+
+    /**
+     * Draws and clears everything queued since the last flush. The batch must be drawing; it is
+     * left with the blending, shader and projection it had before.
+     */
+    public void flush(Batch batch) {
+        sort();
+        textureSwitches = 0;
+        blendSwitches = 0;
+        shaderSwitches = 0;
+        float batchColor = batch.getPackedColor();
+        boolean wasBlending = batch.isBlendingEnabled();
+        int srcFunc = batch.getBlendSrcFunc();
+        int dstFunc = batch.getBlendDstFunc();
+        ShaderProgram batchShader = batch.getShader();
+        ShaderProgram shader = batchShader;
+        batchProjection.set(batch.getProjectionMatrix());
+        Matrix4 projection = null;
+        int layer = -1;
+        int blend = -1;
+        Texture texture = null;
+        for (int n = 0; n < size; n++) {
+            int i = order[n];
+            int nextLayer = keys[i] >>> LAYER_SHIFT;
+            if (nextLayer != layer) {
+                layer = nextLayer;
+                ShaderProgram layerShader = layerShaders[layer] != null ? layerShaders[layer] : batchShader;
+                if (layerShader != shader) {
+                    shaderSwitches++;
+                    shader = layerShader;
+                    batch.setShader(shader);
+                }
+                if (layerProjections[layer] != projection) {
+                    projection = layerProjections[layer];
+                    batch.setProjectionMatrix(projection != null ? projection : batchProjection);
+                }
+            }
+            int nextBlend = (keys[i] >>> BLEND_SHIFT) & 0xF;
+            if (nextBlend != blend) {
+                if (blend >= 0) blendSwitches++;
+                blend = nextBlend;
+                applyBlend(batch, blend, srcFunc, dstFunc);
+            }
+            if (textures[i] != texture) {
+                if (texture != null) textureSwitches++;
+                texture = textures[i];
+            }
+            switch (kinds[i]) {
+                case REGION:
+                    batch.setPackedColor(colors[i]);
+                    RegionDrawer.draw(batch, (TextureRegion) items[i], x[i], y[i], width[i], height[i]);
+                    break;
+                case TEXT:
+                    BitmapFont font = fonts[i];
+                    font.getData().setScale(scales[i]);
+                    font.draw(batch, (GlyphLayout) items[i], x[i], y[i]);
+                    break;
+                default:
+                    ((Drawable) items[i]).draw(batch);
+                    break;
+            }
+        }
+        batch.setPackedColor(batchColor);
+        if (wasBlending) {
+            batch.enableBlending();
+        } else {
+            batch.disableBlending();
+        }
+        batch.setBlendFunction(srcFunc, dstFunc);
+        if (shader != batchShader) {
+            shaderSwitches++;
+            batch.setShader(batchShader);
+        }
+        if (projection != null) {
+            batch.setProjectionMatrix(batchProjection);
+        }
+        Arrays.fill(items, 0, size, null);
+        Arrays.fill(fonts, 0, size, null);
+        Arrays.fill(textures, 0, size, null);
+        size = 0;
+        lastCulled = culled;
+        culled = 0;
+    }
+
+    /**
+     * @return the number of draws queued since the last flush
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the draws dropped by the cull bounds before the last flush
+     */
+    public int getCulledCount() {
+        return lastCulled;
+    }
+
+    /**
+     * @return the times the last flush moved on to another texture, each of which flushes the batch
+     */
+    public int getTextureSwitches() {
+        return textureSwitches;
+    }
+
+    /**
+     * @return the times the last flush changed the blend mode, each of which flushes the batch
+     */
+    public int getBlendSwitches() {
+        return blendSwitches;
+    }
+
+    /**
+     * @return the times the last flush changed the batch's shader, each of which flushes the batch
+     */
+    public int getShaderSwitches() {
+        return shaderSwitches;
+    }
+
+    private int add(int layer, int blend, Texture texture, int kind, Object item) {
+        if (layer < 0 || layer > MAX_LAYER) {
+            throw new GdxRuntimeException("Layer out of range: " + layer);
+        }
+        if (blend < BLEND_ALPHA || blend > BLEND_OPAQUE) {
+            throw new GdxRuntimeException("Unknown blend mode: " + blend);
+        }
+        if (size == keys.length) {
+            grow();
+        }
+        int i = size++;
+        keys[i] = layer << LAYER_SHIFT | blend << BLEND_SHIFT | textureId(texture);
+        kinds[i] = kind;
+        items[i] = item;
+        textures[i] = texture;
+        return i;
+    }
+
+    private int textureId(Texture texture) {
+        int id = textureIds.get(texture, -1);
+        if (id < 0) {
+            id = textureIds.size;
+            if (id > MAX_TEXTURES) {
+                throw new GdxRuntimeException("A render queue can sort at most " + (MAX_TEXTURES + 1) + " textures");
+            }
+            textureIds.put(texture, id);
+        }
+        return id;
+    }
+
+    /**
+     * Sorts the draw indices into {@link #order} by key, one byte of the key per pass, starting
+     * from the lowest. Each pass is stable, so draws with equal keys keep their submission order.
+     * A pass is skipped when every key has the same byte there, which is the common case for the
+     * layer or blend bytes of a small scene.
+     */
+    private void sort() {
+        int[] from = order;
+        int[] to = sorted;
+        for (int i = 0; i < size; i++) {
+            from[i] = i;
+        }
+        for (int shift = 0; shift < KEY_BITS; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(keys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            if (size == 0 || counts[(keys[0] >>> shift) & (RADIX - 1)] == size) continue;
+            int total = 0;
+            for (int digit = 0; digit < RADIX; digit++) {
+                int count = counts[digit];
+                counts[digit] = total;
+                total += count;
+            }
+            for (int n = 0; n < size; n++) {
+                int i = from[n];
+                to[counts[(keys[i] >>> shift) & (RADIX - 1)]++] = i;
+            }
+            int[] swap = from;
+            from = to;
+            to = swap;
+        }
+        order = from;
+        sorted = to;
+    }
+
+    private static void applyBlend(Batch batch, int blend, int srcFunc, int dstFunc) {
+        switch (blend) {
+            case BLEND_ADDITIVE:
+                batch.enableBlending();
+                batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+                break;
+            case BLEND_OPAQUE:
+                batch.disableBlending();
+                break;
+            default:
+                batch.enableBlending();
+                batch.setBlendFunction(srcFunc, dstFunc);
+                break;
+        }
+    }
+
+    private void grow() {
+        int capacity = keys.length * 2;
+        keys = Arrays.copyOf(keys, capacity);
+        kinds = Arrays.copyOf(kinds, capacity);
+        items = Arrays.copyOf(items, capacity);
+        fonts = Arrays.copyOf(fonts, capacity);
+        textures = Arrays.copyOf(textures, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+        scales = Arrays.copyOf(scales, capacity);
+        order = new int[capacity];
+        sorted = new int[capacity];
+    }
+}
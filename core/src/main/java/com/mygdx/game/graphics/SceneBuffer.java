@@ -0,0 +1,93 @@
+package com.mygdx.game.graphics;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * An offscreen buffer the scene is drawn into at a fixed internal resolution, then scaled up to
+ * the window with nearest filtering, so the art keeps its hard pixel edges at any window size.
+ * <p>
+ * The scene can be drawn at a fraction of the internal resolution: it is then drawn into the
+ * bottom-left part of the buffer only, and only that part is scaled up. Changing the fraction
+ * each frame therefore costs nothing, where reallocating the buffer would stall the GPU.
+ */
+public class SceneBuffer implements Disposable {
+    private final FrameBuffer frameBuffer;
+    private final TextureRegion region = new TextureRegion();
+    private final int width;
+    private final int height;
+    private int drawWidth;
+    private int drawHeight;
+
+    /**
+     * @param width  the internal resolution's width, in pixels
+     * @param height the internal resolution's height, in pixels
+     */
+    public SceneBuffer(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Internal resolution must be positive: " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+        // The scene is opaque, so the buffer needs no alpha, and 2D needs no depth.
+        frameBuffer = new FrameBuffer(Pixmap.Format.RGB888, width, height, false);
+        Texture texture = frameBuffer.getColorBufferTexture();
+        texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+        region.setTexture(texture);
+        drawWidth = width;
+        drawHeight = height;
+    }
+
+    /**
+     * Directs the drawing that follows into the buffer, until {@link #end()}. The projections the
+     * scene is drawn with stay as they are; they fill the part of the buffer in use.
+     *
+     * @param scale the fraction of the internal resolution to draw at, from 0 to 1
+     */
+    public void begin(float scale) {
+        drawWidth = Math.max(1, Math.min(width, Math.round(width * scale)));
+        drawHeight = Math.max(1, Math.min(height, Math.round(height * scale)));
+        frameBuffer.begin();
+        Gdx.gl.glViewport(0, 0, drawWidth, drawHeight);
+    }
+
+    /**
+     * Directs drawing back to the window.
+     */
+    public void end() {
+        frameBuffer.end();
+        region.setRegion(0, 0, drawWidth, drawHeight);
+        // The buffer's rows start at the bottom, an image's at the top.
+        region.flip(false, true);
+    }
+
+    /**
+     * @return the part of the buffer drawn in since the last {@link #begin}, the right way up
+     */
+    public TextureRegion getRegion() {
+        return region;
+    }
+
+    /**
+     * @return the width the scene was last drawn at, in pixels
+     */
+    public int getDrawWidth() {
+        return drawWidth;
+    }
+
+    /**
+     * @return the height the scene was last drawn at, in pixels
+     */
+    public int getDrawHeight() {
+        return drawHeight;
+    }
+
+    @Override
+    public void dispose() {
+        frameBuffer.dispose();
+    }
+}
@@ -0,0 +1,63 @@
+package com.mygdx.game.jobs;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * The int outputs of a {@link JobSystem#parallelFor} job, e.g. the indices of the entities a step
+ * triggered. Each batch adds to its own list, so batches never contend; the lists are merged into
+ * {@link #getMerged()} when the job is done.
+ * <p>
+ * A deterministic merge concatenates the lists in batch order, which gives the same result as
+ * running the batches one after another, for any number of threads. Otherwise each list is
+ * appended as soon as its batch finishes, in an order that can change from run to run.
+ */
+public class BatchResults {
+    private final Array<IntArray> lists = new Array<>();
+    private final IntArray merged = new IntArray();
+    private int batchCount;
+    private boolean deterministic;
+
+    /**
+     * @return the list that the given batch adds its outputs to
+     */
+    public IntArray get(int batch) {
+        return lists.get(batch);
+    }
+
+    /**
+     * @return the outputs of every batch of the last job
+     */
+    public IntArray getMerged() {
+        return merged;
+    }
+
+    void begin(int batchCount, boolean deterministic) {
+        this.batchCount = batchCount;
+        this.deterministic = deterministic;
+        while (lists.size < batchCount) {
+            lists.add(new IntArray());
+        }
+        for (int i = 0; i < batchCount; i++) {
+            lists.get(i).clear();
+        }
+        merged.clear();
+    }
+
+    void complete(int batch) {
+        if (!deterministic) {
+            IntArray list = lists.get(batch);
+            synchronized (merged) {
+                merged.addAll(list);
+            }
+        }
+    }
+
+    void end() {
+        if (deterministic) {
+            for (int i = 0; i < batchCount; i++) {
+                merged.addAll(lists.get(i));
+            }
+        }
+    }
+}
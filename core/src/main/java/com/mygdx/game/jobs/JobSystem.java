@@ -0,0 +1,161 @@
+package com.mygdx.game.jobs;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Runs data-parallel jobs over index ranges on a fork-join pool.
+ * <p>
+ * {@link #parallelFor} cuts the range into batches of a fixed size, so how the work is
+ * partitioned never depends on the number of threads, and returns once every batch is done.
+ * A batch must only write the state of its own indices; per-batch results go through a
+ * {@link BatchResults}, which merges them either in batch order, the same for any number of
+ * threads, or in the order the batches finish.
+ * <p>
+ * With one thread no pool is created and the batches run in order on the calling thread.
+ * The batch tasks are reused, so dispatching a job does not allocate once the system has seen
+ * its largest batch count. A job system is meant to be driven from one thread, e.g. the game loop.
+ */
+public class JobSystem implements Disposable {
+
+    /**
+     * The work of one batch.
+     */
+    public interface RangeJob {
+        /**
+         * @param batch the index of the batch, from 0
+         * @param start the first index of the batch
+         * @param end   the index after the last one of the batch
+         */
+        void run(int batch, int start, int end);
+    }
+
+    private final int threadCount;
+    private final boolean deterministicMerge;
+    private final ForkJoinPool pool;
+    private final Array<BatchTask> tasks = new Array<>();
+    private final RootTask root = new RootTask();
+
+    /**
+     * @param threadCount        the number of threads that run batches; 1 runs them on the caller
+     * @param deterministicMerge whether {@link BatchResults} are merged in batch order rather than
+     *                           in the order the batches finish
+     */
+    public JobSystem(int threadCount, boolean deterministicMerge) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("threadCount must be at least 1: " + threadCount);
+        }
+        this.threadCount = threadCount;
+        this.deterministicMerge = deterministicMerge;
+        pool = threadCount > 1 ? new ForkJoinPool(threadCount) : null;
+    }
+
+    /**
+     * Runs a job over {@code [0, count)} in batches of {@code batchSize} indices.
+     */
+    public void parallelFor(int count, int batchSize, RangeJob job) {
+        parallelFor(count, batchSize, job, null);
+    }
+
+    /**
+     * Runs a job over {@code [0, count)} in batches of {@code batchSize} indices, then merges the
+     * lists the batches filled in {@code results}.
+     *
+     * @param results the per-batch outputs of the job, or null if it has none
+     */
+    public void parallelFor(int count, int batchSize, RangeJob job, BatchResults results) {
+        int batchCount = (count + batchSize - 1) / batchSize;
+        if (results != null) {
+            results.begin(batchCount, deterministicMerge);
+        }
+        if (pool == null || batchCount <= 1) {
+            for (int batch = 0; batch < batchCount; batch++) {
+                runBatch(job, results, batch, batch * batchSize, Math.min(count, (batch + 1) * batchSize));
+            }
+        } else {
+            while (tasks.size < batchCount) {
+                tasks.add(new BatchTask());
+            }
+            for (int batch = 0; batch < batchCount; batch++) {
+                BatchTask task = tasks.get(batch);
+                task.reinitialize();
+                task.set(job, results, batch, batch * batchSize, Math.min(count, (batch + 1) * batchSize));
+            }
+            root.reinitialize();
+            root.batchCount = batchCount;
+            pool.invoke(root);
+        }
+        if (results != null) {
+            results.end();
+        }
+    }
+
+    private static void runBatch(RangeJob job, BatchResults results, int batch, int start, int end) {
+        job.run(batch, start, end);
+        if (results != null) {
+            results.complete(batch);
+        }
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public boolean isDeterministicMerge() {
+        return deterministicMerge;
+    }
+
+    @Override
+    public void dispose() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Forks every batch but the first, runs the first itself and joins the others newest first,
+     * so the joins mostly pop tasks that no worker stole.
+     */
+    private final class RootTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        int batchCount;
+
+        @Override
+        protected void compute() {
+            for (int i = 1; i < batchCount; i++) {
+                tasks.get(i).fork();
+            }
+            tasks.get(0).compute();
+            for (int i = batchCount - 1; i >= 1; i--) {
+                tasks.get(i).join();
+            }
+        }
+    }
+
+    private static final class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private RangeJob job;
+        private BatchResults results;
+        private int batch;
+        private int start;
+        private int end;
+
+        void set(RangeJob job, BatchResults results, int batch, int start, int end) {
+            this.job = job;
+            this.results = results;
+            this.batch = batch;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            runBatch(job, results, batch, start, end);
+        }
+    }
+}
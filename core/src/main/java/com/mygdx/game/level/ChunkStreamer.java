@@ -0,0 +1,284 @@
+package com.mygdx.game.level;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Keeps the chunks of a {@link LevelFile} around a focus point (usually the camera) loaded, and
+ * tells a listener when a chunk enters or leaves that range.
+ * <p>
+ * Decoded chunks live in a fixed number of cache slots, so memory does not depend on the length
+ * of the level. A chunk that leaves the range stays cached until its slot is needed; then the
+ * least recently used cached chunk is evicted. Chunks are decoded on background loader threads
+ * and handed to the listener on the thread that calls {@link #update}. At most one chunk enters
+ * and one leaves per update, so crossing a chunk border never lumps the work into one frame.
+ * <p>
+ * With no loader threads, chunks are decoded on the calling thread as soon as they are needed,
+ * which makes the order of events depend only on the focus positions, e.g. for replays.
+ */
+public class ChunkStreamer implements Disposable {
+
+    /**
+     * Adds a chunk's entities to the game when it comes in range and removes them when it leaves.
+     */
+    public interface Listener {
+        void chunkEntered(LevelChunk chunk);
+
+        void chunkLeft(LevelChunk chunk);
+    }
+
+    private static final int FREE = 0;
+    private static final int LOADING = 1;
+    private static final int CACHED = 2;
+    private static final int ENTERED = 3;
+
+    private final LevelFile level;
+    private final int loadRadius;
+    private final LevelChunk[] slotChunk;
+    private final int[] slotIndex;
+    private final int[] slotState;
+    private final long[] slotLastUsed;
+    private final ExecutorService loader;
+    private final ConcurrentLinkedQueue<LevelChunk> loaded = new ConcurrentLinkedQueue<>();
+    private Listener listener;
+    private long updateCount;
+    private int loadCount;
+    private int evictionCount;
+
+    /**
+     * @param cacheSize     the number of decoded chunks kept in memory; at least {@code 2 * loadRadius + 1}
+     * @param loadRadius    the number of chunks on each side of the focus chunk that are kept entered
+     * @param loaderThreads the number of threads that decode chunks; 0 decodes them on the caller
+     */
+    public ChunkStreamer(LevelFile level, int cacheSize, int loadRadius, int loaderThreads) {
+        if (cacheSize < 2 * loadRadius + 1) {
+            throw new IllegalArgumentException("A cache of " + cacheSize + " chunks cannot hold a radius of " + loadRadius);
+        }
+        this.level = level;
+        this.loadRadius = loadRadius;
+        slotChunk = new LevelChunk[cacheSize];
+        slotIndex = new int[cacheSize];
+        slotState = new int[cacheSize];
+        slotLastUsed = new long[cacheSize];
+        for (int i = 0; i < cacheSize; i++) {
+            slotChunk[i] = new LevelChunk();
+            slotIndex[i] = -1;
+        }
+        loader = loaderThreads > 0 ? Executors.newFixedThreadPool(loaderThreads, task -> {
+            Thread thread = new Thread(task, "chunk-loader");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Leaves every chunk out of range of the focus point and loads and enters every chunk in
+     * range before returning, e.g. for the start of a level or after a teleport.
+     */
+    public void finishLoading(float focusX) {
+        int center = chunkAt(focusX);
+        int first = Math.max(0, center - loadRadius);
+        int last = Math.min(level.getChunkCount() - 1, center + loadRadius);
+        updateCount++;
+        // A slot that is loading cannot be claimed, so with the smallest cache every chunk in
+        // flight, e.g. from before a teleport, must land before a slot is sure to be free.
+        awaitLoads();
+        for (int slot = 0; slot < slotState.length; slot++) {
+            if (slotState[slot] == ENTERED && (slotIndex[slot] < first || slotIndex[slot] > last)) {
+                leave(slot);
+            }
+        }
+        for (int chunk = first; chunk <= last; chunk++) {
+            int slot = findSlot(chunk);
+            if (slot < 0) {
+                slot = claimSlot(first, last);
+                loadInPlace(slot, chunk);
+            }
+            slotLastUsed[slot] = updateCount;
+            if (slotState[slot] == CACHED) {
+                enter(slot);
+            }
+        }
+    }
+
+    /**
+     * Moves the loaded range to the chunks around {@code focusX}, and enters or leaves at most
+     * one chunk each.
+     */
+    public void update(float focusX) {
+        updateCount++;
+        installLoaded();
+
+        int center = chunkAt(focusX);
+        int first = Math.max(0, center - loadRadius);
+        int last = Math.min(level.getChunkCount() - 1, center + loadRadius);
+
+        for (int slot = 0; slot < slotState.length; slot++) {
+            if (slotState[slot] == ENTERED && (slotIndex[slot] < first || slotIndex[slot] > last)) {
+                leave(slot);
+                break;
+            }
+        }
+
+        boolean entered = false;
+        // Nearest chunks first, so the one under the focus is ready before its neighbours.
+        for (int distance = 0; distance <= loadRadius; distance++) {
+            for (int side = -1; side <= 1; side += 2) {
+                int chunk = center + side * distance;
+                if (chunk < first || chunk > last || (distance == 0 && side > 0)) continue;
+                int slot = findSlot(chunk);
+                if (slot < 0) {
+                    slot = claimSlot(first, last);
+                    if (slot < 0) continue;
+                    load(slot, chunk);
+                }
+                slotLastUsed[slot] = updateCount;
+                if (slotState[slot] == CACHED && !entered) {
+                    enter(slot);
+                    entered = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return whether the chunk's entities are in the game
+     */
+    public boolean isEntered(int chunk) {
+        int slot = findSlot(chunk);
+        return slot >= 0 && slotState[slot] == ENTERED;
+    }
+
+    /**
+     * @return the number of chunks decoded since the streamer was created
+     */
+    public int getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * @return the number of cached chunks dropped to make room for others
+     */
+    public int getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getCacheSize() {
+        return slotChunk.length;
+    }
+
+    public LevelFile getLevel() {
+        return level;
+    }
+
+    @Override
+    public void dispose() {
+        if (loader != null) {
+            loader.shutdownNow();
+        }
+    }
+
+    private int chunkAt(float x) {
+        return MathUtils.clamp((int) Math.floor(x / level.getChunkWidth()), 0, level.getChunkCount() - 1);
+    }
+
+    private void enter(int slot) {
+        slotState[slot] = ENTERED;
+        listener.chunkEntered(slotChunk[slot]);
+    }
+
+    private void leave(int slot) {
+        slotState[slot] = CACHED;
+        listener.chunkLeft(slotChunk[slot]);
+    }
+
+    private int findSlot(int chunk) {
+        for (int slot = 0; slot < slotIndex.length; slot++) {
+            if (slotIndex[slot] == chunk && slotState[slot] != FREE) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds a slot for a new chunk: a free one, or else the least recently used cached chunk
+     * outside the range, which is evicted.
+     *
+     * @return the slot, or -1 if every slot holds a chunk that is loading or in range
+     */
+    private int claimSlot(int first, int last) {
+        int best = -1;
+        for (int slot = 0; slot < slotState.length; slot++) {
+            int state = slotState[slot];
+            if (state == FREE) {
+                return slot;
+            }
+            boolean inRange = slotIndex[slot] >= first && slotIndex[slot] <= last;
+            if (state == CACHED && !inRange && (best < 0 || slotLastUsed[slot] < slotLastUsed[best])) {
+                best = slot;
+            }
+        }
+        if (best >= 0) {
+            evictionCount++;
+        }
+        return best;
+    }
+
+    private void load(int slot, int chunk) {
+        if (loader == null) {
+            loadInPlace(slot, chunk);
+            return;
+        }
+        slotIndex[slot] = chunk;
+        slotState[slot] = LOADING;
+        LevelChunk target = slotChunk[slot];
+        loader.execute(() -> {
+            level.decode(chunk, target);
+            loaded.add(target);
+        });
+    }
+
+    private void loadInPlace(int slot, int chunk) {
+        slotIndex[slot] = chunk;
+        level.decode(chunk, slotChunk[slot]);
+        slotState[slot] = CACHED;
+        loadCount++;
+    }
+
+    /**
+     * Waits until the loader threads have finished every chunk they were given.
+     */
+    private void awaitLoads() {
+        for (int slot = 0; slot < slotState.length; slot++) {
+            while (slotState[slot] == LOADING) {
+                installLoaded();
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Marks the chunks the loader threads finished as cached.
+     */
+    private void installLoaded() {
+        LevelChunk chunk;
+        while ((chunk = loaded.poll()) != null) {
+            for (int slot = 0; slot < slotChunk.length; slot++) {
+                if (slotChunk[slot] == chunk) {
+                    slotState[slot] = CACHED;
+                    loadCount++;
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.mygdx.game.level;
+
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.FloatArray;
+
+/**
+ * The decoded entities of one chunk of a {@link LevelFile}. Chunk objects are reused by the
+ * {@link ChunkStreamer} for whichever chunk it loads next, so their arrays stop growing once
+ * they have held the busiest chunk.
+ */
+public class LevelChunk {
+    private final ByteArray kinds = new ByteArray();
+    private final FloatArray xs = new FloatArray();
+    private final FloatArray ys = new FloatArray();
+    private int index = -1;
+
+    void reset(int index) {
+        this.index = index;
+        kinds.clear();
+        xs.clear();
+        ys.clear();
+    }
+
+    void add(byte kind, float x, float y) {
+        kinds.add(kind);
+        xs.add(x);
+        ys.add(y);
+    }
+
+    /**
+     * @return the index of the chunk in its level
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the number of entities in the chunk
+     */
+    public int size() {
+        return kinds.size;
+    }
+
+    /**
+     * @return {@link LevelFile#KIND_NPC} or {@link LevelFile#KIND_HAZARD}
+     */
+    public byte getKind(int entity) {
+        return kinds.get(entity);
+    }
+
+    public float getX(int entity) {
+        return xs.get(entity);
+    }
+
+    public float getY(int entity) {
+        return ys.get(entity);
+    }
+}
@@ -0,0 +1,85 @@
+package com.mygdx.game.level;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * A level in the binary format written by {@link LevelGenerator}: a row of chunks of equal width,
+ * each listing the NPCs and hazards placed in it.
+ * <p>
+ * Opening a level only reads its header; a chunk is decoded when {@link #decode} asks for it, so
+ * the heap a level takes does not grow with its length. Decoding only reads the file, so chunks
+ * can be decoded on any thread.
+ * <p>
+ * The file starts with the chunk width and count and a table of where each chunk's entities
+ * start; every entity is a kind byte and its position in level coordinates.
+ */
+public class LevelFile {
+    public static final byte KIND_NPC = 0;
+    public static final byte KIND_HAZARD = 1;
+
+    static final int MAGIC = 0x4C564C31; // "LVL1"
+    static final int HEADER_BYTES = 3 * 4;
+    static final int ENTITY_BYTES = 1 + 2 * 4;
+
+    private final ByteBuffer data;
+    private final float chunkWidth;
+    private final int chunkCount;
+
+    /**
+     * @param data a level file; it is read through a big-endian view, so its position and byte order are left alone
+     */
+    public LevelFile(ByteBuffer data) {
+        this.data = data.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (this.data.getInt(0) != MAGIC) {
+            throw new GdxRuntimeException("Not a level file");
+        }
+        chunkWidth = this.data.getFloat(4);
+        chunkCount = this.data.getInt(8);
+    }
+
+    /**
+     * Opens a level, memory-mapping the file where the backend allows it and reading it into
+     * memory otherwise.
+     */
+    public static LevelFile load(FileHandle file) {
+        ByteBuffer data;
+        try {
+            data = file.map();
+        } catch (GdxRuntimeException e) {
+            // Classpath and Android asset files cannot be mapped.
+            data = ByteBuffer.wrap(file.readBytes());
+        }
+        return new LevelFile(data);
+    }
+
+    /**
+     * Reads the entities of a chunk into {@code out}, replacing what it held.
+     */
+    public void decode(int chunk, LevelChunk out) {
+        int start = data.getInt(HEADER_BYTES + chunk * 4);
+        int end = data.getInt(HEADER_BYTES + (chunk + 1) * 4);
+        out.reset(chunk);
+        for (int offset = start; offset < end; offset += ENTITY_BYTES) {
+            out.add(data.get(offset), data.getFloat(offset + 1), data.getFloat(offset + 5));
+        }
+    }
+
+    public float getChunkWidth() {
+        return chunkWidth;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * @return the width of the whole level
+     */
+    public float getWidth() {
+        return chunkWidth * chunkCount;
+    }
+}
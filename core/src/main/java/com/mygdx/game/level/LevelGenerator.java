@@ -0,0 +1,88 @@
+package com.mygdx.game.level;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Generates a long level in the binary format read by {@link LevelFile}.
+ * <p>
+ * The first chunk is left empty, since the world places the intro's NPC and hazard there itself;
+ * every other chunk gets a few NPCs and hazards scattered along the ground. The same seed always
+ * gives the same level.
+ */
+public final class LevelGenerator {
+    public static final float CHUNK_WIDTH = 1280f;
+
+    private static final int MAX_NPCS = 2;
+    private static final int MAX_HAZARDS = 5;
+    private static final float NPC_Y = 30f;
+    private static final float HAZARD_Y = 70f;
+    // Keeps entities off the chunk edges so no sprite straddles two chunks.
+    private static final float EDGE_MARGIN = 160f;
+
+    private LevelGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: LevelGenerator <output file> <chunk count> <seed>");
+            System.exit(1);
+        }
+        Path output = Paths.get(args[0]);
+        byte[] level = generate(Integer.parseInt(args[1]), Long.parseLong(args[2]));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.write(output, level);
+        System.out.println("Generated " + output.getFileName() + " (" + level.length + " bytes)");
+    }
+
+    /**
+     * @return the level file
+     */
+    public static byte[] generate(int chunkCount, long seed) {
+        if (chunkCount < 1) {
+            throw new IllegalArgumentException("A level needs at least one chunk: " + chunkCount);
+        }
+        RandomXS128 random = new RandomXS128(seed);
+        ByteArrayOutputStream entities = new ByteArrayOutputStream();
+        int[] chunkStarts = new int[chunkCount + 1];
+        int tableEnd = LevelFile.HEADER_BYTES + (chunkCount + 1) * 4;
+        try (DataOutputStream out = new DataOutputStream(entities)) {
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                chunkStarts[chunk] = tableEnd + out.size();
+                if (chunk == 0) continue;
+                float chunkX = chunk * CHUNK_WIDTH;
+                int npcs = random.nextInt(MAX_NPCS + 1);
+                int hazards = 1 + random.nextInt(MAX_HAZARDS);
+                for (int i = 0; i < npcs + hazards; i++) {
+                    boolean npc = i < npcs;
+                    out.writeByte(npc ? LevelFile.KIND_NPC : LevelFile.KIND_HAZARD);
+                    out.writeFloat(chunkX + EDGE_MARGIN + random.nextFloat() * (CHUNK_WIDTH - 2 * EDGE_MARGIN));
+                    out.writeFloat(npc ? NPC_Y : HAZARD_Y);
+                }
+            }
+            chunkStarts[chunkCount] = tableEnd + out.size();
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Writing to memory does not fail.
+        }
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream(tableEnd + entities.size());
+        try (DataOutputStream out = new DataOutputStream(file)) {
+            out.writeInt(LevelFile.MAGIC);
+            out.writeFloat(CHUNK_WIDTH);
+            out.writeInt(chunkCount);
+            for (int start : chunkStarts) {
+                out.writeInt(start);
+            }
+            entities.writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return file.toByteArray();
+    }
+}
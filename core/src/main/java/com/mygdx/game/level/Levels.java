@@ -0,0 +1,30 @@
+package com.mygdx.game.level;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * The level the game plays and how it is streamed, in one place, so the game and the headless
+ * runs that replay or serve it always simulate the same world.
+ */
+public final class Levels {
+    /** The game's level, generated by the core:generateLevel Gradle task. */
+    public static final String MEADOW_PATH = "levels/meadow.lvl";
+    /** The chunk under the camera and one on each side are in the world. */
+    public static final int LOAD_RADIUS = 1;
+    /** Three chunks more than the radius needs stay cached for walking back. */
+    public static final int CACHE_SIZE = 6;
+
+    private Levels() {
+    }
+
+    /**
+     * Opens the game's level, streamed as the game streams it.
+     *
+     * @param loaderThreads the threads that decode chunks; 0 decodes them on the caller, so chunks
+     *                      arrive on the same updates in every run, e.g. for recording and replays
+     */
+    public static ChunkStreamer streamMeadow(int loaderThreads) {
+        return new ChunkStreamer(LevelFile.load(Gdx.files.internal(MEADOW_PATH)), CACHE_SIZE, LOAD_RADIUS,
+            loaderThreads);
+    }
+}
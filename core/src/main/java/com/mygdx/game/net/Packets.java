@@ -0,0 +1,27 @@
+package com.mygdx.game.net;
+
+/**
+ * The datagrams the snapshot server and its clients exchange. Each starts with its type byte.
+ * <ul>
+ * <li>{@link #HELLO}: a client asks for snapshots; it is sent again until one arrives.</li>
+ * <li>{@link #ACK}: a client has the snapshot of a tick, which the server may now encode against.</li>
+ * <li>{@link #BYE}: a client leaves.</li>
+ * <li>{@link #SNAPSHOT}: the tick, the tick it is encoded against or {@link SnapshotCodec#NO_BASE},
+ * the server's {@code System.nanoTime()} when the state was captured, then the encoded state.</li>
+ * </ul>
+ */
+final class Packets {
+    static final byte HELLO = 1;
+    static final byte ACK = 2;
+    static final byte BYE = 3;
+    static final byte SNAPSHOT = 4;
+
+    static final int ACK_BYTES = 1 + 4;
+    /** The largest UDP payload; the level streams few enough entities in for a full snapshot to fit. */
+    static final int MAX_BYTES = 65507;
+    /** The ticks of states kept on each side to decode against, a second at 60 ticks a second. */
+    static final int HISTORY = 64;
+
+    private Packets() {
+    }
+}
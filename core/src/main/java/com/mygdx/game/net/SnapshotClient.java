@@ -0,0 +1,182 @@
+package com.mygdx.game.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.game.profiling.Histogram;
+
+/**
+ * Receives the world's state from a {@link SnapshotServer} on a non-blocking UDP channel,
+ * decoding each snapshot against the state of the tick it was encoded from and acknowledging the
+ * newest tick it has.
+ * <p>
+ * Nothing waits on the channel: {@link #poll()} reads what has arrived, so many clients can share
+ * one thread through a selector on their {@link #getChannel() channels}. A snapshot older than the
+ * newest one, or encoded from a tick this client no longer keeps, is skipped.
+ * <p>
+ * The latency of a snapshot is measured from the server's capture time, which is only comparable
+ * with this client's clock when both run in the same process, as in a loopback test.
+ */
+public class SnapshotClient implements Disposable {
+    private static final String TAG = "Client";
+    private static final IntArray EMPTY = new IntArray(0);
+
+    private final DatagramChannel channel;
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(Packets.MAX_BYTES);
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(Packets.ACK_BYTES);
+    private final IntArray[] history = new IntArray[Packets.HISTORY];
+    private final int[] historyTicks = new int[Packets.HISTORY];
+    private final Histogram snapshotBytes = new Histogram();
+    private final Histogram latencyNanos = new Histogram();
+    private int latestTick = SnapshotCodec.NO_BASE;
+    private int skippedSnapshots;
+
+    /**
+     * Opens a channel to the server and asks it for snapshots.
+     */
+    public SnapshotClient(InetSocketAddress server) {
+        for (int i = 0; i < history.length; i++) {
+            history[i] = new IntArray();
+            historyTicks[i] = SnapshotCodec.NO_BASE;
+        }
+        try {
+            channel = DatagramChannel.open();
+            channel.configureBlocking(false);
+            channel.connect(server);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not connect to the snapshot server at " + server, e);
+        }
+        sendSignal(Packets.HELLO);
+    }
+
+    /**
+     * @return the channel, to register with a selector for reading
+     */
+    public DatagramChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Decodes every snapshot that has arrived and acknowledges the newest.
+     *
+     * @return the number of snapshots decoded
+     */
+    public int poll() {
+        int decoded = 0;
+        try {
+            while (channel.read(receiveBuffer.clear()) > 0) {
+                long receivedNanos = System.nanoTime();
+                receiveBuffer.flip();
+                try {
+                    if (receiveSnapshot(receiveBuffer, receivedNanos)) {
+                        decoded++;
+                    }
+                } catch (BufferUnderflowException | GdxRuntimeException e) {
+                    skippedSnapshots++;
+                }
+            }
+        } catch (IOException e) {
+            // Loopback reports a closed server port as an error on the next read.
+            Gdx.app.error(TAG, "could not receive", e);
+        }
+        if (decoded > 0) {
+            sendBuffer.clear();
+            sendBuffer.put(Packets.ACK).putInt(latestTick).flip();
+            send();
+        } else if (latestTick == SnapshotCodec.NO_BASE) {
+            sendSignal(Packets.HELLO);
+        }
+        return decoded;
+    }
+
+    private boolean receiveSnapshot(ByteBuffer packet, long receivedNanos) {
+        int bytes = packet.remaining();
+        if (packet.get() != Packets.SNAPSHOT) return false;
+        int tick = packet.getInt();
+        int baseTick = packet.getInt();
+        long captureNanos = packet.getLong();
+        IntArray baseline = baseTick == SnapshotCodec.NO_BASE ? null : getState(baseTick);
+        if (tick <= latestTick || baseTick != SnapshotCodec.NO_BASE && baseline == null) {
+            skippedSnapshots++;
+            return false;
+        }
+        int slot = tick % Packets.HISTORY;
+        SnapshotCodec.decode(packet, baseline != null ? baseline : EMPTY, history[slot]);
+        historyTicks[slot] = tick;
+        latestTick = tick;
+        snapshotBytes.record(bytes);
+        latencyNanos.record(receivedNanos - captureNanos);
+        return true;
+    }
+
+    /**
+     * @return the decoded state of the given tick, or null if it was not received or is no longer kept
+     */
+    public IntArray getState(int tick) {
+        if (tick < 0) return null;
+        int slot = tick % Packets.HISTORY;
+        return historyTicks[slot] == tick ? history[slot] : null;
+    }
+
+    /**
+     * @return the newest tick received, or {@link SnapshotCodec#NO_BASE} before the first
+     */
+    public int getLatestTick() {
+        return latestTick;
+    }
+
+    /**
+     * @return the size of every snapshot decoded, in bytes, headers included
+     */
+    public Histogram getSnapshotBytes() {
+        return snapshotBytes;
+    }
+
+    /**
+     * @return the time from the server capturing each decoded state to this client reading it
+     */
+    public Histogram getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * @return the snapshots that arrived out of order, against a lost baseline or malformed
+     */
+    public int getSkippedSnapshots() {
+        return skippedSnapshots;
+    }
+
+    private void sendSignal(byte type) {
+        sendBuffer.clear();
+        sendBuffer.put(type).flip();
+        send();
+    }
+
+    private void send() {
+        try {
+            channel.write(sendBuffer);
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "could not send", e);
+        }
+    }
+
+    /**
+     * Tells the server this client leaves, and closes the channel.
+     */
+    @Override
+    public void dispose() {
+        sendSignal(Packets.BYE);
+        try {
+            channel.close();
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "could not close", e);
+        }
+    }
+}
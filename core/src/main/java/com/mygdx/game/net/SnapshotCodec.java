@@ -0,0 +1,153 @@
+package com.mygdx.game.net;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.game.entity.EntityStore;
+import com.mygdx.game.world.GameWorld;
+
+/**
+ * Turns the state of a {@link GameWorld} into a flat list of quantized integers, and encodes such
+ * a list as a change from an older one the receiver already has.
+ * <p>
+ * Positions are kept to {@value #POSITION_SCALE}ths of a pixel and the zoom to 1/{@value #ZOOM_SCALE},
+ * which no one can see, so a field that did not move is exactly equal to its old value. A snapshot
+ * then lists which fields changed in a bit mask, one bit per field, followed by the changed
+ * fields' differences as zigzag varints: a small move takes one byte and an unchanged field only
+ * its bit. A snapshot with no baseline is encoded against zeros.
+ * <p>
+ * The fields are the character's flags and position, the camera, the dialogue, then each NPC's
+ * position and sprite and each hazard's position and visibility. Entities are listed by their
+ * index, so when one leaves with its chunk the ones after it shift and cost a few more bytes once.
+ */
+public final class SnapshotCodec {
+    public static final int POSITION_SCALE = 8;
+    public static final int ZOOM_SCALE = 1024;
+    /** The base tick of a snapshot encoded against zeros, which the receiver can always decode. */
+    public static final int NO_BASE = -1;
+
+    static final int MOVING = 1;
+    static final int FACING_LEFT = 1 << 1;
+    static final int IN_DIALOGUE = 1 << 2;
+    static final int CUTSCENE_FINISHED = 1 << 3;
+    static final int DIALOGUE_VISIBLE = 1 << 4;
+
+    /** The index of the NPC count; the entities' fields follow the counts. */
+    static final int NPC_COUNT_FIELD = 8;
+    static final int HEADER_FIELDS = 10;
+    static final int NPC_FIELDS = 3;
+    static final int HAZARD_FIELDS = 3;
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * Clears the list and fills it with the world's quantized state.
+     */
+    public static void quantize(GameWorld world, IntArray out) {
+        out.clear();
+        int flags = (world.isMoving() ? MOVING : 0)
+            | (world.isFacingLeft() ? FACING_LEFT : 0)
+            | (world.isInDialogue() ? IN_DIALOGUE : 0)
+            | (world.isCutsceneFinished() ? CUTSCENE_FINISHED : 0)
+            | (world.getDialogue().isVisible() ? DIALOGUE_VISIBLE : 0);
+        out.add(flags);
+        out.add(position(world.getCharacterPosition().x));
+        out.add(position(world.getCharacterPosition().y));
+        out.add(position(world.getCamera().position.x));
+        out.add(position(world.getCamera().position.y));
+        out.add(Math.round(world.getCamera().zoom * ZOOM_SCALE));
+        out.add(world.getCurrentDialogueLine());
+        out.add(world.getDialogue().getVisibleCharCount());
+        EntityStore npcs = world.getNpcs();
+        EntityStore hazards = world.getHazards();
+        out.add(npcs.size());
+        out.add(hazards.size());
+        out.ensureCapacity(npcs.size() * NPC_FIELDS + hazards.size() * HAZARD_FIELDS);
+        for (int i = 0, n = npcs.size(); i < n; i++) {
+            out.add(position(npcs.getX(i)));
+            out.add(position(npcs.getY(i)));
+            out.add(npcs.getSprite(i));
+        }
+        for (int i = 0, n = hazards.size(); i < n; i++) {
+            out.add(position(hazards.getX(i)));
+            out.add(position(hazards.getY(i)));
+            out.add(hazards.isVisible(i) ? 1 : 0);
+        }
+    }
+
+    private static int position(float value) {
+        return Math.round(value * POSITION_SCALE);
+    }
+
+    /**
+     * Writes the fields of a state that differ from the baseline.
+     *
+     * @param baseline the state the receiver already has, or an empty list for none
+     */
+    public static void encode(IntArray state, IntArray baseline, ByteBuffer out) {
+        int count = state.size;
+        writeVarint(out, count);
+        int maskStart = out.position();
+        int maskBytes = (count + 7) >>> 3;
+        for (int i = 0; i < maskBytes; i++) {
+            out.put((byte) 0);
+        }
+        int[] fields = state.items;
+        int[] base = baseline.items;
+        int baseCount = baseline.size;
+        for (int i = 0; i < count; i++) {
+            int delta = fields[i] - (i < baseCount ? base[i] : 0);
+            if (delta != 0) {
+                int maskByte = maskStart + (i >>> 3);
+                out.put(maskByte, (byte) (out.get(maskByte) | 1 << (i & 7)));
+                writeVarint(out, delta << 1 ^ delta >> 31);
+            }
+        }
+    }
+
+    /**
+     * Reads a state written by {@link #encode} against the same baseline.
+     *
+     * @param out cleared and filled with the state
+     */
+    public static void decode(ByteBuffer in, IntArray baseline, IntArray out) {
+        int count = readVarint(in);
+        if (count < 0 || count > in.remaining() * 8) {
+            throw new GdxRuntimeException("Bad snapshot field count: " + count);
+        }
+        int maskStart = in.position();
+        in.position(maskStart + ((count + 7) >>> 3));
+        out.clear();
+        out.ensureCapacity(count);
+        int[] base = baseline.items;
+        int baseCount = baseline.size;
+        for (int i = 0; i < count; i++) {
+            int value = i < baseCount ? base[i] : 0;
+            if ((in.get(maskStart + (i >>> 3)) & 1 << (i & 7)) != 0) {
+                int zigzag = readVarint(in);
+                value += zigzag >>> 1 ^ -(zigzag & 1);
+            }
+            out.add(value);
+        }
+    }
+
+    static void writeVarint(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static int readVarint(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new GdxRuntimeException("Malformed varint in snapshot");
+    }
+}
@@ -0,0 +1,243 @@
+package com.mygdx.game.net;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.mygdx.game.profiling.Histogram;
+import com.mygdx.game.world.GameWorld;
+
+/**
+ * Sends the state of an authoritative {@link GameWorld} to its clients after every tick, over one
+ * non-blocking UDP channel on the thread that updates the world.
+ * <p>
+ * The world's state is quantized once per tick and kept for {@link Packets#HISTORY} ticks. Each
+ * client gets it encoded against the newest tick it has acknowledged, so a client that keeps up
+ * receives only what changed since a tick or two ago; a client whose acknowledgements stopped
+ * arriving gets full snapshots until one does. A lost snapshot is never resent: the next one
+ * carries the newer state anyway.
+ * <p>
+ * Nothing blocks: waiting datagrams are read until none is left, and a snapshot the socket has
+ * no room for is dropped and counted.
+ */
+public class SnapshotServer implements Disposable {
+    private static final String TAG = "Server";
+    private static final long CLIENT_TIMEOUT_NANOS = 5_000_000_000L;
+    private static final IntArray EMPTY = new IntArray(0);
+
+    private final DatagramChannel channel;
+    private final ByteBuffer receiveBuffer = ByteBuffer.allocateDirect(Packets.MAX_BYTES);
+    private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(Packets.MAX_BYTES);
+    private final IntArray[] history = new IntArray[Packets.HISTORY];
+    private final int[] historyTicks = new int[Packets.HISTORY];
+    private final ObjectMap<SocketAddress, Client> clientsByAddress = new ObjectMap<>();
+    private final Array<Client> clients = new Array<>(false, 16);
+    private final Histogram encodeNanos = new Histogram();
+    private final Histogram snapshotBytes = new Histogram();
+    private final Histogram fullSnapshotBytes = new Histogram();
+    private int tick = -1;
+    private long bytesSent;
+    private int droppedSnapshots;
+
+    /**
+     * Opens the server's socket.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     */
+    public SnapshotServer(InetSocketAddress address) {
+        for (int i = 0; i < history.length; i++) {
+            history[i] = new IntArray();
+            historyTicks[i] = SnapshotCodec.NO_BASE;
+        }
+        try {
+            channel = DatagramChannel.open();
+            channel.configureBlocking(false);
+            channel.bind(address);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not open the snapshot server on " + address, e);
+        }
+    }
+
+    /**
+     * @return the address the server listens on, with the port it was given
+     */
+    public InetSocketAddress getAddress() {
+        try {
+            return (InetSocketAddress) channel.getLocalAddress();
+        } catch (IOException e) {
+            throw new GdxRuntimeException(e);
+        }
+    }
+
+    /**
+     * Handles the clients' datagrams, then sends every client the world's state after the tick
+     * that just ran. Call once per world update.
+     */
+    public void update(GameWorld world) {
+        long now = System.nanoTime();
+        receive(now);
+        tick++;
+        int slot = tick % Packets.HISTORY;
+        IntArray state = history[slot];
+        SnapshotCodec.quantize(world, state);
+        historyTicks[slot] = tick;
+        for (int i = clients.size - 1; i >= 0; i--) {
+            Client client = clients.get(i);
+            if (now - client.lastHeardNanos > CLIENT_TIMEOUT_NANOS) {
+                removeClient(client);
+            } else {
+                send(client, state, now);
+            }
+        }
+    }
+
+    private void receive(long now) {
+        try {
+            SocketAddress from;
+            while ((from = channel.receive(receiveBuffer.clear())) != null) {
+                receiveBuffer.flip();
+                try {
+                    handle(from, receiveBuffer, now);
+                } catch (BufferUnderflowException e) {
+                    // A truncated datagram; UDP does not deliver those, so it was not from a client.
+                }
+            }
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "could not receive", e);
+        }
+    }
+
+    private void handle(SocketAddress from, ByteBuffer packet, long now) {
+        byte type = packet.get();
+        Client client = clientsByAddress.get(from);
+        if (type == Packets.HELLO && client == null) {
+            client = new Client(from);
+            clientsByAddress.put(from, client);
+            clients.add(client);
+        }
+        if (client == null) return;
+        client.lastHeardNanos = now;
+        if (type == Packets.ACK) {
+            client.ackedTick = Math.max(client.ackedTick, packet.getInt());
+        } else if (type == Packets.BYE) {
+            removeClient(client);
+        }
+    }
+
+    private void removeClient(Client client) {
+        clientsByAddress.remove(client.address);
+        clients.removeValue(client, true);
+    }
+
+    private void send(Client client, IntArray state, long captureNanos) {
+        IntArray baseline = getState(client.ackedTick);
+        int baseTick = baseline != null ? client.ackedTick : SnapshotCodec.NO_BASE;
+        long start = System.nanoTime();
+        ByteBuffer packet = sendBuffer.clear();
+        try {
+            packet.put(Packets.SNAPSHOT).putInt(tick).putInt(baseTick).putLong(captureNanos);
+            SnapshotCodec.encode(state, baseline != null ? baseline : EMPTY, packet);
+        } catch (BufferOverflowException e) {
+            droppedSnapshots++;
+            return;
+        }
+        packet.flip();
+        encodeNanos.record(System.nanoTime() - start);
+        int bytes = packet.remaining();
+        try {
+            if (channel.send(packet, client.address) == 0) {
+                droppedSnapshots++;
+                return;
+            }
+        } catch (IOException e) {
+            droppedSnapshots++;
+            return;
+        }
+        bytesSent += bytes;
+        snapshotBytes.record(bytes);
+        if (baseline == null) {
+            fullSnapshotBytes.record(bytes);
+        }
+    }
+
+    /**
+     * @return the quantized state after the given tick, or null if it is no longer kept
+     */
+    public IntArray getState(int tick) {
+        if (tick < 0) return null;
+        int slot = tick % Packets.HISTORY;
+        return historyTicks[slot] == tick ? history[slot] : null;
+    }
+
+    /**
+     * @return the number of ticks sent so far, less one
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    public int getClientCount() {
+        return clients.size;
+    }
+
+    /**
+     * @return the time each client's snapshot took to encode, in nanoseconds
+     */
+    public Histogram getEncodeNanos() {
+        return encodeNanos;
+    }
+
+    /**
+     * @return the size of every snapshot sent, in bytes, headers included
+     */
+    public Histogram getSnapshotBytes() {
+        return snapshotBytes;
+    }
+
+    /**
+     * @return the size of the snapshots sent without a baseline, in bytes
+     */
+    public Histogram getFullSnapshotBytes() {
+        return fullSnapshotBytes;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * @return the snapshots that did not fit in a datagram or in the socket's buffer
+     */
+    public int getDroppedSnapshots() {
+        return droppedSnapshots;
+    }
+
+    @Override
+    public void dispose() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "could not close", e);
+        }
+    }
+
+    private static final class Client {
+        final SocketAddress address;
+        int ackedTick = SnapshotCodec.NO_BASE;
+        long lastHeardNanos;
+
+        Client(SocketAddress address) {
+            this.address = address;
+        }
+    }
+}
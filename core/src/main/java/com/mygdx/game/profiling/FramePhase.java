@@ -0,0 +1,29 @@
+package com.mygdx.game.profiling;
+
+/**
+ * The parts of a frame that {@link FrameProfiler} times separately.
+ */
+public enum FramePhase {
+    /** The whole frame, from the start of {@code render()} to its end. */
+    FRAME,
+    CLEAR,
+    LOADING,
+    MENU,
+    /** Entering and leaving level chunks around the camera. */
+    WORLD_STREAMING,
+    /** Playing the cutscene, or moving the character from the player's input. */
+    WORLD_CUTSCENE_INPUT,
+    WORLD_CAMERA,
+    /** Moving the character's collider and looking for an NPC in reach. */
+    WORLD_COLLIDERS,
+    WORLD_DIALOGUE,
+    WORLD_HAZARDS,
+    /** Advancing the animated entities and picking their frames. */
+    WORLD_ANIMATION,
+    /** Moving and ageing the particles of effects. */
+    EFFECTS,
+    RENDER_GAME,
+    AUDIO,
+    /** Scaling the scene up from its offscreen buffer to the window. */
+    PRESENT
+}
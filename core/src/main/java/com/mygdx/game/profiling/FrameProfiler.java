@@ -0,0 +1,174 @@
+package com.mygdx.game.profiling;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Records how long each {@link FramePhase} takes into a histogram per phase, along with the draw
+ * calls, texture binds and sprite batch flushes of every frame and the garbage collections since
+ * the last reset.
+ * <p>
+ * A phase is timed with {@link #start()} and {@link #stop(FramePhase, long)}, or {@link #lap} for
+ * back-to-back phases. Neither allocates,
+ * and while the profiler is disabled they skip reading the clock, so the calls can stay in the
+ * game loop. The histograms are only allocated the first time the profiler is enabled.
+ */
+public class FrameProfiler {
+    private static final FramePhase[] PHASES = FramePhase.values();
+
+    private boolean enabled;
+    private Histogram[] phaseTimes;
+    private Histogram drawCalls;
+    private Histogram textureBindings;
+    private Histogram batchFlushes;
+    private List<GarbageCollectorMXBean> collectors;
+    private long collectionsAtReset;
+    private long collectionMillisAtReset;
+
+    public void setEnabled(boolean enabled) {
+        if (enabled && phaseTimes == null) {
+            phaseTimes = new Histogram[PHASES.length];
+            for (int i = 0; i < PHASES.length; i++) {
+                phaseTimes[i] = new Histogram();
+            }
+            drawCalls = new Histogram();
+            textureBindings = new Histogram();
+            batchFlushes = new Histogram();
+            collectors = ManagementFactory.getGarbageCollectorMXBeans();
+            reset();
+        }
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the start time to pass to {@link #stop}, or 0 while disabled
+     */
+    public long start() {
+        return enabled ? TimeUtils.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time since {@code startTime} for the given phase.
+     */
+    public void stop(FramePhase phase, long startTime) {
+        if (enabled) {
+            phaseTimes[phase.ordinal()].record(TimeUtils.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Records the time since {@code startTime} for the given phase and starts timing the next one.
+     *
+     * @return the start time of the next phase
+     */
+    public long lap(FramePhase phase, long startTime) {
+        if (!enabled) return 0L;
+        long now = TimeUtils.nanoTime();
+        phaseTimes[phase.ordinal()].record(now - startTime);
+        return now;
+    }
+
+    /**
+     * Records the GPU work of a frame, e.g. as counted by {@code GLProfiler}, and the times the
+     * sprite batch flushed its vertices during it.
+     */
+    public void recordRenderStats(int drawCalls, int textureBindings, int batchFlushes) {
+        if (enabled) {
+            this.drawCalls.record(drawCalls);
+            this.textureBindings.record(textureBindings);
+            this.batchFlushes.record(batchFlushes);
+        }
+    }
+
+    public Histogram getPhaseTimes(FramePhase phase) {
+        return phaseTimes[phase.ordinal()];
+    }
+
+    public Histogram getDrawCalls() {
+        return drawCalls;
+    }
+
+    public Histogram getTextureBindings() {
+        return textureBindings;
+    }
+
+    public Histogram getBatchFlushes() {
+        return batchFlushes;
+    }
+
+    /**
+     * @return the garbage collections of all collectors since the last reset
+     */
+    public long getCollections() {
+        return totalCollections() - collectionsAtReset;
+    }
+
+    /**
+     * @return the milliseconds spent in garbage collection since the last reset
+     */
+    public long getCollectionMillis() {
+        return totalCollectionMillis() - collectionMillisAtReset;
+    }
+
+    public void reset() {
+        for (Histogram histogram : phaseTimes) {
+            histogram.reset();
+        }
+        drawCalls.reset();
+        textureBindings.reset();
+        batchFlushes.reset();
+        collectionsAtReset = totalCollections();
+        collectionMillisAtReset = totalCollectionMillis();
+    }
+
+    /**
+     * Writes every histogram as a CSV row, with times in nanoseconds: one row per phase, then the
+     * draw calls, texture binds and batch flushes per frame, then the garbage collections.
+     */
+    public void writeCsv(FileHandle file) {
+        StringBuilder csv = new StringBuilder("metric,count,mean,p50,p99,max\n");
+        for (FramePhase phase : PHASES) {
+            appendRow(csv, phase.name().toLowerCase(Locale.ROOT) + "_ns", getPhaseTimes(phase));
+        }
+        appendRow(csv, "draw_calls", drawCalls);
+        appendRow(csv, "texture_bindings", textureBindings);
+        appendRow(csv, "batch_flushes", batchFlushes);
+        csv.append("gc_collections,").append(getCollections()).append(",,,,\n");
+        csv.append("gc_ms,").append(getCollectionMillis()).append(",,,,\n");
+        file.writeString(csv.toString(), false, "UTF-8");
+    }
+
+    private static void appendRow(StringBuilder csv, String metric, Histogram histogram) {
+        csv.append(metric).append(',')
+            .append(histogram.getCount()).append(',')
+            .append(Math.round(histogram.getMean())).append(',')
+            .append(histogram.getPercentile(50)).append(',')
+            .append(histogram.getPercentile(99)).append(',')
+            .append(histogram.getMax()).append('\n');
+    }
+
+    private long totalCollections() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(collector.getCollectionCount(), 0L);
+        }
+        return total;
+    }
+
+    private long totalCollectionMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            total += Math.max(collector.getCollectionTime(), 0L);
+        }
+        return total;
+    }
+}
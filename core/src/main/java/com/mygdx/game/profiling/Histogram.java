@@ -0,0 +1,98 @@
+package com.mygdx.game.profiling;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size histogram of non-negative long values, such as nanosecond timings or per-frame counts.
+ * <p>
+ * Buckets double in width every {@value #SUB_BUCKETS} buckets, so every value up to about
+ * 2<sup>40</sup> is counted in a bucket at most 1/{@value #SUB_BUCKETS} wider than the value
+ * itself. Recording is a few shifts and an array increment, with no allocation; percentiles are
+ * reported as the upper edge of their bucket. The largest value is kept exactly.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count;
+    private long sum;
+    private long max;
+
+    public void record(long value) {
+        value = Math.max(value, 0L);
+        counts[bucket(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * @param percentile from 0 to 100
+     * @return the upper edge of the bucket holding the given percentile, at most {@link #getMax()},
+     *         or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(upperEdge(bucket), max);
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Adds the values recorded in another histogram to this one, e.g. to report many sources together.
+     */
+    public void add(Histogram other) {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperEdge(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
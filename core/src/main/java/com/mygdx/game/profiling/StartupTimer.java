@@ -0,0 +1,30 @@
+package com.mygdx.game.profiling;
+
+import com.badlogic.gdx.utils.TimeUtils;
+
+/**
+ * Times startup milestones, like the first rendered frame, from the moment the game was launched.
+ */
+public final class StartupTimer {
+    private static long launchNanos;
+
+    private StartupTimer() {
+    }
+
+    /**
+     * Marks the launch. The launcher calls this first thing in {@code main}; later calls do nothing,
+     * so the game can call it too for backends whose launcher does not.
+     */
+    public static void markLaunch() {
+        if (launchNanos == 0) {
+            launchNanos = TimeUtils.nanoTime();
+        }
+    }
+
+    /**
+     * @return the milliseconds since {@link #markLaunch()}
+     */
+    public static long millisSinceLaunch() {
+        return TimeUtils.nanosToMillis(TimeUtils.timeSinceNanos(launchNanos));
+    }
+}
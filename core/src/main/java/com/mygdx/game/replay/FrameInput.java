@@ -0,0 +1,85 @@
+package com.mygdx.game.replay;
+
+import com.mygdx.game.world.WorldInput;
+
+/**
+ * Everything a frame of the game reacts to: the frame's delta time, the world input and a menu
+ * touch. The game fills one of these per frame, either from the live input or from an
+ * {@link InputReplay}, and only reads input through it, so a recorded session plays back exactly.
+ */
+public class FrameInput implements WorldInput {
+    static final int LEFT = 1;
+    static final int RIGHT = 1 << 1;
+    static final int TALK = 1 << 2;
+    static final int TOUCH = 1 << 3;
+    static final int IN_GAME = 1 << 4;
+
+    private float delta;
+    private int flags;
+    private int touchX;
+    private int touchY;
+
+    /**
+     * Takes the state of a frame.
+     *
+     * @param keys    the world input, e.g. the live keyboard, copied at this moment
+     * @param touched whether the screen was touched or clicked this frame, at the given screen coordinates
+     * @param inGame  whether the frame updates the world rather than the menu; replays outside the
+     *                game use this to skip menu frames
+     */
+    public void set(float delta, WorldInput keys, boolean touched, int touchX, int touchY, boolean inGame) {
+        int flags = 0;
+        if (keys.isLeftPressed()) flags |= LEFT;
+        if (keys.isRightPressed()) flags |= RIGHT;
+        if (keys.isTalkJustPressed()) flags |= TALK;
+        if (touched) flags |= TOUCH;
+        if (inGame) flags |= IN_GAME;
+        set(delta, flags, touched ? touchX : 0, touched ? touchY : 0);
+    }
+
+    void set(float delta, int flags, int touchX, int touchY) {
+        this.delta = delta;
+        this.flags = flags;
+        this.touchX = touchX;
+        this.touchY = touchY;
+    }
+
+    public float getDelta() {
+        return delta;
+    }
+
+    int getFlags() {
+        return flags;
+    }
+
+    @Override
+    public boolean isLeftPressed() {
+        return (flags & LEFT) != 0;
+    }
+
+    @Override
+    public boolean isRightPressed() {
+        return (flags & RIGHT) != 0;
+    }
+
+    @Override
+    public boolean isTalkJustPressed() {
+        return (flags & TALK) != 0;
+    }
+
+    public boolean isTouchJustPressed() {
+        return (flags & TOUCH) != 0;
+    }
+
+    public int getTouchX() {
+        return touchX;
+    }
+
+    public int getTouchY() {
+        return touchY;
+    }
+
+    public boolean isInGame() {
+        return (flags & IN_GAME) != 0;
+    }
+}
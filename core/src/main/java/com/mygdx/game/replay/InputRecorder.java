@@ -0,0 +1,61 @@
+package com.mygdx.game.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Records a play session frame by frame, for {@link InputReplay} to play back.
+ * <p>
+ * The file starts with a magic number, the frame count and the tick rate the game simulated at,
+ * which a replay has to use too to step the world the same way. Each frame is then its delta time as
+ * a float and a byte of flags, followed by the touch position as two shorts only on frames with a
+ * touch, so an hour at 60 frames per second takes about a megabyte.
+ */
+public class InputRecorder {
+    static final int MAGIC = 0x494E5032; // "INP2"
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private final int tickRate;
+    private int frameCount;
+
+    /**
+     * @param tickRate the ticks per second of the game's {@code FixedTimestep}
+     */
+    public InputRecorder(int tickRate) {
+        this.tickRate = tickRate;
+    }
+
+    public void record(FrameInput frame) {
+        try {
+            out.writeFloat(frame.getDelta());
+            out.writeByte(frame.getFlags());
+            if (frame.isTouchJustPressed()) {
+                out.writeShort(frame.getTouchX());
+                out.writeShort(frame.getTouchY());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Writing to memory does not fail.
+        }
+        frameCount++;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public void save(FileHandle file) {
+        try (DataOutputStream header = new DataOutputStream(file.write(false))) {
+            header.writeInt(MAGIC);
+            header.writeInt(frameCount);
+            header.writeInt(tickRate);
+            bytes.writeTo(header);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not save the input recording to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.mygdx.game.replay;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Plays back a session recorded by {@link InputRecorder}, one frame at a time.
+ */
+public class InputReplay {
+    private final ByteBuffer data;
+    private final int frameCount;
+    private final int tickRate;
+    private int frame;
+
+    public InputReplay(FileHandle file) {
+        data = ByteBuffer.wrap(file.readBytes());
+        if (data.getInt() != InputRecorder.MAGIC) {
+            throw new GdxRuntimeException("Not an input recording: " + file);
+        }
+        frameCount = data.getInt();
+        tickRate = data.getInt();
+    }
+
+    /**
+     * Reads the next frame.
+     *
+     * @return false once every frame has been played
+     */
+    public boolean next(FrameInput out) {
+        if (frame == frameCount) return false;
+        float delta = data.getFloat();
+        int flags = data.get() & 0xff;
+        int touchX = 0;
+        int touchY = 0;
+        if ((flags & FrameInput.TOUCH) != 0) {
+            touchX = data.getShort();
+            touchY = data.getShort();
+        }
+        out.set(delta, flags, touchX, touchY);
+        frame++;
+        return true;
+    }
+
+    /**
+     * @return the tick rate the session was simulated at, which the replay must use too
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return the number of frames played so far
+     */
+    public int getFrame() {
+        return frame;
+    }
+}
@@ -0,0 +1,129 @@
+package com.mygdx.game.save;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Writes save snapshots to a file on a background thread, so saving never stalls a frame.
+ * <p>
+ * Each snapshot is written through a {@link FileChannel} to a temporary file next to the save,
+ * flushed to the disk and then moved over the save, so a crash mid-write leaves the previous save
+ * intact. If snapshots come in faster than the disk takes them, only the newest waiting one is
+ * written; the ones it replaced were older states anyway.
+ */
+public class AutoSaver implements Disposable {
+    private static final String TAG = "Save";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final FileHandle file;
+    private final Path path;
+    private final Path tempPath;
+    private final ExecutorService writer;
+    private final AtomicReference<SaveSnapshot> pending = new AtomicReference<>();
+    private volatile int savedCount;
+    private volatile long lastWriteNanos;
+
+    /**
+     * @param file the save file; it must be on the file system, e.g. a local, external or absolute
+     *             file, and its directory is made when the first snapshot is written
+     */
+    public AutoSaver(FileHandle file) {
+        this.file = file;
+        path = file.file().toPath().toAbsolutePath();
+        tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a snapshot to be written and returns right away.
+     */
+    public void save(SaveSnapshot snapshot) {
+        // Only schedule a write if none is waiting; a waiting write picks up the newest snapshot.
+        if (pending.getAndSet(snapshot) == null) {
+            writer.execute(this::writePending);
+        }
+    }
+
+    private void writePending() {
+        SaveSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot == null) return;
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(path.getParent());
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+                snapshot.write(channel);
+                channel.force(false);
+            }
+            try {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            lastWriteNanos = System.nanoTime() - start;
+            savedCount++;
+        } catch (IOException e) {
+            Gdx.app.error(TAG, "could not write " + path, e);
+        }
+    }
+
+    /**
+     * @return whether there is a save to load
+     */
+    public boolean hasSave() {
+        return file.exists();
+    }
+
+    /**
+     * Reads the save file. Snapshots still being written are not waited for.
+     */
+    public SaveSnapshot load() {
+        return SaveSnapshot.load(file);
+    }
+
+    /**
+     * @return the number of snapshots written so far
+     */
+    public int getSavedCount() {
+        return savedCount;
+    }
+
+    /**
+     * @return how long the last write took on the background thread, flush and move included
+     */
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    /**
+     * Finishes writing the snapshot that is waiting, if any, and stops the background thread.
+     */
+    @Override
+    public void dispose() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Gdx.app.error(TAG, "gave up waiting for the last save to be written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
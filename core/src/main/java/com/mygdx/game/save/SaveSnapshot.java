@@ -0,0 +1,113 @@
+package com.mygdx.game.save;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.mygdx.game.gamestate.GameState;
+import com.mygdx.game.world.GameWorld;
+
+/**
+ * A saved game: the game state and everything {@link GameWorld#writeState} writes, already encoded
+ * in the save file format.
+ * <p>
+ * A snapshot is captured on the render thread in a few microseconds and never changes after, so
+ * it can be handed to another thread and written there while the game goes on.
+ * <p>
+ * The file starts with a magic number and the format version, then the game state as a byte,
+ * then the world's state. A file of another version is refused instead of being misread; when
+ * the world's state changes, {@link #VERSION} changes with it.
+ */
+public final class SaveSnapshot {
+    /** The version of the save format this build reads and writes. */
+    public static final int VERSION = 1;
+
+    static final int MAGIC = 0x53415645; // "SAVE"
+    private static final int HEADER_BYTES = 2 * 4 + 1;
+    private static final GameState[] GAME_STATES = GameState.values();
+
+    private final ByteBuffer data;
+    private final GameState gameState;
+
+    private SaveSnapshot(ByteBuffer data, GameState gameState) {
+        this.data = data;
+        this.gameState = gameState;
+    }
+
+    /**
+     * Copies the state of the game into a new snapshot.
+     */
+    public static SaveSnapshot capture(GameWorld world, GameState gameState) {
+        ByteBuffer data = ByteBuffer.allocate(HEADER_BYTES + world.getStateSize());
+        data.putInt(MAGIC);
+        data.putInt(VERSION);
+        data.put((byte) gameState.ordinal());
+        world.writeState(data);
+        data.flip();
+        return new SaveSnapshot(data.asReadOnlyBuffer(), gameState);
+    }
+
+    /**
+     * Reads a snapshot from the contents of a save file.
+     *
+     * @param data the file's bytes; the snapshot keeps them, so they must not change after
+     */
+    public static SaveSnapshot read(ByteBuffer data) {
+        ByteBuffer view = data.asReadOnlyBuffer();
+        if (view.remaining() < HEADER_BYTES || view.getInt(view.position()) != MAGIC) {
+            throw new GdxRuntimeException("Not a saved game");
+        }
+        int version = view.getInt(view.position() + 4);
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Saved game version " + version + " is not supported, only " + VERSION);
+        }
+        int state = view.get(view.position() + 8);
+        if (state < 0 || state >= GAME_STATES.length) {
+            throw new GdxRuntimeException("Unknown game state in saved game: " + state);
+        }
+        return new SaveSnapshot(view, GAME_STATES[state]);
+    }
+
+    public static SaveSnapshot load(FileHandle file) {
+        return read(ByteBuffer.wrap(file.readBytes()));
+    }
+
+    public GameState getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Puts the world back in the state it was captured in.
+     *
+     * @throws GdxRuntimeException if the snapshot ends before the world's state does
+     */
+    public void restore(GameWorld world) {
+        ByteBuffer in = data.duplicate();
+        in.position(in.position() + HEADER_BYTES);
+        try {
+            world.readState(in);
+        } catch (BufferUnderflowException e) {
+            throw new GdxRuntimeException("Saved game is truncated", e);
+        }
+    }
+
+    /**
+     * Writes the whole snapshot to a channel.
+     */
+    public void write(WritableByteChannel channel) throws IOException {
+        ByteBuffer out = data.duplicate();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+    }
+
+    /**
+     * @return the size of the snapshot in bytes
+     */
+    public int size() {
+        return data.remaining();
+    }
+}
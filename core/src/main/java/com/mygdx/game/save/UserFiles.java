@@ -0,0 +1,26 @@
+package com.mygdx.game.save;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Finds the files the game writes for its player, such as the save and frame profiles.
+ * <p>
+ * They go to a directory in external storage, the user's home on desktop, and never to the
+ * working directory: the desktop and headless run tasks run in the assets folder the game ships,
+ * where anything written would end up among the assets.
+ */
+public final class UserFiles {
+    /** The directory, in external storage, that the game's files are written to. */
+    public static final String DIRECTORY = ".simple2dgame/";
+
+    private UserFiles() {
+    }
+
+    /**
+     * @return the file of the given name in the game's directory, which may not exist yet
+     */
+    public static FileHandle get(String name) {
+        return Gdx.files.external(DIRECTORY + name);
+    }
+}
@@ -0,0 +1,114 @@
+package com.mygdx.game.world;
+
+/**
+ * Advances a {@link GameWorld} in ticks of a fixed length, however long the rendered frames are.
+ * <p>
+ * Each frame's time is added to an accumulator and the world is updated once per whole tick that
+ * fits; the remainder carries over to the next frame. The world therefore sees the same deltas at
+ * any frame rate, and the same frame times always give the same ticks, so recordings replay
+ * exactly. What is left in the accumulator is how far the frame is between the last two ticks,
+ * which the renderer uses to interpolate, see {@link #getAlpha()}.
+ * <p>
+ * A frame counts as at most {@link #MAX_FRAME_DELTA} seconds. After a longer hitch the simulation
+ * drops the excess time instead of trying to catch up, which would make the next frame longer still.
+ */
+public class FixedTimestep {
+    public static final int DEFAULT_TICK_RATE = 60;
+    /** The most time one frame may add, in seconds; it bounds the ticks a frame runs. */
+    public static final float MAX_FRAME_DELTA = 0.25f;
+
+    private final float step;
+    private final TickInput tickInput = new TickInput();
+    private float accumulator;
+    private int ticks;
+    private long totalTicks;
+
+    /**
+     * @param tickRate the ticks per second of simulated time
+     */
+    public FixedTimestep(int tickRate) {
+        if (tickRate < 1) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + tickRate);
+        }
+        step = 1f / tickRate;
+    }
+
+    /**
+     * Adds a frame's time and updates the world once per whole tick that fits.
+     * <p>
+     * Held keys apply to every tick of the frame. A talk press is given to the first tick only;
+     * if the frame is shorter than a tick, it waits for the tick of a later frame, so no press is
+     * lost or counted twice.
+     *
+     * @return the number of ticks run
+     */
+    public int advance(float delta, WorldInput input, GameWorld world) {
+        tickInput.left = input.isLeftPressed();
+        tickInput.right = input.isRightPressed();
+        tickInput.talk |= input.isTalkJustPressed();
+        accumulator += Math.min(delta, MAX_FRAME_DELTA);
+        ticks = 0;
+        while (accumulator >= step) {
+            world.update(step, tickInput);
+            tickInput.talk = false;
+            accumulator -= step;
+            ticks++;
+        }
+        totalTicks += ticks;
+        return ticks;
+    }
+
+    /**
+     * @return how far the current frame is from the last tick towards the next one, from 0 to 1
+     */
+    public float getAlpha() {
+        return Math.min(1f, accumulator / step);
+    }
+
+    /**
+     * @return the length of a tick in seconds
+     */
+    public float getStep() {
+        return step;
+    }
+
+    /**
+     * @return the ticks the last {@link #advance} ran
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    public long getTotalTicks() {
+        return totalTicks;
+    }
+
+    /**
+     * Forgets the time and input waiting for the next tick, e.g. after a saved game is loaded.
+     */
+    public void reset() {
+        accumulator = 0f;
+        tickInput.talk = false;
+    }
+
+    private static final class TickInput implements WorldInput {
+        boolean left;
+        boolean right;
+        boolean talk;
+
+        @Override
+        public boolean isLeftPressed() {
+            return left;
+        }
+
+        @Override
+        public boolean isRightPressed() {
+            return right;
+        }
+
+        @Override
+        public boolean isTalkJustPressed() {
+            return talk;
+        }
+    }
+}
@@ -0,0 +1,739 @@
+package com.mygdx.game.world;
+
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+
+import com.mygdx.game.entity.SpriteIds;
+import com.mygdx.game.entity.AnimationSystem;
+import com.mygdx.game.entity.EntityStore;
+import com.mygdx.game.entity.HazardSystem;
+import com.mygdx.game.collision.SpatialHash;
+import com.mygdx.game.collision.ColliderLayers;
+import com.mygdx.game.cutscene.Cutscene;
+import com.mygdx.game.dialogue.DialogueLine;
+import com.mygdx.game.dialogue.DialogueScript;
+import com.mygdx.game.dialogue.DialogueTypewriter;
+import com.mygdx.game.jobs.JobSystem;
+import com.mygdx.game.level.ChunkStreamer;
+import com.mygdx.game.level.LevelChunk;
+import com.mygdx.game.level.LevelFile;
+import com.mygdx.game.profiling.FramePhase;
+import com.mygdx.game.profiling.FrameProfiler;
+
+/**
+ * The gameplay simulation: cutscene, character movement, dialogue and lightning logic.
+ * <p>
+ * The world never reads {@code Gdx.graphics} or {@code Gdx.input}; the elapsed time and the
+ * player input are passed to {@link #update(float, WorldInput)}, so the same logic runs in the
+ * desktop game and in a headless simulation.
+ * <p>
+ * By default the world is one screen wide. With a level set, it is as wide as the level, the
+ * camera follows the character after the cutscene, and the NPCs and hazards of the level's
+ * chunks come and go as the camera moves.
+ * <p>
+ * The world keeps the character and camera state of the update before the last one, so a
+ * renderer drawing between two fixed-length updates can interpolate them, see {@link FixedTimestep}.
+ */
+public class GameWorld {
+
+    private final Vector2 characterPosition;
+    private final Vector2 previousCharacterPosition = new Vector2();
+    private final Rectangle characterCollider;
+    private final Rectangle groundCollider;
+    private final OrthographicCamera camera;
+    private final EntityStore npcs;
+    private final EntityStore hazards;
+    private final HazardSystem hazardSystem;
+    private final AnimationSystem animations;
+    private final SpatialHash colliders;
+    private final IntArray queryResults = new IntArray();
+    private final IntArray hazardsInRange = new IntArray();
+    private final IntArray triggeredHazards = new IntArray();
+    private final int characterHandle;
+    private final int groundHandle;
+    private final Cutscene cutscene;
+    private final DialogueTypewriter dialogue;
+    private final DialogueScript script;
+    private final int conversationStart;
+    private WorldListener listener = WorldListener.NONE;
+    private FrameProfiler profiler = new FrameProfiler();
+    private JobSystem jobs;
+    private ChunkStreamer streamer;
+    private final ChunkStreamer.Listener chunkListener = new ChunkStreamer.Listener() {
+        @Override
+        public void chunkEntered(LevelChunk chunk) {
+            enterChunk(chunk);
+        }
+
+        @Override
+        public void chunkLeft(LevelChunk chunk) {
+            leaveChunk(chunk);
+        }
+    };
+
+    private boolean moving = false;
+    private boolean facingLeft = true;
+    private boolean inDialogue = false;
+    private boolean cutsceneFinished = false;
+
+    private float stateTime = 0f;
+    private float previousCameraX;
+    private float previousCameraY;
+    private float previousCameraZoom;
+    private float worldWidth = WORLD_WIDTH;
+    private int currentDialogueLine = DialogueScript.END;
+    private int npcInReach = -1;
+
+    /** The distance from which the character no longer hears a hazard. */
+    public static final float HEARING_DISTANCE = 300f;
+
+    private static final float SPEED = 150f;
+    private static final float WORLD_WIDTH = 1280f;
+    private static final float CHARACTER_WIDTH = 150f;
+    private static final float CUTSCENE_ZOOM_SPEED = 0.5f;
+    private static final float NPC_SIZE = 150f;
+    private static final float NPC_COLLIDER_SIZE = 128f;
+    private static final float LIGHTNING_SIZE = 512f;
+    private static final float COLLIDER_CELL_SIZE = 256f;
+    private static final String CONVERSATION_LABEL = "greeting";
+    private static final int PARALLEL_HAZARD_THRESHOLD = 8192;
+
+    private static final int FACING_LEFT = 1;
+    private static final int CUTSCENE_FINISHED = 1 << 1;
+    private static final int IN_DIALOGUE = 1 << 2;
+    private static final int DIALOGUE_VISIBLE = 1 << 3;
+    private static final int DIALOGUE_TYPING = 1 << 4;
+    private static final int STATE_BYTES = 11 * 4 + 1;
+    private static final int HAZARD_STATE_BYTES = 4 * 4 + 1;
+
+    /**
+     * @param script the dialogue script; the NPC's conversation starts at its "greeting" label
+     */
+    public GameWorld(OrthographicCamera camera, DialogueScript script) {
+        this.camera = camera;
+        this.script = script;
+        conversationStart = script.findLabel(CONVERSATION_LABEL);
+        npcs = new EntityStore();
+        hazards = new EntityStore();
+        hazardSystem = new HazardSystem();
+        animations = new AnimationSystem();
+        colliders = new SpatialHash(COLLIDER_CELL_SIZE);
+        int cutsceneNpc = addNpc(600, 30);
+        addHazard(900, 70);
+        dialogue = new DialogueTypewriter();
+        groundCollider = new Rectangle(0, 0, WORLD_WIDTH, 25);
+        characterPosition = new Vector2(300, 64);
+        characterCollider = new Rectangle(characterPosition.x, characterPosition.y, 50, 130);
+        groundHandle = colliders.add(ColliderLayers.GROUND, 0,
+            groundCollider.x, groundCollider.y, groundCollider.width, groundCollider.height);
+        characterHandle = colliders.add(ColliderLayers.PLAYER, 0,
+            characterCollider.x, characterCollider.y, characterCollider.width, characterCollider.height);
+        cutscene = new Cutscene(characterPosition, npcs.getCollider(cutsceneNpc, new Rectangle()), camera);
+        storePreviousState();
+    }
+
+    /**
+     * Adds an NPC the character can talk to.
+     *
+     * @return the index of the NPC in {@link #getNpcs()}
+     */
+    public int addNpc(float x, float y) {
+        int npc = npcs.add(x, y, NPC_SIZE, NPC_SIZE, NPC_COLLIDER_SIZE, NPC_COLLIDER_SIZE, SpriteIds.NPC, true);
+        npcs.setColliderHandle(npc, colliders.add(ColliderLayers.NPC, npc, x, y, NPC_COLLIDER_SIZE, NPC_COLLIDER_SIZE));
+        return npc;
+    }
+
+    /**
+     * Plays an animation clip on an NPC, which then shows the clip's frames instead of its sprite.
+     *
+     * @param clip      a clip of {@link AnimationSystem}, or {@link AnimationSystem#NO_CLIP} to stop
+     * @param direction {@link AnimationSystem#LEFT} or {@link AnimationSystem#RIGHT}
+     */
+    public void setNpcAnimation(int npc, int clip, int direction) {
+        npcs.setAnimation(npc, clip, direction);
+    }
+
+    /**
+     * Adds a lightning hazard, which flashes when the character comes close.
+     *
+     * @return the index of the hazard in {@link #getHazards()}
+     */
+    public int addHazard(float x, float y) {
+        int hazard = hazards.add(x, y, LIGHTNING_SIZE, LIGHTNING_SIZE, 0f, 0f, SpriteIds.LIGHTNING, false);
+        // Hazards trigger by the distance to their position, so they register as a point.
+        hazards.setColliderHandle(hazard, colliders.add(ColliderLayers.HAZARD, hazard, x, y, 0f, 0f));
+        return hazard;
+    }
+
+    /**
+     * Makes the world as wide as the level and streams the level's chunks around the camera.
+     * The chunks around the camera's current position are loaded before this returns.
+     */
+    public void setLevel(ChunkStreamer streamer) {
+        this.streamer = streamer;
+        worldWidth = streamer.getLevel().getWidth();
+        groundCollider.width = worldWidth;
+        colliders.update(groundHandle, groundCollider.x, groundCollider.y, groundCollider.width, groundCollider.height);
+        streamer.setListener(chunkListener);
+        streamer.finishLoading(camera.position.x);
+    }
+
+    private void enterChunk(LevelChunk chunk) {
+        for (int i = 0; i < chunk.size(); i++) {
+            if (chunk.getKind(i) == LevelFile.KIND_NPC) {
+                npcs.setChunk(addNpc(chunk.getX(i), chunk.getY(i)), chunk.getIndex());
+            } else {
+                hazards.setChunk(addHazard(chunk.getX(i), chunk.getY(i)), chunk.getIndex());
+            }
+        }
+    }
+
+    private void leaveChunk(LevelChunk chunk) {
+        removeChunkEntities(npcs, chunk.getIndex());
+        if (removeChunkEntities(hazards, chunk.getIndex())) {
+            hazardSystem.hazardsRemoved();
+        }
+    }
+
+    /**
+     * Removes the entities of a chunk from a store and their colliders from the broad-phase,
+     * pointing the collider of each entity that moved into a freed index at its new index.
+     *
+     * @return whether any entity was removed
+     */
+    private boolean removeChunkEntities(EntityStore store, int chunk) {
+        boolean removed = false;
+        for (int i = store.size() - 1; i >= 0; i--) {
+            if (store.getChunk(i) != chunk) continue;
+            colliders.remove(store.getColliderHandle(i));
+            store.remove(i);
+            if (i < store.size()) {
+                colliders.setIndex(store.getColliderHandle(i), i);
+            }
+            removed = true;
+        }
+        return removed;
+    }
+
+    public void setListener(WorldListener listener) {
+        this.listener = listener != null ? listener : WorldListener.NONE;
+    }
+
+    /**
+     * Sets the profiler that times the phases of {@link #update}; by default they are not timed.
+     */
+    public void setProfiler(FrameProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    /**
+     * Sets the job system that updates the hazards in parallel once there are enough of them to
+     * pay for it; without one, or with a single thread, the world updates serially.
+     */
+    public void setJobSystem(JobSystem jobs) {
+        this.jobs = jobs;
+    }
+
+    /**
+     * Advances the simulation by one step.
+     *
+     * @param delta the simulated time elapsed since the previous step, in seconds
+     * @param input the player input for this step
+     */
+    public void update(float delta, WorldInput input) {
+        storePreviousState();
+        stateTime += delta;
+
+        long start = profiler.start();
+        if (streamer != null) {
+            streamer.update(camera.position.x);
+        }
+        start = profiler.lap(FramePhase.WORLD_STREAMING, start);
+        updateCutsceneOrInput(delta, input);
+        start = profiler.lap(FramePhase.WORLD_CUTSCENE_INPUT, start);
+        updateCameraZoomIfNeeded(delta);
+        updateCameraFollow();
+        start = profiler.lap(FramePhase.WORLD_CAMERA, start);
+        updateCharacterCollider();
+        npcInReach = findNpcInReach();
+        start = profiler.lap(FramePhase.WORLD_COLLIDERS, start);
+        dialogue.update(delta);
+        handleDialogue(input);
+        start = profiler.lap(FramePhase.WORLD_DIALOGUE, start);
+        updateHazards(delta);
+        start = profiler.lap(FramePhase.WORLD_HAZARDS, start);
+        animations.update(npcs, delta);
+        profiler.stop(FramePhase.WORLD_ANIMATION, start);
+    }
+
+    /**
+     * Updates the game logic by either progressing through a cutscene or handling user input
+     * depending on the current state of the cutscene.
+     *
+     * @param delta the time elapsed since the last frame, used for updating the cutscene
+     *              or handling time-sensitive input.
+     * @param input the player input for this step
+     */
+    private void updateCutsceneOrInput(float delta, WorldInput input) {
+        if (!cutsceneFinished) {
+            cutscene.update(delta);
+            moving = cutscene.isMoving();
+            facingLeft = cutscene.isFacingLeft();
+            if (cutscene.isFinished()) {
+                cutsceneFinished = true;
+            }
+        } else {
+            handleInput(delta, input);
+        }
+    }
+
+    /**
+     * Updates the camera's zoom level if necessary, particularly after the cutscene has
+     * finished playing. This method gradually adjusts the zoom level back to a default
+     * value of 1.0 for normal gameplay.
+     *
+     * @param delta the time elapsed since the last frame, used to calculate the incremental zoom adjustment
+     */
+    private void updateCameraZoomIfNeeded(float delta) {
+        if (cutsceneFinished && camera.zoom != 1f) {
+            camera.zoom += CUTSCENE_ZOOM_SPEED * delta;
+            if (camera.zoom > 1f) {
+                camera.zoom = 1f;
+            }
+        }
+    }
+
+    /**
+     * Centers the camera on the character after the cutscene, without showing anything past the
+     * edges of the world.
+     */
+    private void updateCameraFollow() {
+        if (cutsceneFinished) {
+            float halfWidth = camera.viewportWidth * camera.zoom / 2f;
+            camera.position.x = MathUtils.clamp(characterPosition.x + CHARACTER_WIDTH / 2f,
+                halfWidth, Math.max(halfWidth, worldWidth - halfWidth));
+        }
+    }
+
+    /**
+     * Updates the position of the character's collider based on the current position of the character.
+     */
+    private void updateCharacterCollider() {
+        characterCollider.setPosition(characterPosition.x + 50, characterPosition.y - 40);
+        colliders.update(characterHandle,
+            characterCollider.x, characterCollider.y, characterCollider.width, characterCollider.height);
+    }
+
+    /**
+     * Updates the lightning hazards, triggering the ones the character is close to.
+     *
+     * @param delta the time elapsed since the last frame, used to update flash and cooldown timers
+     */
+    private void updateHazards(float delta) {
+        if (jobs != null && jobs.getThreadCount() > 1 && hazards.size() >= PARALLEL_HAZARD_THRESHOLD) {
+            hazardSystem.update(hazards, delta, characterPosition.x, characterPosition.y, jobs, triggeredHazards);
+        } else {
+            colliders.queryRadius(characterPosition.x, characterPosition.y, HazardSystem.TRIGGER_DISTANCE,
+                ColliderLayers.mask(ColliderLayers.HAZARD), queryResults);
+            hazardsInRange.clear();
+            for (int i = 0; i < queryResults.size; i++) {
+                hazardsInRange.add(colliders.getIndex(queryResults.get(i)));
+            }
+            hazardSystem.update(hazards, delta, hazardsInRange, triggeredHazards);
+        }
+        for (int i = 0; i < triggeredHazards.size; i++) {
+            listener.onHazardTriggered(triggeredHazards.get(i));
+        }
+    }
+
+    /**
+     * Finds an NPC whose collider overlaps the character's collider, asking the broad-phase
+     * instead of testing every NPC.
+     *
+     * @return the lowest index of such an NPC, or -1 if the character is not next to any NPC
+     */
+    public int findNpcInReach() {
+        colliders.queryRect(characterCollider.x, characterCollider.y, characterCollider.width, characterCollider.height,
+            ColliderLayers.mask(ColliderLayers.NPC), queryResults);
+        int npc = -1;
+        for (int i = 0; i < queryResults.size; i++) {
+            int index = colliders.getIndex(queryResults.get(i));
+            if (npc < 0 || index < npc) {
+                npc = index;
+            }
+        }
+        return npc;
+    }
+
+    /**
+     * Finds the lightning hazards close enough to the character to be heard.
+     *
+     * @param hazardsOut   cleared and filled with the indices of the hazards in {@link #getHazards()}
+     * @param distancesOut cleared and filled with the distance from the character to each of them
+     * @return the number of hazards found
+     */
+    public int findAudibleHazards(IntArray hazardsOut, FloatArray distancesOut) {
+        colliders.queryRadius(characterPosition.x, characterPosition.y, HEARING_DISTANCE,
+            ColliderLayers.mask(ColliderLayers.HAZARD), queryResults);
+        hazardsOut.clear();
+        distancesOut.clear();
+        for (int i = 0; i < queryResults.size; i++) {
+            int handle = queryResults.get(i);
+            hazardsOut.add(colliders.getIndex(handle));
+            distancesOut.add((float) Math.sqrt(colliders.distance2(handle, characterPosition.x, characterPosition.y)));
+        }
+        return hazardsOut.size;
+    }
+
+    /**
+     * Determines if a dialogue can be initiated between the player character and an NPC.
+     * <p>
+     * This method checks three conditions to decide if dialogue can start:
+     * 1. The character's collider overlapped an NPC's collider in the last update.
+     * 2. The player is not yet in a dialogue.
+     * 3. The dialogue box is currently visible.
+     *
+     * @return true if the above conditions are met, indicating that dialogue can start; false otherwise.
+     */
+    public boolean canStartDialogue() {
+        return npcInReach >= 0 && !inDialogue && !dialogue.isVisible() && cutsceneFinished;
+    }
+
+    /**
+     * Determines if a sound can be played based on the current world conditions.
+     * This method checks the following conditions:
+     * 1. The player is not in a dialogue.
+     * 2. The cutscene has finished.
+     *
+     * @return true if all the above conditions are met, indicating that a sound can be played; false otherwise.
+     */
+    public boolean canPlaySound() {
+        return !inDialogue && cutsceneFinished;
+    }
+
+    /**
+     * Handles user input for character movement in the game.
+     * <p>
+     * This method processes the input for controlling the movement of the player character
+     * and updates the character's position accordingly. The movement logic is only executed
+     * if the character is not currently in dialogue mode.
+     * <p>
+     * Movement details:
+     * - If left is pressed and the character's position is greater than 0, the
+     *   character moves to the left. The `facingLeft` flag is set to true, and the `moving` flag
+     *   is set to indicate motion.
+     * - If right is pressed and the character's position is within the game screen's
+     *   right boundary (the world's width minus the character's width), the character moves to the
+     *   right. The `facingLeft` flag is set to false, and the `moving` flag is set to indicate motion.
+     * <p>
+     * The method uses the delta time of the current step to ensure smooth and frame-rate-independent
+     * movement of the character.
+     */
+    private void handleInput(float delta, WorldInput input) {
+        moving = false;
+        if (!inDialogue) {
+            if (input.isLeftPressed() && characterPosition.x > 0) {
+                characterPosition.x -= SPEED * delta;
+                facingLeft = true;
+                moving = true;
+            } else if (input.isRightPressed() && characterPosition.x < worldWidth - CHARACTER_WIDTH) {
+                characterPosition.x += SPEED * delta;
+                facingLeft = false;
+                moving = true;
+            }
+        }
+    }
+
+    /**
+     * Handles the dialogue interaction between the player and the NPC, determining when
+     * dialogues should start, progress, or end based on player input and interaction conditions.
+     * <p>
+     * The method checks if the player's collider overlaps with an NPC's collider and if the
+     * dialogue box is visible to determine if a dialogue can be initiated.
+     * <p>
+     * - If talk is pressed while conditions are met, the dialogue starts from the first
+     *   line of the conversation.
+     * - If already in a dialogue and talk is pressed, the conversation progresses to
+     *   the next dialogue line.
+     * - If the conversation reaches the end (no more lines in the dialogue), the dialogue box
+     *   is hidden and dialogue mode ends.
+     * <p>
+     * There is no choice menu yet, so a line with choices always continues with its first choice.
+     */
+    private void handleDialogue(WorldInput input) {
+        if (npcInReach >= 0 && !inDialogue && !dialogue.isVisible()) {
+            if (input.isTalkJustPressed() && conversationStart != DialogueScript.END) {
+                inDialogue = true;
+                currentDialogueLine = conversationStart;
+                startDialogueLine();
+            }
+        } else if (inDialogue && input.isTalkJustPressed()) {
+            if (dialogue.isTyping()) {
+                dialogue.skipTyping();
+            } else {
+                currentDialogueLine = script.getChoiceCount(currentDialogueLine) > 0
+                    ? script.getChoiceTarget(currentDialogueLine, 0)
+                    : script.getNext(currentDialogueLine);
+                if (currentDialogueLine == DialogueScript.END) {
+                    dialogue.hide();
+                    inDialogue = false;
+                } else {
+                    startDialogueLine();
+                }
+            }
+        }
+    }
+
+    private void startDialogueLine() {
+        DialogueLine line = script.getLine(currentDialogueLine);
+        dialogue.startTyping(line);
+        listener.onDialogueLineStarted(line);
+    }
+
+    /**
+     * @return the number of bytes {@link #writeState} writes now
+     */
+    public int getStateSize() {
+        return STATE_BYTES + countActiveHazards() * HAZARD_STATE_BYTES;
+    }
+
+    /**
+     * Writes what a saved game needs to carry on from this step: the character, the cutscene, the
+     * camera, the dialogue and the hazards that are flashing or cooling down. Everything else is
+     * either fixed by the level or worked out again by the next update.
+     * <p>
+     * Hazards are saved by position, since their indices depend on the order their chunks were
+     * streamed in; idle hazards are not saved at all.
+     */
+    public void writeState(ByteBuffer out) {
+        int flags = (facingLeft ? FACING_LEFT : 0)
+            | (cutsceneFinished ? CUTSCENE_FINISHED : 0)
+            | (inDialogue ? IN_DIALOGUE : 0)
+            | (dialogue.isVisible() ? DIALOGUE_VISIBLE : 0)
+            | (dialogue.isTyping() ? DIALOGUE_TYPING : 0);
+        out.put((byte) flags);
+        out.putFloat(stateTime);
+        out.putFloat(characterPosition.x);
+        out.putFloat(characterPosition.y);
+        out.putFloat(cutscene.getTime());
+        out.putFloat(camera.position.x);
+        out.putFloat(camera.position.y);
+        out.putFloat(camera.zoom);
+        out.putInt(currentDialogueLine);
+        out.putFloat(dialogue.getTypeTimer());
+        out.putInt(dialogue.getVisibleCharCount());
+        out.putInt(countActiveHazards());
+        for (int i = 0; i < hazards.size(); i++) {
+            if (!isHazardActive(i)) continue;
+            out.putFloat(hazards.getX(i));
+            out.putFloat(hazards.getY(i));
+            out.putFloat(hazards.getTimer(i));
+            out.putFloat(hazards.getCooldown(i));
+            out.put((byte) (hazards.isVisible(i) ? 1 : 0));
+        }
+    }
+
+    /**
+     * Puts the world back in the state {@link #writeState} wrote. The chunks around the restored
+     * camera are streamed in before this returns, so the saved hazards can be found.
+     */
+    public void readState(ByteBuffer in) {
+        int flags = in.get();
+        stateTime = in.getFloat();
+        characterPosition.set(in.getFloat(), in.getFloat());
+        float cutsceneTime = in.getFloat();
+        float cameraX = in.getFloat();
+        float cameraY = in.getFloat();
+        float cameraZoom = in.getFloat();
+        int dialogueLine = in.getInt();
+        float typeTimer = in.getFloat();
+        int visibleChars = in.getInt();
+
+        facingLeft = (flags & FACING_LEFT) != 0;
+        cutsceneFinished = (flags & CUTSCENE_FINISHED) != 0;
+        moving = false;
+        if (cutsceneFinished) {
+            camera.position.x = cameraX;
+            camera.position.y = cameraY;
+            camera.zoom = cameraZoom;
+            camera.update();
+        } else {
+            // The cutscene puts the camera and character where they were at that time.
+            cutscene.seek(cutsceneTime);
+        }
+        updateCharacterCollider();
+        if (streamer != null) {
+            streamer.finishLoading(camera.position.x);
+        }
+
+        inDialogue = (flags & IN_DIALOGUE) != 0;
+        currentDialogueLine = dialogueLine >= 0 && dialogueLine < script.getLineCount() ? dialogueLine : DialogueScript.END;
+        DialogueLine line = currentDialogueLine != DialogueScript.END ? script.getLine(currentDialogueLine) : null;
+        dialogue.restore(line, (flags & DIALOGUE_VISIBLE) != 0, (flags & DIALOGUE_TYPING) != 0, typeTimer, visibleChars);
+        if (line == null) {
+            inDialogue = false;
+        } else if (dialogue.isVisible()) {
+            listener.onDialogueLineStarted(line);
+        }
+
+        int hazardCount = in.getInt();
+        for (int n = 0; n < hazardCount; n++) {
+            float x = in.getFloat();
+            float y = in.getFloat();
+            float timer = in.getFloat();
+            float cooldown = in.getFloat();
+            boolean visible = in.get() != 0;
+            int hazard = findHazardAt(x, y);
+            if (hazard >= 0) {
+                hazardSystem.restore(hazards, hazard, timer, cooldown, visible);
+            }
+        }
+        npcInReach = findNpcInReach();
+        // Nothing moved to get here, so there is nothing to interpolate from.
+        storePreviousState();
+    }
+
+    private void storePreviousState() {
+        previousCharacterPosition.set(characterPosition);
+        previousCameraX = camera.position.x;
+        previousCameraY = camera.position.y;
+        previousCameraZoom = camera.zoom;
+    }
+
+    /**
+     * Finds where the character is drawn between the last two updates.
+     *
+     * @param alpha how far from the previous update to the last one, from 0 to 1
+     * @return {@code out}
+     */
+    public Vector2 getInterpolatedCharacterPosition(float alpha, Vector2 out) {
+        return out.set(previousCharacterPosition).lerp(characterPosition, alpha);
+    }
+
+    /**
+     * Moves a render camera to the world camera's position and zoom between the last two updates.
+     * The world camera itself is left where the last update put it.
+     *
+     * @param alpha how far from the previous update to the last one, from 0 to 1
+     */
+    public void interpolateCamera(float alpha, OrthographicCamera out) {
+        out.viewportWidth = camera.viewportWidth;
+        out.viewportHeight = camera.viewportHeight;
+        out.position.x = MathUtils.lerp(previousCameraX, camera.position.x, alpha);
+        out.position.y = MathUtils.lerp(previousCameraY, camera.position.y, alpha);
+        out.zoom = MathUtils.lerp(previousCameraZoom, camera.zoom, alpha);
+        out.update();
+    }
+
+    private boolean isHazardActive(int hazard) {
+        return hazards.isVisible(hazard) || hazards.getCooldown(hazard) > 0f;
+    }
+
+    private int countActiveHazards() {
+        int count = 0;
+        for (int i = 0; i < hazards.size(); i++) {
+            if (isHazardActive(i)) count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return the index of the hazard at exactly the given position, or -1 if there is none
+     */
+    private int findHazardAt(float x, float y) {
+        colliders.queryRadius(x, y, 1f, ColliderLayers.mask(ColliderLayers.HAZARD), queryResults);
+        for (int i = 0; i < queryResults.size; i++) {
+            int hazard = colliders.getIndex(queryResults.get(i));
+            if (hazards.getX(hazard) == x && hazards.getY(hazard) == y) {
+                return hazard;
+            }
+        }
+        return -1;
+    }
+
+    public Vector2 getCharacterPosition() {
+        return characterPosition;
+    }
+
+    public Rectangle getCharacterCollider() {
+        return characterCollider;
+    }
+
+    public Rectangle getGroundCollider() {
+        return groundCollider;
+    }
+
+    public OrthographicCamera getCamera() {
+        return camera;
+    }
+
+    public EntityStore getNpcs() {
+        return npcs;
+    }
+
+    /**
+     * @return the clips the entities, and the character, are animated with
+     */
+    public AnimationSystem getAnimations() {
+        return animations;
+    }
+
+    public EntityStore getHazards() {
+        return hazards;
+    }
+
+    public SpatialHash getColliders() {
+        return colliders;
+    }
+
+    /**
+     * @return the index of the NPC the character stood next to in the last update, or -1
+     */
+    public int getNpcInReach() {
+        return npcInReach;
+    }
+
+    public DialogueTypewriter getDialogue() {
+        return dialogue;
+    }
+
+    /**
+     * @return the index in the dialogue script of the line being shown, or {@code DialogueScript.END}
+     */
+    public int getCurrentDialogueLine() {
+        return currentDialogueLine;
+    }
+
+    public boolean isMoving() {
+        return moving;
+    }
+
+    public boolean isFacingLeft() {
+        return facingLeft;
+    }
+
+    public boolean isInDialogue() {
+        return inDialogue;
+    }
+
+    public boolean isCutsceneFinished() {
+        return cutsceneFinished;
+    }
+
+    /**
+     * @return the width of the world: one screen, or the width of the level
+     */
+    public float getWorldWidth() {
+        return worldWidth;
+    }
+
+    public float getStateTime() {
+        return stateTime;
+    }
+}
@@ -0,0 +1,25 @@
+package com.mygdx.game.world;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+/**
+ * Reads the world input from the keyboard through {@code Gdx.input}.
+ */
+public class GdxWorldInput implements WorldInput {
+
+    @Override
+    public boolean isLeftPressed() {
+        return Gdx.input.isKeyPressed(Input.Keys.A) || Gdx.input.isKeyPressed(Input.Keys.LEFT);
+    }
+
+    @Override
+    public boolean isRightPressed() {
+        return Gdx.input.isKeyPressed(Input.Keys.D) || Gdx.input.isKeyPressed(Input.Keys.RIGHT);
+    }
+
+    @Override
+    public boolean isTalkJustPressed() {
+        return Gdx.input.isKeyJustPressed(Input.Keys.SPACE);
+    }
+}
@@ -0,0 +1,32 @@
+package com.mygdx.game.world;
+
+/**
+ * The player input the game world reacts to during a single update. Keeping it behind an
+ * interface lets the world be stepped without a window, e.g. by a headless simulation runner.
+ */
+public interface WorldInput {
+
+    /** Input with nothing pressed, for stepping the world without a player. */
+    WorldInput NONE = new WorldInput() {
+        @Override
+        public boolean isLeftPressed() {
+            return false;
+        }
+
+        @Override
+        public boolean isRightPressed() {
+            return false;
+        }
+
+        @Override
+        public boolean isTalkJustPressed() {
+            return false;
+        }
+    };
+
+    boolean isLeftPressed();
+
+    boolean isRightPressed();
+
+    boolean isTalkJustPressed();
+}
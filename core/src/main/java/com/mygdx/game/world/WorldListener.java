@@ -0,0 +1,22 @@
+package com.mygdx.game.world;
+
+import com.mygdx.game.dialogue.DialogueLine;
+
+/**
+ * Receives the world events that the presentation layer (textures, sound) has to react to.
+ */
+public interface WorldListener {
+
+    WorldListener NONE = line -> { };
+
+    void onDialogueLineStarted(DialogueLine line);
+
+    /**
+     * Called for each hazard that started flashing in a step. The order is the same in every run
+     * unless the world updates its hazards on a job system without a deterministic merge.
+     *
+     * @param hazard the index of the hazard in {@link GameWorld#getHazards()}
+     */
+    default void onHazardTriggered(int hazard) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Launches the headless batch simulation, which needs no window or GPU.
+ * <p>
+ * {@code --replay <file>} instead replays a session recorded in the desktop game with
+ * {@code --record <file>}, against the game world alone. {@code --serve [clients] [seconds]} runs
+ * the world as a snapshot server on loopback, streaming to that many simulated clients.
+ */
+public class HeadlessLauncher {
+    private static final int DEFAULT_WORLDS = 100;
+    private static final int DEFAULT_TICKS = 10_000;
+    private static final int DEFAULT_ENTITIES = 0;
+    private static final int DEFAULT_THREADS = 1;
+    private static final int DEFAULT_CLIENTS = 32;
+    private static final int DEFAULT_SERVE_SECONDS = 10;
+
+    public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals("--replay")) {
+            new HeadlessApplication(new ReplayRunner(args[1]), getDefaultConfiguration());
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            int clients = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CLIENTS;
+            int seconds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SERVE_SECONDS;
+            HeadlessApplicationConfiguration configuration = getDefaultConfiguration();
+            //// The server ticks in real time, so its clients see snapshots arrive as they would in a game.
+            configuration.updatesPerSecond = NetworkRunner.TICK_RATE;
+            new HeadlessApplication(new NetworkRunner(clients, seconds), configuration);
+            return;
+        }
+        int worlds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WORLDS;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TICKS;
+        int entities = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ENTITIES;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_THREADS;
+        createApplication(worlds, ticks, entities, threads);
+    }
+
+    private static HeadlessApplication createApplication(int worlds, int ticks, int entities, int threads) {
+        return new HeadlessApplication(new SimulationRunner(worlds, ticks, entities, threads),
+            getDefaultConfiguration());
+    }
+
+    private static HeadlessApplicationConfiguration getDefaultConfiguration() {
+        HeadlessApplicationConfiguration configuration = new HeadlessApplicationConfiguration();
+        //// 0 removes the sleep between updates, so the simulation runs as fast as the CPU allows.
+        configuration.updatesPerSecond = 0;
+        return configuration;
+    }
+}
@@ -0,0 +1,179 @@
+package com.mygdx.game.headless;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import com.mygdx.game.dialogue.DialogueScript;
+import com.mygdx.game.level.Levels;
+import com.mygdx.game.net.SnapshotClient;
+import com.mygdx.game.net.SnapshotServer;
+import com.mygdx.game.profiling.Histogram;
+import com.mygdx.game.world.GameWorld;
+
+/**
+ * Runs the game world as an authoritative server on loopback and streams its state to simulated
+ * clients, then reports the snapshot sizes, the encoding time and the latency.
+ * <p>
+ * The server ticks the world {@value #TICK_RATE} times a second on the application thread, driven
+ * by a {@link SimulationBot}, and sends every client a snapshot after each tick. All the clients
+ * share one other thread, which waits on a selector for any of their channels to have data. At
+ * the end every client's newest state is compared with the server's state of the same tick.
+ */
+public class NetworkRunner extends ApplicationAdapter {
+    /** The ticks per second the server runs at; the headless application is paced to it. */
+    public static final int TICK_RATE = 60;
+
+    private static final String TAG = "Network";
+    private static final float TICK_DELTA = 1f / TICK_RATE;
+    private static final float SCREEN_WIDTH = 1280f;
+    private static final float SCREEN_HEIGHT = 720f;
+    private static final long SELECT_TIMEOUT_MILLIS = 100;
+
+    private final int clientCount;
+    private final int tickCount;
+
+    private GameWorld world;
+    private SimulationBot bot;
+    private SnapshotServer server;
+    private SnapshotClient[] clients;
+    private Thread clientThread;
+    private volatile boolean running;
+    private final Histogram serverTickNanos = new Histogram();
+    private int tick;
+    private long startTime;
+
+    /**
+     * @param clientCount the number of simulated clients
+     * @param seconds     how long the server runs
+     */
+    public NetworkRunner(int clientCount, int seconds) {
+        this.clientCount = clientCount;
+        this.tickCount = seconds * TICK_RATE;
+    }
+
+    @Override
+    public void create() {
+        OrthographicCamera camera = new OrthographicCamera(SCREEN_WIDTH, SCREEN_HEIGHT);
+        camera.setToOrtho(false, SCREEN_WIDTH, SCREEN_HEIGHT);
+        camera.update();
+        world = new GameWorld(camera, DialogueScript.load(Gdx.files.internal("dialogue/intro.dlg")));
+        world.setLevel(Levels.streamMeadow(0));
+        bot = new SimulationBot(world);
+
+        server = new SnapshotServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        clients = new SnapshotClient[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            clients[i] = new SnapshotClient(server.getAddress());
+        }
+        running = true;
+        clientThread = new Thread(this::runClients, "clients");
+        clientThread.start();
+        Gdx.app.log(TAG, "serving " + clientCount + " clients on " + server.getAddress() + " for " + tickCount + " ticks");
+        startTime = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Reads every client's snapshots as they arrive, until the server stops.
+     */
+    private void runClients() {
+        try (Selector selector = Selector.open()) {
+            for (SnapshotClient client : clients) {
+                client.getChannel().register(selector, SelectionKey.OP_READ, client);
+            }
+            while (running) {
+                if (selector.select(SELECT_TIMEOUT_MILLIS) == 0) {
+                    // Nothing arrived for a while: poll everyone, which repeats lost hellos.
+                    for (SnapshotClient client : clients) {
+                        client.poll();
+                    }
+                    continue;
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    ((SnapshotClient) keys.next().attachment()).poll();
+                    keys.remove();
+                }
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Client selector failed", e);
+        }
+    }
+
+    @Override
+    public void render() {
+        if (tick >= tickCount) return;
+
+        long start = TimeUtils.nanoTime();
+        bot.tick();
+        world.update(TICK_DELTA, bot);
+        server.update(world);
+        serverTickNanos.record(TimeUtils.nanoTime() - start);
+        tick++;
+
+        if (tick == tickCount) {
+            running = false;
+            try {
+                clientThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            report();
+            Gdx.app.exit();
+        }
+    }
+
+    private void report() {
+        double seconds = (TimeUtils.nanoTime() - startTime) / 1_000_000_000.0;
+        Histogram bytes = server.getSnapshotBytes();
+        Histogram full = server.getFullSnapshotBytes();
+        Histogram encode = server.getEncodeNanos();
+        Gdx.app.log(TAG, String.format("%d ticks in %.1f s, %d clients connected, %d snapshots dropped",
+            tickCount, seconds, server.getClientCount(), server.getDroppedSnapshots()));
+        Gdx.app.log(TAG, String.format("snapshot p50 %d B, p99 %d B, max %d B; %d full snapshots, p50 %d B",
+            bytes.getPercentile(50), bytes.getPercentile(99), bytes.getMax(), full.getCount(), full.getPercentile(50)));
+        Gdx.app.log(TAG, String.format("%.1f kbit/s per client; encode p50 %d ns, p99 %d ns; server tick p50 %d us, p99 %d us",
+            server.getBytesSent() * 8 / 1000.0 / seconds / Math.max(1, clientCount),
+            encode.getPercentile(50), encode.getPercentile(99),
+            serverTickNanos.getPercentile(50) / 1000, serverTickNanos.getPercentile(99) / 1000));
+
+        Histogram latency = new Histogram();
+        int skipped = 0;
+        int matching = 0;
+        for (SnapshotClient client : clients) {
+            latency.add(client.getLatencyNanos());
+            skipped += client.getSkippedSnapshots();
+            IntArray serverState = server.getState(client.getLatestTick());
+            if (serverState != null && serverState.equals(client.getState(client.getLatestTick()))) {
+                matching++;
+            }
+        }
+        Gdx.app.log(TAG, String.format("latency p50 %d us, p99 %d us, max %d us; %d snapshots skipped; "
+                + "%d of %d clients match the server's state",
+            latency.getPercentile(50) / 1000, latency.getPercentile(99) / 1000, latency.getMax() / 1000,
+            skipped, matching, clientCount));
+    }
+
+    @Override
+    public void dispose() {
+        running = false;
+        if (clients != null) {
+            for (SnapshotClient client : clients) {
+                client.dispose();
+            }
+        }
+        if (server != null) {
+            server.dispose();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import com.mygdx.game.dialogue.DialogueScript;
+import com.mygdx.game.level.Levels;
+import com.mygdx.game.profiling.FramePhase;
+import com.mygdx.game.profiling.FrameProfiler;
+import com.mygdx.game.profiling.Histogram;
+import com.mygdx.game.replay.FrameInput;
+import com.mygdx.game.replay.InputReplay;
+import com.mygdx.game.save.UserFiles;
+import com.mygdx.game.world.FixedTimestep;
+import com.mygdx.game.world.GameWorld;
+
+/**
+ * Replays a session recorded in the desktop game against the game world alone, as fast as the
+ * CPU allows, and reports the time of each world phase. Menu frames are skipped.
+ * <p>
+ * The world is stepped at the recording's tick rate from the recorded inputs and delta times, as
+ * in the game, so every run ends in the same state;
+ * the final character position is logged so runs of different builds can be checked against each other.
+ */
+public class ReplayRunner extends ApplicationAdapter {
+    private static final String TAG = "Replay";
+    private static final float SCREEN_WIDTH = 1280f;
+    private static final float SCREEN_HEIGHT = 720f;
+    private static final FramePhase[] WORLD_PHASES = {
+        FramePhase.WORLD_STREAMING, FramePhase.WORLD_CUTSCENE_INPUT, FramePhase.WORLD_CAMERA, FramePhase.WORLD_COLLIDERS,
+        FramePhase.WORLD_DIALOGUE, FramePhase.WORLD_HAZARDS, FramePhase.WORLD_ANIMATION
+    };
+
+    private final String replayPath;
+
+    public ReplayRunner(String replayPath) {
+        this.replayPath = replayPath;
+    }
+
+    @Override
+    public void create() {
+        OrthographicCamera camera = new OrthographicCamera(SCREEN_WIDTH, SCREEN_HEIGHT);
+        camera.setToOrtho(false, SCREEN_WIDTH, SCREEN_HEIGHT);
+        camera.update();
+        GameWorld world = new GameWorld(camera, DialogueScript.load(Gdx.files.internal("dialogue/intro.dlg")));
+        FrameProfiler profiler = new FrameProfiler();
+        profiler.setEnabled(true);
+        world.setProfiler(profiler);
+        // Chunks are decoded on this thread, as when recording.
+        world.setLevel(Levels.streamMeadow(0));
+
+        InputReplay replay = new InputReplay(Gdx.files.local(replayPath));
+        FixedTimestep timestep = new FixedTimestep(replay.getTickRate());
+        FrameInput frame = new FrameInput();
+        int worldFrames = 0;
+        long startTime = TimeUtils.nanoTime();
+        while (replay.next(frame)) {
+            if (frame.isInGame()) {
+                timestep.advance(frame.getDelta(), frame, world);
+                worldFrames++;
+            }
+        }
+        long elapsed = TimeUtils.nanoTime() - startTime;
+
+        Gdx.app.log(TAG, String.format("%d of %d frames updated the world in %d ticks at %d Hz, in %.3f ms",
+            worldFrames, replay.getFrameCount(), timestep.getTotalTicks(), replay.getTickRate(),
+            elapsed / 1_000_000.0));
+        for (FramePhase phase : WORLD_PHASES) {
+            Histogram times = profiler.getPhaseTimes(phase);
+            Gdx.app.log(TAG, String.format("%-22s p50 %6d ns, p99 %6d ns, max %7d ns",
+                phase.name(), times.getPercentile(50), times.getPercentile(99), times.getMax()));
+        }
+        Gdx.app.log(TAG, "final character position: " + world.getCharacterPosition());
+        FileHandle file = UserFiles.get("frame-profile-replay-" + TimeUtils.millis() + ".csv");
+        profiler.writeCsv(file);
+        Gdx.app.log(TAG, "profile written to " + file.path());
+        Gdx.app.exit();
+    }
+}
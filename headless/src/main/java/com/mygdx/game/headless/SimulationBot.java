@@ -0,0 +1,58 @@
+package com.mygdx.game.headless;
+
+import com.mygdx.game.world.GameWorld;
+import com.mygdx.game.world.WorldInput;
+
+/**
+ * Deterministic stand-in for a player: walks back and forth across the level, talks to the
+ * NPC whenever that is possible and advances the dialogue at a fixed pace.
+ */
+public class SimulationBot implements WorldInput {
+    private static final float LEFT_TURN_X = 50f;
+    private static final float RIGHT_TURN_X = 1050f;
+    private static final int TICKS_PER_DIALOGUE_PRESS = 30;
+
+    private final GameWorld world;
+    private boolean walkingRight = true;
+    private boolean talk = false;
+    private int ticksInDialogue = 0;
+
+    public SimulationBot(GameWorld world) {
+        this.world = world;
+    }
+
+    /**
+     * Decides the input for the next world update.
+     */
+    public void tick() {
+        float x = world.getCharacterPosition().x;
+        if (x <= LEFT_TURN_X) {
+            walkingRight = true;
+        } else if (x >= RIGHT_TURN_X) {
+            walkingRight = false;
+        }
+
+        if (world.isInDialogue()) {
+            ticksInDialogue++;
+            talk = ticksInDialogue % TICKS_PER_DIALOGUE_PRESS == 0;
+        } else {
+            ticksInDialogue = 0;
+            talk = world.canStartDialogue();
+        }
+    }
+
+    @Override
+    public boolean isLeftPressed() {
+        return !walkingRight;
+    }
+
+    @Override
+    public boolean isRightPressed() {
+        return walkingRight;
+    }
+
+    @Override
+    public boolean isTalkJustPressed() {
+        return talk;
+    }
+}
@@ -0,0 +1,119 @@
+package com.mygdx.game.headless;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.TimeUtils;
+
+import com.mygdx.game.dialogue.DialogueScript;
+import com.mygdx.game.entity.AnimationSystem;
+import com.mygdx.game.jobs.JobSystem;
+import com.mygdx.game.world.GameWorld;
+
+/**
+ * Steps a batch of independent game worlds with a fixed simulated delta, as fast as the CPU
+ * allows, and reports the achieved ticks per second when done.
+ * <p>
+ * The worlds share one job system, which updates the hazards of each densely packed world in
+ * parallel; with one thread everything runs on the application thread.
+ */
+public class SimulationRunner extends ApplicationAdapter {
+    private static final String TAG = "Simulation";
+    private static final float TICK_DELTA = 1f / 60f;
+    private static final float SCREEN_WIDTH = 1280f;
+    private static final float SCREEN_HEIGHT = 720f;
+
+    private final int worldCount;
+    private final int tickCount;
+    private final int extraEntities;
+    private final int threads;
+
+    private JobSystem jobs;
+    private GameWorld[] worlds;
+    private SimulationBot[] bots;
+    private int tick = 0;
+    private long startTime;
+
+    /**
+     * @param worldCount    the number of independent worlds to step
+     * @param tickCount     the number of ticks to step each world
+     * @param extraEntities the number of NPCs and hazards added to each world on top of its own
+     * @param threads       the number of threads of the job system the worlds update their hazards on
+     */
+    public SimulationRunner(int worldCount, int tickCount, int extraEntities, int threads) {
+        this.worldCount = worldCount;
+        this.tickCount = tickCount;
+        this.extraEntities = extraEntities;
+        this.threads = threads;
+    }
+
+    @Override
+    public void create() {
+        worlds = new GameWorld[worldCount];
+        bots = new SimulationBot[worldCount];
+        // Scripts are read-only, so every world shares one.
+        DialogueScript script = DialogueScript.load(Gdx.files.internal("dialogue/intro.dlg"));
+        jobs = new JobSystem(threads, true);
+        for (int i = 0; i < worldCount; i++) {
+            OrthographicCamera camera = new OrthographicCamera(SCREEN_WIDTH, SCREEN_HEIGHT);
+            camera.setToOrtho(false, SCREEN_WIDTH, SCREEN_HEIGHT);
+            camera.update();
+            worlds[i] = new GameWorld(camera, script);
+            worlds[i].setJobSystem(jobs);
+            bots[i] = new SimulationBot(worlds[i]);
+            populate(worlds[i], new RandomXS128(i));
+        }
+        Gdx.app.log(TAG, "Stepping " + worldCount + " worlds with " + extraEntities
+            + " extra entities for " + tickCount + " ticks on " + threads + " thread(s)");
+        startTime = TimeUtils.nanoTime();
+    }
+
+    /**
+     * Scatters the extra entities along the ground, alternating NPCs and hazards. The NPCs walk
+     * in place, half of them facing each way, so every tick animates them.
+     */
+    private void populate(GameWorld world, RandomXS128 random) {
+        for (int i = 0; i < extraEntities; i++) {
+            float x = random.nextFloat() * SCREEN_WIDTH;
+            if (i % 2 == 0) {
+                int direction = i % 4 == 0 ? AnimationSystem.LEFT : AnimationSystem.RIGHT;
+                world.setNpcAnimation(world.addNpc(x, 30), AnimationSystem.WALK, direction);
+            } else {
+                world.addHazard(x, 70);
+            }
+        }
+    }
+
+    @Override
+    public void render() {
+        if (tick >= tickCount) return;
+
+        for (int i = 0; i < worldCount; i++) {
+            bots[i].tick();
+            worlds[i].update(TICK_DELTA, bots[i]);
+        }
+        tick++;
+
+        if (tick == tickCount) {
+            report();
+            Gdx.app.exit();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (jobs != null) {
+            jobs.dispose();
+        }
+    }
+
+    private void report() {
+        long elapsed = TimeUtils.nanoTime() - startTime;
+        double seconds = elapsed / 1_000_000_000.0;
+        long totalTicks = (long) worldCount * tickCount;
+        double simulatedSeconds = tickCount * TICK_DELTA;
+        Gdx.app.log(TAG, String.format("%d world ticks in %.3f s: %.0f ticks/sec, %.0fx real time",
+            totalTicks, seconds, totalTicks / seconds, simulatedSeconds / seconds));
+    }
+}
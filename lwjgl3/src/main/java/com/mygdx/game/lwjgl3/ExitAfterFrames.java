@@ -0,0 +1,52 @@
+package com.mygdx.game.lwjgl3;
+
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Runs an application for a fixed number of frames and then exits, for training runs and
+ * startup measurements that need the game to quit on its own.
+ */
+public class ExitAfterFrames implements ApplicationListener {
+    private final ApplicationListener application;
+    private final int frames;
+    private int renderedFrames;
+
+    public ExitAfterFrames(ApplicationListener application, int frames) {
+        this.application = application;
+        this.frames = frames;
+    }
+
+    @Override
+    public void create() {
+        application.create();
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        application.resize(width, height);
+    }
+
+    @Override
+    public void render() {
+        application.render();
+        if (++renderedFrames == frames) {
+            Gdx.app.exit();
+        }
+    }
+
+    @Override
+    public void pause() {
+        application.pause();
+    }
+
+    @Override
+    public void resume() {
+        application.resume();
+    }
+
+    @Override
+    public void dispose() {
+        application.dispose();
+    }
+}
@@ -1,18 +1,99 @@
 package com.mygdx.game.lwjgl3;
 
+import com.badlogic.gdx.ApplicationListener;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 import com.mygdx.game.Simple2DGame;
+import com.mygdx.game.profiling.StartupTimer;
 
-/** Launches the desktop (LWJGL3) application. */
+/**
+ * Launches the desktop (LWJGL3) application.
+ * <p>
+ * {@code --exit-after-frames <n>} quits after n frames; the CDS training run and the startup
+ * benchmark use it. {@code --record <file>} records the session's input to a file, and
+ * {@code --replay <file>} plays such a file back as fast as possible and writes its frame profile.
+ * {@code --tick-rate <hz>} sets how often the world is updated, 60 times a second by default, and
+ * {@code --fps <n>} renders at most n frames a second without vsync, or as many as possible for 0;
+ * the world moves the same at any frame rate.
+ * <p>
+ * The scene is drawn at 1280x720 and scaled to the window; {@code --resolution <w>x<h>} draws it
+ * at another resolution instead. {@code --dynamic-resolution <fps>} lowers the resolution, down to
+ * half, while frames take longer than that frame rate allows, and raises it again when they are
+ * fast; it turns vsync off, since vsync makes every frame take as long as a refresh.
+ */
 public class Lwjgl3Launcher {
+    private static final String EXIT_AFTER_FRAMES = "--exit-after-frames";
+    private static final String RECORD = "--record";
+    private static final String REPLAY = "--replay";
+    private static final String TICK_RATE = "--tick-rate";
+    private static final String FPS = "--fps";
+    private static final String RESOLUTION = "--resolution";
+    private static final String DYNAMIC_RESOLUTION = "--dynamic-resolution";
+
     public static void main(String[] args) {
         if (StartupHelper.startNewJvmIfRequired()) return; // This handles macOS support and helps on Windows.
-        createApplication();
+        StartupTimer.markLaunch(); // The game logs its time to first frame from here.
+        createApplication(args);
+    }
+
+    private static Lwjgl3Application createApplication(String[] args) {
+        Simple2DGame simple2DGame = new Simple2DGame();
+        simple2DGame.setRecordPath(findOption(args, RECORD));
+        String replayPath = findOption(args, REPLAY);
+        simple2DGame.setReplayPath(replayPath);
+        String tickRate = findOption(args, TICK_RATE);
+        if (tickRate != null) {
+            simple2DGame.setTickRate(Integer.parseInt(tickRate));
+        }
+        String resolution = findOption(args, RESOLUTION);
+        if (resolution != null) {
+            int separator = resolution.indexOf('x');
+            if (separator < 0) {
+                throw new IllegalArgumentException(RESOLUTION + " takes <width>x<height>, not " + resolution);
+            }
+            simple2DGame.setInternalResolution(Integer.parseInt(resolution.substring(0, separator)),
+                Integer.parseInt(resolution.substring(separator + 1)));
+        }
+        String dynamicResolution = findOption(args, DYNAMIC_RESOLUTION);
+        if (dynamicResolution != null) {
+            simple2DGame.setDynamicResolution(Integer.parseInt(dynamicResolution));
+        }
+
+        ApplicationListener game = simple2DGame;
+        String exitAfterFrames = findOption(args, EXIT_AFTER_FRAMES);
+        if (exitAfterFrames != null) {
+            game = new ExitAfterFrames(game, Integer.parseInt(exitAfterFrames));
+        }
+        Lwjgl3ApplicationConfiguration configuration = getDefaultConfiguration();
+        if (replayPath != null) {
+            //// A replay runs on recorded delta times, so it can render frames as fast as the hardware allows.
+            configuration.useVsync(false);
+            configuration.setForegroundFPS(0);
+        } else {
+            String fps = findOption(args, FPS);
+            if (fps != null) {
+                //// The world ticks at a fixed rate whatever the frame rate, so rendering can be throttled or uncapped.
+                configuration.useVsync(false);
+                configuration.setForegroundFPS(Integer.parseInt(fps));
+            } else if (dynamicResolution != null) {
+                //// Frames must be free to finish early, or the resolution would never be raised again.
+                configuration.useVsync(false);
+                configuration.setForegroundFPS(0);
+            }
+        }
+        return new Lwjgl3Application(game, configuration);
     }
 
-    private static Lwjgl3Application createApplication() {
-        return new Lwjgl3Application(new Simple2DGame(), getDefaultConfiguration());
+    /**
+     * @return the value after the given option, or null if the option is not there
+     */
+    private static String findOption(String[] args, String option) {
+        for (int i = 0; i + 1 < args.length; i++) {
+            if (args[i].equals(option)) {
+                return args[i + 1];
+            }
+        }
+        return null;
     }
 
     private static Lwjgl3ApplicationConfiguration getDefaultConfiguration() {
@@ -28,7 +109,7 @@ public class Lwjgl3Launcher {
         //// useful for testing performance, but can also be very stressful to some hardware.
         //// You may also need to configure GPU drivers to fully disable Vsync; this can cause screen tearing.
 
-        configuration.setWindowedMode(640, 480);
+        configuration.setWindowedMode(1280, 720);
         //// You can change these files; they are in lwjgl3/src/main/resources/ .
         //// They can also be loaded from the root of assets/ .
         configuration.setWindowIcon("libgdx128.png", "libgdx64.png", "libgdx32.png", "libgdx16.png");
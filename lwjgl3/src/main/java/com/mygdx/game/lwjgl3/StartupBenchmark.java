@@ -0,0 +1,112 @@
+package com.mygdx.game.lwjgl3;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from starting the game's process to its first rendered frame, for the plain
+ * JVM, the JVM with the CDS archive, and the native image when one has been built.
+ * <p>
+ * Each configuration is launched with {@code --exit-after-frames 1} and timed until the game
+ * logs its first frame, so the time includes starting the JVM, which in-process timers miss.
+ * The first launch of each configuration is not counted, to keep disk caching out of the results.
+ * <p>
+ * Arguments: the number of timed runs, the game's runnable jar, the CDS archive and the native
+ * executable. Missing files skip their configuration.
+ */
+public class StartupBenchmark {
+    private static final String FIRST_FRAME_LOG = "[Startup] first frame";
+    private static final long TIMEOUT_SECONDS = 60;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 4) {
+            System.err.println("Usage: StartupBenchmark <runs> <jar> <CDS archive> <native executable>");
+            System.exit(1);
+        }
+        int runs = Integer.parseInt(args[0]);
+        File jar = new File(args[1]);
+        File cdsArchive = new File(args[2]);
+        File nativeExecutable = new File(args[3]);
+        if (!nativeExecutable.isFile()) {
+            nativeExecutable = new File(args[3] + ".exe");
+        }
+
+        String java = ProcessHandle.current().info().command().orElse("java");
+        List<String> jvm = new ArrayList<>(List.of(java));
+        if (System.getProperty("os.name").toLowerCase().contains("mac")) {
+            jvm.add("-XstartOnFirstThread");
+        }
+
+        if (jar.isFile()) {
+            benchmark("JVM", runs, concat(jvm, "-jar", jar.getPath()));
+        } else {
+            System.out.println("JVM: skipped, " + jar + " not found; run lwjgl3:jar");
+        }
+        if (jar.isFile() && cdsArchive.isFile()) {
+            benchmark("JVM + CDS", runs,
+                concat(jvm, "-XX:SharedArchiveFile=" + cdsArchive.getPath(), "-jar", jar.getPath()));
+        } else {
+            System.out.println("JVM + CDS: skipped, " + cdsArchive + " not found; run lwjgl3:cdsArchive");
+        }
+        if (nativeExecutable.isFile()) {
+            benchmark("Native", runs, List.of(nativeExecutable.getPath()));
+        } else {
+            System.out.println("Native: skipped, " + args[3] + " not found; run lwjgl3:nativeCompile"
+                + " with enableGraalNative=true");
+        }
+    }
+
+    private static void benchmark(String name, int runs, List<String> command)
+        throws IOException, InterruptedException {
+        launch(command);
+        long[] millis = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            millis[i] = launch(command);
+        }
+        Arrays.sort(millis);
+        System.out.printf("%s: time to first frame median %d ms, min %d ms, max %d ms (%d runs)%n",
+            name, millis[runs / 2], millis[0], millis[runs - 1], runs);
+    }
+
+    /**
+     * Starts the game, waits for its first frame and for it to exit.
+     *
+     * @return the milliseconds from starting the process to the first frame being logged
+     */
+    private static long launch(List<String> command) throws IOException, InterruptedException {
+        List<String> arguments = concat(command, "--exit-after-frames", "1");
+        ProcessBuilder builder = new ProcessBuilder(arguments).redirectErrorStream(true);
+        long start = System.nanoTime();
+        Process process = builder.start();
+        long firstFrame = -1;
+        try (BufferedReader output = new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                if (firstFrame < 0 && line.startsWith(FIRST_FRAME_LOG)) {
+                    firstFrame = System.nanoTime() - start;
+                }
+            }
+        }
+        if (!process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        if (firstFrame < 0) {
+            throw new IllegalStateException("The game exited without rendering a frame: " + String.join(" ", arguments));
+        }
+        return TimeUnit.NANOSECONDS.toMillis(firstFrame);
+    }
+
+    private static List<String> concat(List<String> command, String... arguments) {
+        List<String> result = new ArrayList<>(command);
+        result.addAll(Arrays.asList(arguments));
+        return result;
+    }
+}
@@ -0,0 +1,274 @@
+package com.mygdx.game.tools;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+
+/**
+ * Turns the raw assets in {@code assets-raw} into the files the game loads from {@code assets}:
+ * <ul>
+ * <li>the sprites in {@code sprites} are packed into {@code atlas/game.atlas}, and every atlas
+ * page is written as a mipmapped {@code .zktx} texture by {@link KtxWriter};</li>
+ * <li>every mp3 in {@code audio} is decoded into a wav in {@code audio} by {@link WavWriter};</li>
+ * <li>every TrueType font in {@code fonts} is turned into a distance field font in {@code fonts} by
+ * {@link DistanceFieldFontWriter}.</li>
+ * </ul>
+ * Each output is listed in {@code asset-hashes.txt} with a SHA-256 hash of the inputs it was made
+ * from. An output whose inputs still hash the same, and which still exists, is not made again, so
+ * changing one sound only decodes that sound and a build with no raw changes does no work.
+ */
+public final class AssetPipeline {
+    // Changing how an output is made must change this, so every hash goes stale.
+    private static final String VERSION = "1";
+    private static final String MANIFEST = "asset-hashes.txt";
+    private static final String ATLAS_NAME = "game";
+
+    private final Path rawFolder;
+    private final Path assetsFolder;
+    private final Map<String, String> hashes = new TreeMap<>();
+    private int processed;
+    private int skipped;
+
+    private AssetPipeline(Path rawFolder, Path assetsFolder) {
+        this.rawFolder = rawFolder;
+        this.assetsFolder = assetsFolder;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AssetPipeline <raw assets folder> <assets folder>");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        AssetPipeline pipeline = new AssetPipeline(Paths.get(args[0]), Paths.get(args[1]));
+        pipeline.readManifest();
+        pipeline.processAtlas();
+        pipeline.processAudio();
+        pipeline.processFonts();
+        pipeline.writeManifest();
+        System.out.println("Processed " + pipeline.processed + " assets, " + pipeline.skipped + " up to date, in "
+            + millisSince(start) + " ms");
+    }
+
+    private void processAtlas() throws IOException {
+        Path sprites = rawFolder.resolve("sprites");
+        Path atlasFolder = assetsFolder.resolve("atlas");
+        String output = "atlas/" + ATLAS_NAME + ".atlas";
+        String hash = hash(listFiles(sprites), sprites);
+        if (isUpToDate(output, hash)) {
+            skipped++;
+            return;
+        }
+
+        long start = System.nanoTime();
+        Path packed = Files.createTempDirectory("atlas");
+        try {
+            // The packing settings come from the pack.json next to the sprites.
+            TexturePacker.process(sprites.toString(), packed.toString(), ATLAS_NAME);
+            Files.createDirectories(atlasFolder);
+            clearFolder(atlasFolder);
+            List<String> atlas = Files.readAllLines(packed.resolve(ATLAS_NAME + ".atlas"), StandardCharsets.UTF_8);
+            for (int i = 0; i < atlas.size(); i++) {
+                String line = atlas.get(i);
+                if (!line.endsWith(".png") || !Files.exists(packed.resolve(line))) continue;
+                // A page line names the page's image; point it at the texture written in its place.
+                String page = line.substring(0, line.length() - ".png".length()) + ".zktx";
+                BufferedImage image = ImageIO.read(packed.resolve(line).toFile());
+                int levels;
+                try (OutputStream out = Files.newOutputStream(atlasFolder.resolve(page))) {
+                    levels = KtxWriter.writeZktx(image, out);
+                }
+                System.out.println("Wrote " + page + ": " + image.getWidth() + "x" + image.getHeight() + ", "
+                    + levels + " mip levels");
+                atlas.set(i, page);
+            }
+            Files.write(atlasFolder.resolve(ATLAS_NAME + ".atlas"), atlas, StandardCharsets.UTF_8);
+        } finally {
+            deleteFolder(packed);
+        }
+        hashes.put(output, hash);
+        processed++;
+        System.out.println("Packed " + output + " in " + millisSince(start) + " ms");
+    }
+
+    private void processAudio() throws IOException {
+        Path audio = rawFolder.resolve("audio");
+        Path audioFolder = assetsFolder.resolve("audio");
+        Files.createDirectories(audioFolder);
+        List<String> outputs = new ArrayList<>();
+        for (Path mp3 : listFiles(audio)) {
+            String name = mp3.getFileName().toString();
+            if (!name.endsWith(".mp3")) continue;
+            String wav = name.substring(0, name.length() - ".mp3".length()) + ".wav";
+            String output = "audio/" + wav;
+            outputs.add(wav);
+            String hash = hash(List.of(mp3), audio);
+            if (isUpToDate(output, hash)) {
+                skipped++;
+                continue;
+            }
+
+            long start = System.nanoTime();
+            int frames;
+            try (InputStream in = Files.newInputStream(mp3); OutputStream out = Files.newOutputStream(audioFolder.resolve(wav))) {
+                frames = WavWriter.mp3ToWav(in, out);
+            }
+            hashes.put(output, hash);
+            processed++;
+            System.out.println("Decoded " + output + " (" + frames + " sample frames) in " + millisSince(start) + " ms");
+        }
+        // Drop the wav of an mp3 that was removed.
+        for (Path wav : listFiles(audioFolder)) {
+            String name = wav.getFileName().toString();
+            if (!outputs.contains(name)) {
+                Files.delete(wav);
+                hashes.remove("audio/" + name);
+            }
+        }
+    }
+
+    private void processFonts() throws IOException {
+        Path fonts = rawFolder.resolve("fonts");
+        Path fontFolder = assetsFolder.resolve("fonts");
+        Files.createDirectories(fontFolder);
+        List<String> outputs = new ArrayList<>();
+        for (Path trueType : listFiles(fonts)) {
+            String fileName = trueType.getFileName().toString();
+            if (!fileName.endsWith(".ttf")) continue;
+            String name = fileName.substring(0, fileName.length() - ".ttf".length());
+            String output = "fonts/" + name + ".fnt";
+            outputs.add(name + ".fnt");
+            outputs.add(name + ".png");
+            String hash = hash(List.of(trueType), fonts);
+            if (isUpToDate(output, hash) && Files.exists(fontFolder.resolve(name + ".png"))) {
+                skipped++;
+                continue;
+            }
+
+            long start = System.nanoTime();
+            int glyphs;
+            try (InputStream in = Files.newInputStream(trueType);
+                 OutputStream fnt = Files.newOutputStream(fontFolder.resolve(name + ".fnt"));
+                 OutputStream png = Files.newOutputStream(fontFolder.resolve(name + ".png"))) {
+                glyphs = DistanceFieldFontWriter.write(in, name, fnt, png);
+            }
+            hashes.put(output, hash);
+            processed++;
+            System.out.println("Wrote distance field font " + output + " (" + glyphs + " glyphs) in "
+                + millisSince(start) + " ms");
+        }
+        for (Path file : listFiles(fontFolder)) {
+            String name = file.getFileName().toString();
+            if (!outputs.contains(name)) {
+                Files.delete(file);
+                hashes.remove("fonts/" + name);
+            }
+        }
+    }
+
+    private boolean isUpToDate(String output, String hash) {
+        return hash.equals(hashes.get(output)) && Files.exists(assetsFolder.resolve(output));
+    }
+
+    /**
+     * Hashes the pipeline version and the names, relative to {@code root}, and contents of
+     * {@code files}, which are already in a fixed order.
+     */
+    private static String hash(List<Path> files, Path root) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Every Java platform has SHA-256.
+        }
+        digest.update(VERSION.getBytes(StandardCharsets.UTF_8));
+        for (Path file : files) {
+            byte[] name = root.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8);
+            byte[] content = Files.readAllBytes(file);
+            digest.update((byte) 0);
+            digest.update(name);
+            digest.update((byte) 0);
+            digest.update(Integer.toString(content.length).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(content);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Lists the files under {@code folder}, sorted by path so the hash of a folder does not
+     * depend on the order the file system lists it in.
+     */
+    private static List<Path> listFiles(Path folder) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(folder)) {
+            return files.filter(Files::isRegularFile)
+                .sorted(Comparator.comparing(file -> folder.relativize(file).toString().replace('\\', '/')))
+                .collect(Collectors.toList());
+        }
+    }
+
+    private void readManifest() throws IOException {
+        Path manifest = rawFolder.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return;
+        }
+        // The same "<hash>  <file>" lines as sha256sum writes.
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            int separator = line.indexOf("  ");
+            if (separator > 0) {
+                hashes.put(line.substring(separator + 2), line.substring(0, separator));
+            }
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        List<String> lines = new ArrayList<>();
+        hashes.forEach((output, hash) -> lines.add(hash + "  " + output));
+        Path manifest = rawFolder.resolve(MANIFEST);
+        // Left untouched when nothing changed, so the build sees no new output.
+        if (Files.exists(manifest) && Files.readAllLines(manifest, StandardCharsets.UTF_8).equals(lines)) {
+            return;
+        }
+        Files.write(manifest, lines, StandardCharsets.UTF_8);
+    }
+
+    private static void clearFolder(Path folder) throws IOException {
+        for (Path file : listFiles(folder)) {
+            Files.delete(file);
+        }
+    }
+
+    private static void deleteFolder(Path folder) throws IOException {
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
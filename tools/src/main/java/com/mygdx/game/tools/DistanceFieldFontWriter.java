@@ -0,0 +1,255 @@
+package com.mygdx.game.tools;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.font.LineMetrics;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Writes a signed distance field font: a BMFont {@code .fnt} file and one page image, for
+ * libGDX's {@code BitmapFont}.
+ * <p>
+ * Instead of coverage, every texel of a glyph stores the distance to the glyph's outline, mapped
+ * so the outline is alpha 0.5. Sampled with linear filtering and thresholded by a shader, one
+ * page gives sharp edges at any size, so a font face needs only this one page. The page is a grey
+ * image, which libGDX loads as an alpha texture of one byte per texel.
+ * <p>
+ * Each glyph is drawn without antialiasing at {@link #UPSCALE} times its size, the exact
+ * Euclidean distance to the nearest texel on the other side of the outline is computed for every
+ * texel, and the distances are sampled back down at the centre of each output texel.
+ */
+public final class DistanceFieldFontWriter {
+    /** The size glyphs are stored at, in pixels; the em size of the font. */
+    public static final int SIZE = 32;
+    /** How far outside and inside the outline the distance is stored, in pixels at {@link #SIZE}. */
+    public static final int SPREAD = 4;
+    private static final int UPSCALE = 8;
+    private static final int FIRST_CHAR = 32;
+    private static final int LAST_CHAR = 126;
+    private static final int SPACING = 1;
+    private static final int PAGE_WIDTH = 512;
+    private static final float INFINITY = 1e20f;
+
+    private DistanceFieldFontWriter() {
+    }
+
+    private static final class Glyph {
+        int id;
+        int x;
+        int y;
+        int width;
+        int height;
+        int xoffset;
+        int yoffset;
+        int xadvance;
+        byte[] alpha;
+    }
+
+    /**
+     * Writes the font file and its page, named {@code name + ".fnt"} and {@code name + ".png"}.
+     *
+     * @return the number of glyphs written
+     */
+    public static int write(InputStream trueType, String name, OutputStream fnt, OutputStream png) throws IOException {
+        Font font;
+        try {
+            font = Font.createFont(Font.TRUETYPE_FONT, trueType).deriveFont((float) SIZE * UPSCALE);
+        } catch (FontFormatException e) {
+            throw new IOException("Not a TrueType font", e);
+        }
+        FontRenderContext context = new FontRenderContext(new AffineTransform(), false, true);
+        LineMetrics metrics = font.getLineMetrics("Ag", context);
+        int base = Math.round(metrics.getAscent() / UPSCALE);
+        int lineHeight = Math.round((metrics.getAscent() + metrics.getDescent() + metrics.getLeading()) / UPSCALE);
+
+        List<Glyph> glyphs = new ArrayList<>();
+        for (int c = FIRST_CHAR; c <= LAST_CHAR; c++) {
+            if (font.canDisplay(c)) {
+                glyphs.add(renderGlyph(font, context, c, base));
+            }
+        }
+        int pageHeight = pack(glyphs);
+
+        BufferedImage page = new BufferedImage(PAGE_WIDTH, pageHeight, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = page.getRaster();
+        for (Glyph glyph : glyphs) {
+            for (int y = 0; y < glyph.height; y++) {
+                for (int x = 0; x < glyph.width; x++) {
+                    raster.setSample(glyph.x + x, glyph.y + y, 0, glyph.alpha[y * glyph.width + x] & 0xFF);
+                }
+            }
+        }
+        ImageIO.write(page, "png", png);
+
+        StringBuilder out = new StringBuilder();
+        // The padding tells BitmapFont how much of every glyph is the distance field around it.
+        out.append("info face=\"").append(font.getFamily()).append("\" size=").append(SIZE)
+            .append(" bold=0 italic=0 charset=\"\" unicode=1 stretchH=100 smooth=1 aa=1 padding=")
+            .append(SPREAD).append(',').append(SPREAD).append(',').append(SPREAD).append(',').append(SPREAD)
+            .append(" spacing=").append(SPACING).append(',').append(SPACING).append('\n');
+        out.append("common lineHeight=").append(lineHeight).append(" base=").append(base)
+            .append(" scaleW=").append(PAGE_WIDTH).append(" scaleH=").append(pageHeight).append(" pages=1 packed=0\n");
+        out.append("page id=0 file=\"").append(name).append(".png\"\n");
+        out.append("chars count=").append(glyphs.size()).append('\n');
+        glyphs.sort(Comparator.comparingInt(glyph -> glyph.id));
+        for (Glyph glyph : glyphs) {
+            out.append("char id=").append(glyph.id)
+                .append(" x=").append(glyph.x).append(" y=").append(glyph.y)
+                .append(" width=").append(glyph.width).append(" height=").append(glyph.height)
+                .append(" xoffset=").append(glyph.xoffset).append(" yoffset=").append(glyph.yoffset)
+                .append(" xadvance=").append(glyph.xadvance).append(" page=0 chnl=0\n");
+        }
+        fnt.write(out.toString().getBytes(StandardCharsets.UTF_8));
+        return glyphs.size();
+    }
+
+    private static Glyph renderGlyph(Font font, FontRenderContext context, int c, int base) {
+        GlyphVector vector = font.createGlyphVector(context, Character.toString(c));
+        Shape outline = vector.getGlyphOutline(0);
+        Rectangle2D bounds = outline.getBounds2D();
+        Glyph glyph = new Glyph();
+        glyph.id = c;
+        glyph.xadvance = Math.round(vector.getGlyphMetrics(0).getAdvanceX() / UPSCALE);
+        if (bounds.isEmpty()) {
+            glyph.alpha = new byte[0];
+            return glyph;
+        }
+
+        // The glyph's cell in output pixels, with the spread around its outline; y grows downwards from the baseline.
+        int left = (int) Math.floor(bounds.getMinX() / UPSCALE) - SPREAD;
+        int top = (int) Math.floor(bounds.getMinY() / UPSCALE) - SPREAD;
+        int right = (int) Math.ceil(bounds.getMaxX() / UPSCALE) + SPREAD;
+        int bottom = (int) Math.ceil(bounds.getMaxY() / UPSCALE) + SPREAD;
+        glyph.width = right - left;
+        glyph.height = bottom - top;
+        glyph.xoffset = left;
+        glyph.yoffset = base + top;
+
+        int width = glyph.width * UPSCALE;
+        int height = glyph.height * UPSCALE;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_BINARY);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        graphics.translate(-left * UPSCALE, -top * UPSCALE);
+        graphics.fill(outline);
+        graphics.dispose();
+
+        boolean[] inside = new boolean[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                inside[y * width + x] = (image.getRGB(x, y) & 0xFFFFFF) != 0;
+            }
+        }
+        float[] toInside = squaredDistances(inside, true, width, height);
+        float[] toOutside = squaredDistances(inside, false, width, height);
+
+        glyph.alpha = new byte[glyph.width * glyph.height];
+        float range = SPREAD * UPSCALE;
+        for (int y = 0; y < glyph.height; y++) {
+            for (int x = 0; x < glyph.width; x++) {
+                int sample = (y * UPSCALE + UPSCALE / 2) * width + x * UPSCALE + UPSCALE / 2;
+                float distance = inside[sample] ? (float) Math.sqrt(toOutside[sample]) : -(float) Math.sqrt(toInside[sample]);
+                float alpha = Math.max(0f, Math.min(1f, 0.5f + distance / (2f * range)));
+                glyph.alpha[y * glyph.width + x] = (byte) Math.round(alpha * 255f);
+            }
+        }
+        return glyph;
+    }
+
+    /**
+     * Computes the squared distance from every texel to the nearest texel whose {@code inside}
+     * flag equals {@code target}, with the separable transform of Felzenszwalb and Huttenlocher.
+     */
+    private static float[] squaredDistances(boolean[] inside, boolean target, int width, int height) {
+        float[] grid = new float[width * height];
+        for (int i = 0; i < grid.length; i++) {
+            grid[i] = inside[i] == target ? 0f : INFINITY;
+        }
+        int longest = Math.max(width, height);
+        float[] f = new float[longest];
+        float[] d = new float[longest];
+        int[] v = new int[longest];
+        float[] z = new float[longest + 1];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) f[y] = grid[y * width + x];
+            transform1d(f, height, d, v, z);
+            for (int y = 0; y < height; y++) grid[y * width + x] = d[y];
+        }
+        for (int y = 0; y < height; y++) {
+            System.arraycopy(grid, y * width, f, 0, width);
+            transform1d(f, width, d, v, z);
+            System.arraycopy(d, 0, grid, y * width, width);
+        }
+        return grid;
+    }
+
+    private static void transform1d(float[] f, int n, float[] d, int[] v, float[] z) {
+        int k = 0;
+        v[0] = 0;
+        z[0] = -INFINITY;
+        z[1] = INFINITY;
+        for (int q = 1; q < n; q++) {
+            float s = ((f[q] + q * q) - (f[v[k]] + v[k] * v[k])) / (2f * q - 2f * v[k]);
+            while (s <= z[k]) {
+                k--;
+                s = ((f[q] + q * q) - (f[v[k]] + v[k] * v[k])) / (2f * q - 2f * v[k]);
+            }
+            k++;
+            v[k] = q;
+            z[k] = s;
+            z[k + 1] = INFINITY;
+        }
+        k = 0;
+        for (int q = 0; q < n; q++) {
+            while (z[k + 1] < q) k++;
+            float dq = q - v[k];
+            d[q] = dq * dq + f[v[k]];
+        }
+    }
+
+    /**
+     * Places the glyphs on shelves of one page, tallest first.
+     *
+     * @return the height of the page, a power of two
+     */
+    private static int pack(List<Glyph> glyphs) {
+        List<Glyph> byHeight = new ArrayList<>(glyphs);
+        byHeight.sort(Comparator.comparingInt((Glyph glyph) -> glyph.height).reversed());
+        int x = SPACING;
+        int y = SPACING;
+        int shelfHeight = 0;
+        for (Glyph glyph : byHeight) {
+            if (glyph.width == 0) continue;
+            if (x + glyph.width + SPACING > PAGE_WIDTH) {
+                x = SPACING;
+                y += shelfHeight + SPACING;
+                shelfHeight = 0;
+            }
+            glyph.x = x;
+            glyph.y = y;
+            x += glyph.width + SPACING;
+            shelfHeight = Math.max(shelfHeight, glyph.height);
+        }
+        int used = y + shelfHeight + SPACING;
+        int height = 1;
+        while (height < used) height *= 2;
+        return height;
+    }
+}
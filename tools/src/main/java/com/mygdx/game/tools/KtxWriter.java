@@ -0,0 +1,139 @@
+package com.mygdx.game.tools;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes an image as a gzipped KTX texture ({@code .zktx}) with its whole mip chain, which
+ * libGDX's {@code KTXTextureData} uploads level by level without decoding anything.
+ * <p>
+ * The texels stay uncompressed RGBA: desktop GL drivers have no native ETC support and would
+ * decode ETC on the CPU at load time, which is exactly the work this format saves. The mip levels
+ * are built here with a 2x2 box filter weighted by alpha, so the transparent padding around a
+ * sprite does not bleed dark fringes into its smaller levels.
+ */
+public final class KtxWriter {
+    private static final byte[] IDENTIFIER = {
+        (byte) 0xAB, 'K', 'T', 'X', ' ', '1', '1', (byte) 0xBB, '\r', '\n', 0x1A, '\n'
+    };
+    private static final int ENDIANNESS = 0x04030201;
+    private static final int GL_UNSIGNED_BYTE = 0x1401;
+    private static final int GL_RGBA = 0x1908;
+
+    private KtxWriter() {
+    }
+
+    /**
+     * Writes {@code image} and its mip levels down to 1x1 to {@code out} in the {@code .zktx}
+     * layout: gzip over the KTX file's length followed by the file.
+     *
+     * @return the number of mip levels written
+     */
+    public static int writeZktx(BufferedImage image, OutputStream out) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        byte[] level = toRgba(image);
+        int levels = 1;
+        for (int w = width, h = height; w > 1 || h > 1; w = Math.max(1, w / 2), h = Math.max(1, h / 2)) {
+            levels++;
+        }
+
+        ByteArrayOutputStream ktx = new ByteArrayOutputStream(level.length * 4 / 3 + 128);
+        DataOutputStream data = new DataOutputStream(ktx);
+        data.write(IDENTIFIER);
+        data.writeInt(ENDIANNESS);
+        data.writeInt(GL_UNSIGNED_BYTE); // glType
+        data.writeInt(1); // glTypeSize
+        data.writeInt(GL_RGBA); // glFormat
+        data.writeInt(GL_RGBA); // glInternalFormat
+        data.writeInt(GL_RGBA); // glBaseInternalFormat
+        data.writeInt(width);
+        data.writeInt(height);
+        data.writeInt(0); // pixelDepth
+        data.writeInt(0); // numberOfArrayElements
+        data.writeInt(1); // numberOfFaces
+        data.writeInt(levels);
+        data.writeInt(0); // bytesOfKeyValueData
+        for (int i = 0; i < levels; i++) {
+            // RGBA rows are always a multiple of 4 bytes, so no level needs padding.
+            data.writeInt(level.length);
+            data.write(level);
+            if (i + 1 < levels) {
+                level = downsample(level, width, height);
+                width = Math.max(1, width / 2);
+                height = Math.max(1, height / 2);
+            }
+        }
+        data.flush();
+
+        DataOutputStream zipped = new DataOutputStream(new GZIPOutputStream(out));
+        zipped.writeInt(ktx.size());
+        ktx.writeTo(zipped);
+        zipped.close();
+        return levels;
+    }
+
+    private static byte[] toRgba(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] argb = image.getRGB(0, 0, width, height, null, 0, width);
+        byte[] rgba = new byte[argb.length * 4];
+        for (int i = 0; i < argb.length; i++) {
+            int pixel = argb[i];
+            rgba[i * 4] = (byte) (pixel >> 16);
+            rgba[i * 4 + 1] = (byte) (pixel >> 8);
+            rgba[i * 4 + 2] = (byte) pixel;
+            rgba[i * 4 + 3] = (byte) (pixel >>> 24);
+        }
+        return rgba;
+    }
+
+    /**
+     * Halves an RGBA level. Each texel of the result averages a 2x2 block, with the colours
+     * weighted by their alpha; an odd last row or column is averaged with itself.
+     */
+    private static byte[] downsample(byte[] src, int width, int height) {
+        int outWidth = Math.max(1, width / 2);
+        int outHeight = Math.max(1, height / 2);
+        byte[] out = new byte[outWidth * outHeight * 4];
+        for (int y = 0; y < outHeight; y++) {
+            int y0 = Math.min(y * 2, height - 1);
+            int y1 = Math.min(y * 2 + 1, height - 1);
+            for (int x = 0; x < outWidth; x++) {
+                int x0 = Math.min(x * 2, width - 1);
+                int x1 = Math.min(x * 2 + 1, width - 1);
+                int[] texels = {
+                    (y0 * width + x0) * 4, (y0 * width + x1) * 4,
+                    (y1 * width + x0) * 4, (y1 * width + x1) * 4
+                };
+                int r = 0, g = 0, b = 0, a = 0, plainR = 0, plainG = 0, plainB = 0;
+                for (int texel : texels) {
+                    int alpha = src[texel + 3] & 0xFF;
+                    r += (src[texel] & 0xFF) * alpha;
+                    g += (src[texel + 1] & 0xFF) * alpha;
+                    b += (src[texel + 2] & 0xFF) * alpha;
+                    a += alpha;
+                    plainR += src[texel] & 0xFF;
+                    plainG += src[texel + 1] & 0xFF;
+                    plainB += src[texel + 2] & 0xFF;
+                }
+                int offset = (y * outWidth + x) * 4;
+                if (a > 0) {
+                    out[offset] = (byte) ((r + a / 2) / a);
+                    out[offset + 1] = (byte) ((g + a / 2) / a);
+                    out[offset + 2] = (byte) ((b + a / 2) / a);
+                } else {
+                    out[offset] = (byte) ((plainR + 2) / 4);
+                    out[offset + 1] = (byte) ((plainG + 2) / 4);
+                    out[offset + 2] = (byte) ((plainB + 2) / 4);
+                }
+                out[offset + 3] = (byte) ((a + 2) / 4);
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mygdx.game.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import javazoom.jl.decoder.Bitstream;
+import javazoom.jl.decoder.BitstreamException;
+import javazoom.jl.decoder.DecoderException;
+import javazoom.jl.decoder.Header;
+import javazoom.jl.decoder.MP3Decoder;
+import javazoom.jl.decoder.OutputBuffer;
+
+/**
+ * Decodes an mp3 into a 16-bit PCM wav file, with the same decoder the desktop backend would run
+ * when the game loads the mp3. A wav loads as a plain copy of its samples, so the decoding is paid
+ * once at build time instead of on every start.
+ */
+public final class WavWriter {
+    private static final int BITS_PER_SAMPLE = 16;
+
+    private WavWriter() {
+    }
+
+    /**
+     * @return the number of sample frames written
+     */
+    public static int mp3ToWav(InputStream mp3, OutputStream out) throws IOException {
+        Bitstream bitstream = new Bitstream(mp3);
+        MP3Decoder decoder = new MP3Decoder();
+        ByteArrayOutputStream pcm = new ByteArrayOutputStream(1 << 16);
+        OutputBuffer buffer = null;
+        int channels = 0;
+        int sampleRate = 0;
+        try {
+            Header header;
+            while ((header = bitstream.readFrame()) != null) {
+                if (buffer == null) {
+                    channels = header.mode() == Header.SINGLE_CHANNEL ? 1 : 2;
+                    sampleRate = header.getSampleRate();
+                    buffer = new OutputBuffer(channels, false);
+                    decoder.setOutputBuffer(buffer);
+                }
+                try {
+                    decoder.decodeFrame(header, bitstream);
+                } catch (DecoderException ignored) {
+                    // Like the backend, skip a frame that does not decode.
+                }
+                bitstream.closeFrame();
+                pcm.write(buffer.getBuffer(), 0, buffer.reset());
+            }
+            bitstream.close();
+        } catch (BitstreamException e) {
+            throw new IOException("Cannot decode mp3", e);
+        }
+        if (buffer == null) {
+            throw new IOException("The mp3 has no frames");
+        }
+
+        int blockAlign = channels * BITS_PER_SAMPLE / 8;
+        DataOutputStream wav = new DataOutputStream(out);
+        wav.writeBytes("RIFF");
+        writeIntLE(wav, 36 + pcm.size());
+        wav.writeBytes("WAVE");
+        wav.writeBytes("fmt ");
+        writeIntLE(wav, 16);
+        writeShortLE(wav, 1); // PCM
+        writeShortLE(wav, channels);
+        writeIntLE(wav, sampleRate);
+        writeIntLE(wav, sampleRate * blockAlign);
+        writeShortLE(wav, blockAlign);
+        writeShortLE(wav, BITS_PER_SAMPLE);
+        wav.writeBytes("data");
+        writeIntLE(wav, pcm.size());
+        pcm.writeTo(wav);
+        wav.flush();
+        return pcm.size() / blockAlign;
+    }
+
+    private static void writeIntLE(DataOutputStream out, int value) throws IOException {
+        out.writeInt(Integer.reverseBytes(value));
+    }
+
+    private static void writeShortLE(DataOutputStream out, int value) throws IOException {
+        out.writeShort(Short.reverseBytes((short) value));
+    }
+}